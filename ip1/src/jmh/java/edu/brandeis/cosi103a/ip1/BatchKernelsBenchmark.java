@@ -0,0 +1,96 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scalar against Vector API batch sums, per game. The vector rows only differ
+ * from the scalar ones when the jar was built with {@code -Pbenchmarks,vector}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class BatchKernelsBenchmark {
+
+    private static final int BATCH_SIZE = 4096;
+    private static final int HAND_SIZE = 5;
+
+    @Param({"scalar", "best"})
+    public String kernel;
+
+    private BatchKernels kernels;
+    private int[] handCoins;
+    private int[] owned;
+    private int[] values;
+    private int[] out;
+    private BatchSimulator lockstep;
+    private long firstGame;
+
+    @Setup
+    public void setUp() {
+        kernels = kernel.equals("scalar") ? BatchKernels.SCALAR : BatchKernels.best();
+
+        SplittableRandom random = new SplittableRandom(42);
+        values = new int[CardRegistry.getTemplateCount()];
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            values[template.getId()] = template.getValue();
+        }
+        handCoins = new int[HAND_SIZE * BATCH_SIZE];
+        for (int i = 0; i < handCoins.length; i++) {
+            handCoins[i] = random.nextInt(4);
+        }
+        owned = new int[values.length * BATCH_SIZE];
+        for (int i = 0; i < owned.length; i++) {
+            owned[i] = random.nextInt(12);
+        }
+        out = new int[BATCH_SIZE];
+        lockstep = new BatchSimulator(BATCH_SIZE, kernels, App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * Coins in every hand of the batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] handCoins() {
+        kernels.sumRows(handCoins, HAND_SIZE, BATCH_SIZE, out);
+        return out;
+    }
+
+    /**
+     * Every deck's score from its owned card counts.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] deckScores() {
+        kernels.weightedSumRows(owned, values, BATCH_SIZE, out);
+        return out;
+    }
+
+    /**
+     * Complete lockstep games using these kernels.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public GameResult[] lockstepBatch() {
+        GameResult[] results = lockstep.run(42L, firstGame);
+        firstGame += BATCH_SIZE;
+        return results;
+    }
+}
@@ -0,0 +1,45 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for CardRegistry lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardRegistryBenchmark {
+
+    // Non-final so the JIT cannot fold the lookups away
+    private String exactName = "Dogecoin";
+    private String lowerCaseName = "dogecoin";
+    private int id = 5;
+
+    @Benchmark
+    public CardTemplate getTemplateExactCase() {
+        return CardRegistry.getTemplate(exactName);
+    }
+
+    @Benchmark
+    public CardTemplate getTemplateOtherCase() {
+        return CardRegistry.getTemplate(lowerCaseName);
+    }
+
+    @Benchmark
+    public CardTemplate getTemplateById() {
+        return CardRegistry.getTemplate(id);
+    }
+}
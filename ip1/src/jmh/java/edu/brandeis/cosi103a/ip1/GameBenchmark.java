@@ -0,0 +1,89 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Complete games per second, on one thread and across the fork-join pool,
+ * for the object engine and the lockstep {@link BatchSimulator}, and
+ * rollouts of a {@link GameSnapshot} as a lookahead AI would play them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private static final int BATCH_SIZE = 4096;
+
+    private SimulationRunner runner;
+    private BatchSimulator lockstep;
+    private long gameIndex;
+    private long firstLockstepGame;
+    private GameSnapshot start;
+    private GameSnapshot rollout;
+    private SplittableRandom rolloutRandom;
+
+    @Setup
+    public void setUp() {
+        runner = new SimulationRunner(2, 42L);
+        lockstep = new BatchSimulator(BATCH_SIZE, App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+        App game = new App(GameListener.NONE, RandomStreams.forGame(42L, 0));
+        game.setupGame(2);
+        start = new GameSnapshot();
+        start.capture(game);
+        rollout = new GameSnapshot();
+        rolloutRandom = new SplittableRandom(42L);
+    }
+
+    /**
+     * One headless two-player game on the benchmark thread.
+     */
+    @Benchmark
+    public GameResult singleGame() {
+        return runner.playGame(gameIndex++);
+    }
+
+    /**
+     * A batch of headless games spread over all cores; scores are games per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public SimulationSummary parallelBatch() {
+        return runner.run(BATCH_SIZE);
+    }
+
+    /**
+     * The same batch played in lockstep on the benchmark thread; scores are games per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public GameResult[] lockstepBatch() {
+        GameResult[] results = lockstep.run(42L, firstLockstepGame);
+        firstLockstepGame += BATCH_SIZE;
+        return results;
+    }
+
+    /**
+     * One rollout from the opening position: copy the snapshot, then play it out in place.
+     */
+    @Benchmark
+    public int snapshotRollout() {
+        rollout.copyFrom(start);
+        return rollout.playOut(rolloutRandom, App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+    }
+}
@@ -0,0 +1,54 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for taking cards from the Kingdom and checking for game over.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KingdomBenchmark {
+
+    private Kingdom kingdom;
+    private int ethereumId;
+
+    @Setup
+    public void setUp() {
+        // Piles large enough that the benchmark never empties them
+        kingdom = new Kingdom();
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            kingdom.addPile(template, Integer.MAX_VALUE);
+        }
+        ethereumId = CardRegistry.getId("Ethereum");
+    }
+
+    @Benchmark
+    public Card takeCardByName() {
+        return kingdom.takeCard("Ethereum");
+    }
+
+    @Benchmark
+    public Card takeCardById() {
+        return kingdom.takeCard(ethereumId);
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        return kingdom.isGameOver();
+    }
+}
@@ -0,0 +1,78 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the treasure and buy phases of a Player's turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    private Player player;
+    private Kingdom kingdom;
+    private List<Card> hand;
+
+    @Setup
+    public void setUp() {
+        kingdom = new Kingdom();
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            kingdom.addPile(template, Integer.MAX_VALUE);
+        }
+
+        PlayerDeck deck = new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck()));
+        deck.setRandom(new SplittableRandom(42));
+        player = new Player("Benchmark", deck);
+
+        // A typical hand: three coins of different kinds and two automation cards
+        hand = new ArrayList<>();
+        hand.add(CardRegistry.getTemplate("Bitcoin").getCard());
+        hand.add(CardRegistry.getTemplate("Method").getCard());
+        hand.add(CardRegistry.getTemplate("Ethereum").getCard());
+        hand.add(CardRegistry.getTemplate("Module").getCard());
+        hand.add(CardRegistry.getTemplate("Dogecoin").getCard());
+    }
+
+    /**
+     * Refills the hand and plays all of its cryptocurrency cards.
+     */
+    @Benchmark
+    public int playAllCryptoCards() {
+        player.getHand().clear();
+        player.getPlayedCards().clear();
+        for (int i = 0; i < hand.size(); i++) {
+            player.getHand().add(hand.get(i));
+        }
+        return player.playAllCryptoCards();
+    }
+
+    /**
+     * Buys a Framework, then draws it back so the deck does not grow.
+     */
+    @Benchmark
+    public boolean buyCard() {
+        player.startTurn();
+        player.addCoins(8);
+        boolean bought = player.buyCard(kingdom, "Framework");
+        player.getDeck().drawOne();
+        return bought;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for drawing from and reshuffling a PlayerDeck.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerDeckBenchmark {
+
+    /**
+     * Number of cards in the deck; 10 is a starter deck, 40 a late-game deck.
+     */
+    @Param({"10", "40"})
+    private int deckSize;
+
+    private PlayerDeck deck;
+
+    @Setup
+    public void setUp() {
+        ArrayList<Card> cards = new ArrayList<>();
+        for (int i = 0; i < deckSize; i++) {
+            cards.add(CardRegistry.getTemplate(i % CardRegistry.getTemplateCount()).getCard());
+        }
+        deck = new PlayerDeck(cards);
+        deck.setRandom(new SplittableRandom(42));
+    }
+
+    /**
+     * Draws a card and discards it again. Every deckSize calls include one reshuffle.
+     */
+    @Benchmark
+    public Card drawOne() {
+        Card card = deck.drawOne();
+        deck.discard(card);
+        return card;
+    }
+
+    /**
+     * Moves the whole deck to the discard pile and reshuffles it back.
+     */
+    @Benchmark
+    public int reshuffleDiscardIntoDraw() {
+        while (!deck.isEmpty()) {
+            deck.discard(deck.drawOne());
+        }
+        deck.reshuffleDiscardIntoDraw();
+        return deck.size();
+    }
+}
@@ -0,0 +1,145 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.stream.Stream;
+
+/**
+ * A generator that mirrors every value of another: where the source draws
+ * {@code x} out of {@code [origin, bound)} this draws {@code origin + bound - 1 - x},
+ * a double {@code u} in [0, 1) becomes {@code 1 - 2^-53 - u}, and its bits are
+ * the complement of the source's.
+ * <p>
+ * A deck's lazy Fisher-Yates shuffle draws each card with one
+ * {@code nextInt(n)} over the {@code n} cards still unshuffled, so a deck
+ * given the mirror of a game's generator takes, at every draw, the card
+ * counted from the other end of the unshuffled cards. That is not the
+ * original deal reversed: once the first picks differ, so do the piles the
+ * later picks are made from. The two games' outcomes are still negatively
+ * correlated, so averaging them gives a less noisy estimate than two
+ * independent games (antithetic variates). Splits are mirrors of the
+ * source's splits, so App can hand one to every deck through
+ * {@link PlayerDeck#setRandom}.
+ * <p>
+ * Draws without a mirrored override, such as {@code nextGaussian} or
+ * {@code nextBytes}, are computed from the complemented bits, so they are
+ * reproducible but not mirrored values of the source's draws.
+ */
+public final class AntitheticRandom implements SplittableGenerator {
+
+    /**
+     * The gap between consecutive values of {@link #nextDouble()}.
+     */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private final SplittableGenerator source;
+
+    /**
+     * Creates the mirror of a generator. The source is advanced by every draw from the mirror.
+     *
+     * @param source the generator to mirror
+     */
+    public AntitheticRandom(SplittableGenerator source) {
+        this.source = source;
+    }
+
+    @Override
+    public long nextLong() {
+        return ~source.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return ~source.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return bound - 1 - source.nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        return origin + (bound - 1 - source.nextInt(origin, bound));
+    }
+
+    @Override
+    public long nextLong(long bound) {
+        return bound - 1 - source.nextLong(bound);
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        return origin + (bound - 1 - source.nextLong(origin, bound));
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return !source.nextBoolean();
+    }
+
+    /**
+     * Mirrors a value the source draws from the multiples of 2<sup>-53</sup>
+     * in [0, 1), as the JDK's generators do, onto the same set.
+     */
+    @Override
+    public double nextDouble() {
+        return 1.0 - DOUBLE_UNIT - source.nextDouble();
+    }
+
+    /**
+     * Scales the mirrored {@link #nextDouble()}, as the JDK's generators scale
+     * theirs, so the value mirrors the source's to within rounding.
+     */
+    @Override
+    public double nextDouble(double bound) {
+        if (!(bound > 0 && bound < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("bound must be positive and finite: " + bound);
+        }
+        double r = nextDouble() * bound;
+        return r < bound ? r : Math.nextDown(bound);
+    }
+
+    /**
+     * Scales the mirrored {@link #nextDouble()} onto the range, so the value
+     * mirrors the source's to within rounding.
+     */
+    @Override
+    public double nextDouble(double origin, double bound) {
+        if (!(origin < bound && bound - origin < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("bound must be greater than origin: " + origin + ", " + bound);
+        }
+        double r = origin + nextDouble() * (bound - origin);
+        return r < bound ? r : Math.nextDown(bound);
+    }
+
+    @Override
+    public SplittableGenerator split() {
+        return new AntitheticRandom(source.split());
+    }
+
+    @Override
+    public SplittableGenerator split(SplittableGenerator from) {
+        return new AntitheticRandom(source.split(from));
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize) {
+        return source.splits(streamSize).map(AntitheticRandom::new);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(SplittableGenerator from) {
+        return source.splits(from).map(AntitheticRandom::new);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(long streamSize, SplittableGenerator from) {
+        return source.splits(streamSize, from).map(AntitheticRandom::new);
+    }
+
+    @Override
+    public Stream<RandomGenerator> rngs() {
+        return source.splits().map(AntitheticRandom::new);
+    }
+}
@@ -1,16 +1,58 @@
 package edu.brandeis.cosi103a.ip1;
 
-import java.util.Random;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 public class App 
 {
     
-    private static Random random = new Random();
+    /**
+     * The AI every player uses unless told otherwise: Framework if possible,
+     * otherwise the best affordable cryptocurrency.
+     */
+    public static final PurchaseStrategy DEFAULT_STRATEGY =
+        CompiledPurchaseStrategy.compile(PriorityPurchaseStrategy.FRAMEWORK_FIRST);
+    
+    private final GameListener listener;
+    private final SplittableGenerator random;
+    private PurchaseStrategy[] strategies;
     private Player[] players;
     private Kingdom kingdom;
     private int turnCount;
+    private int currentPlayerIndex;
+    
+    /**
+     * Creates a game that reports every phase to the console.
+     */
+    public App() {
+        this(new ConsoleGameListener());
+    }
+    
+    /**
+     * Creates a game.
+     * 
+     * @param listener receives the game's events; headless simulation runs
+     *                 pass {@link GameListener#NONE}
+     */
+    public App(GameListener listener) {
+        this(listener, new SplittableRandom());
+    }
+    
+    /**
+     * Creates a game whose shuffles all come from the given generator.
+     * Each player's deck gets its own split of it, so the same generator
+     * state always produces the same game.
+     * 
+     * @param listener receives the game's events
+     * @param random the game's random number generator
+     */
+    public App(GameListener listener, SplittableGenerator random) {
+        this.listener = listener;
+        this.random = random;
+    }
     
     public static void main(String[] args) {
         App game = new App();
@@ -19,18 +61,24 @@ public class App
     }
 
     /**
-     * Sets up the game with the specified number of players.
+     * Sets up the game with the specified number of players, all using the default AI.
      */
     public void setupGame(int numPlayers) {
-        System.out.println("=".repeat(50));
-        System.out.println("DOMINION-STYLE CARD GAME");
-        System.out.println("=".repeat(50));
-        System.out.println();
+        PurchaseStrategy[] defaults = new PurchaseStrategy[numPlayers];
+        Arrays.fill(defaults, DEFAULT_STRATEGY);
+        setupGame(defaults);
+    }
+    
+    /**
+     * Sets up the game with one player per strategy, seated in the given order.
+     */
+    public void setupGame(PurchaseStrategy... strategies) {
+        int numPlayers = strategies.length;
+        this.strategies = strategies.clone();
         
         // Create the kingdom with all card types
         kingdom = Kingdom.createStandardKingdom();
-        System.out.println("Kingdom created with all card types.");
-        System.out.println(kingdom.displayKingdom());
+        listener.onGameStart(kingdom);
         
         // Create players with starter decks
         players = new Player[numPlayers];
@@ -43,7 +91,7 @@ public class App
             
             // Create PlayerDeck with starter cards
             PlayerDeck deck = new PlayerDeck(starterDeck);
-            deck.setRandom(random);
+            deck.setRandom(random.split());
             deck.shuffle();
             
             // Create player with this deck
@@ -52,198 +100,181 @@ public class App
             // Draw initial hand of 5 cards
             players[i].drawCards(5);
             
-            System.out.println(playerName + " created with starter deck (7 Bitcoin, 3 Method)");
-            System.out.println("  Initial hand drawn: " + players[i].handSize() + " cards");
+            listener.onPlayerReady(players[i]);
         }
         
-        System.out.println();
-        System.out.println("Game setup complete! Starting game...");
-        System.out.println();
+        listener.onSetupComplete();
         
         turnCount = 0;
+        currentPlayerIndex = 0;
     }
     
     /**
      * Main game loop.
+     * 
+     * @return the final scores and winner of the game
      */
-    public void playGame() {
-        int currentPlayerIndex = 0;
-        
-        while (!kingdom.isGameOver()) {
-            turnCount++;
-            Player currentPlayer = players[currentPlayerIndex];
-            
-            System.out.println("=".repeat(50));
-            System.out.println("TURN " + turnCount + " - " + currentPlayer.getName());
-            System.out.println("=".repeat(50));
-            
-            playTurn(currentPlayer);
-            
-            // Move to next player
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.length;
-            
-            System.out.println();
+    public GameResult playGame() {
+        while (playNextTurn()) {
+            // Keep playing until the kingdom says the game is over
         }
         
         // Game over - display results
-        endGame();
+        return endGame();
     }
     
     /**
-     * Plays a single turn for a player.
+     * Plays the next player's turn, unless the game is already over.
+     * Lets a replay stop after any turn and inspect the state.
+     * 
+     * @return true if a turn was played, false if the game is over
      */
-    private void playTurn(Player player) {
-        // Start turn
-        player.startTurn();
-        System.out.println(player.getName() + "'s hand: " + player.handSize() + " cards");
+    public boolean playNextTurn() {
+        if (kingdom.isGameOver()) {
+            return false;
+        }
         
-        // Play all cryptocurrency cards
-        System.out.println("\n--- Playing Cryptocurrency Cards ---");
-        int coinsGenerated = 0;
-        ArrayList<Card> cryptoCards = new ArrayList<>();
+        turnCount++;
+        Player currentPlayer = players[currentPlayerIndex];
         
-        // Collect crypto cards
-        for (Card card : player.getHand()) {
-            if (card.getType() == CardType.CRYPTOCURRENCY) {
-                cryptoCards.add(card);
-            }
-        }
+        playTurn(currentPlayerIndex);
         
-        // Play each crypto card and log it
-        for (Card card : cryptoCards) {
-            player.playCard(card);
-            coinsGenerated += card.getValue();
-            System.out.println("  Playing " + card.getName() + " for " + card.getValue() + " coin(s)");
+        // Move to next player
+        currentPlayerIndex = (currentPlayerIndex + 1) % players.length;
+        
+        listener.onTurnEnd(turnCount, currentPlayer);
+        return true;
+    }
+    
+    /**
+     * Gets the players, in seat order.
+     * 
+     * @return the players
+     */
+    public Player[] getPlayers() {
+        return players;
+    }
+    
+    /**
+     * Gets the kingdom the game is played with.
+     * 
+     * @return the kingdom
+     */
+    public Kingdom getKingdom() {
+        return kingdom;
+    }
+    
+    /**
+     * Gets the seat whose turn is next.
+     * 
+     * @return the seat index
+     */
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+    
+    /**
+     * Sets the turn count and the seat to move, as when restoring a {@link GameSnapshot}.
+     */
+    void restoreTurn(int turnCount, int currentPlayerIndex) {
+        this.turnCount = turnCount;
+        this.currentPlayerIndex = currentPlayerIndex;
+    }
+    
+    /**
+     * Gets a Zobrist hash of the whole game state: the kingdom's piles, each
+     * seat's cards, coins and buys, and whose turn is next. O(number of players).
+     * 
+     * @return the hash
+     */
+    public long getStateHash() {
+        long hash = kingdom.getHash() ^ Zobrist.key(Zobrist.SEAT, 0, currentPlayerIndex);
+        for (int seat = 0; seat < players.length; seat++) {
+            // Scramble each player's hash with its seat so swapping two players changes the result
+            hash ^= RandomStreams.mix64(players[seat].getHash() + Zobrist.key(Zobrist.SEAT, 1, seat));
         }
+        return hash;
+    }
+    
+    /**
+     * Gets the number of turns played so far.
+     * 
+     * @return the turn count
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+    
+    /**
+     * Plays a single turn for a player.
+     */
+    private void playTurn(int seat) {
+        Player player = players[seat];
         
-        player.addCoins(coinsGenerated);
-        System.out.println("Total coins available: " + player.getCoins());
-        System.out.println("Buys available: " + player.getBuys());
+        // Start turn
+        player.startTurn();
+        listener.onTurnStart(turnCount, player);
+        
+        // Play all cryptocurrency cards and report each one
+        List<Card> playedCards = player.getPlayedCards();
+        int firstPlayed = playedCards.size();
+        player.playAllCryptoCards();
+        for (int i = firstPlayed; i < playedCards.size(); i++) {
+            listener.onCardPlayed(player, playedCards.get(i));
+        }
         
         // Buy phase
-        System.out.println("\n--- Buy Phase ---");
+        listener.onBuyPhaseStart(player);
         while (player.getBuys() > 0) {
-            boolean purchased = aiMakePurchase(player, kingdom);
+            boolean purchased = aiMakePurchase(player, strategies[seat]);
             if (!purchased) {
                 break; // No more purchases possible
             }
         }
-        
-        if (player.getBuys() > 0) {
-            System.out.println(player.getName() + " ends buy phase with " + 
-                             player.getCoins() + " coins remaining");
-        }
+        listener.onBuyPhaseEnd(player);
         
         // Cleanup phase
-        System.out.println("\n--- Cleanup Phase ---");
         player.endTurn();
         int cardsDrawn = player.drawCards(5);
-        System.out.println("Discarded hand and played cards");
-        System.out.println("Drew " + cardsDrawn + " new cards for next turn");
+        listener.onCleanup(player, cardsDrawn);
     }
     
     /**
-     * AI decision-making for purchasing cards.
-     * Strategy: Buy Framework if possible, otherwise buy best crypto card affordable.
+     * AI decision-making for purchasing cards: asks the player's strategy
+     * for a card and buys it.
      */
-    private boolean aiMakePurchase(Player player, Kingdom kingdom) {
-        int coins = player.getCoins();
-        
-        // Try to buy Framework (8 cost)
-        if (coins >= 8 && kingdom.isAvailable("Framework")) {
-            if (player.buyCard(kingdom, "Framework")) {
-                System.out.println("  " + player.getName() + " buys Framework (8 coins, 6 value)");
-                System.out.println("    Remaining coins: " + player.getCoins() + ", Remaining buys: " + player.getBuys());
-                return true;
-            }
-        }
-        
-        // Try to buy Dogecoin (6 cost)
-        if (coins >= 6 && kingdom.isAvailable("Dogecoin")) {
-            if (player.buyCard(kingdom, "Dogecoin")) {
-                System.out.println("  " + player.getName() + " buys Dogecoin (6 coins, 3 value)");
-                System.out.println("    Remaining coins: " + player.getCoins() + ", Remaining buys: " + player.getBuys());
-                return true;
-            }
-        }
-        
-        // Try to buy Ethereum (3 cost)
-        if (coins >= 3 && kingdom.isAvailable("Ethereum")) {
-            if (player.buyCard(kingdom, "Ethereum")) {
-                System.out.println("  " + player.getName() + " buys Ethereum (3 coins, 2 value)");
-                System.out.println("    Remaining coins: " + player.getCoins() + ", Remaining buys: " + player.getBuys());
-                return true;
-            }
-        }
-        
-        // Try to buy Bitcoin (0 cost)
-        if (kingdom.isAvailable("Bitcoin")) {
-            if (player.buyCard(kingdom, "Bitcoin")) {
-                System.out.println("  " + player.getName() + " buys Bitcoin (0 coins, 1 value)");
-                System.out.println("    Remaining coins: " + player.getCoins() + ", Remaining buys: " + player.getBuys());
-                return true;
-            }
+    private boolean aiMakePurchase(Player player, PurchaseStrategy strategy) {
+        int cardId = strategy.choosePurchase(this, player);
+        if (cardId != Card.NO_ID && player.buyCard(kingdom, cardId)) {
+            listener.onPurchase(player, CardRegistry.getTemplate(cardId).getCard());
+            return true;
         }
         
         // Could not make any purchase
-        System.out.println("  " + player.getName() + " cannot afford any available cards (has " + coins + " coins)");
+        listener.onNoPurchase(player);
         return false;
     }
     
     /**
-     * Ends the game and displays results.
+     * Ends the game and reports the results.
+     * 
+     * @return the final scores and winner of the game
      */
-    private void endGame() {
-        System.out.println("=".repeat(50));
-        System.out.println("GAME OVER!");
-        System.out.println("=".repeat(50));
-        System.out.println();
-        
+    private GameResult endGame() {
         // Check why game ended
-        if (!kingdom.isAvailable("Framework")) {
-            System.out.println("Game ended: All Framework cards have been purchased!");
-        } else {
-            System.out.println("Game ended: Three or more kingdom piles are empty!");
-        }
-        
-        System.out.println();
-        System.out.println(kingdom.displayKingdom());
-        System.out.println();
+        boolean frameworkEmptied = !kingdom.isAvailable("Framework");
         
         // Calculate scores
-        System.out.println("=".repeat(50));
-        System.out.println("FINAL SCORES");
-        System.out.println("=".repeat(50));
-        
-        int highestScore = -1;
-        Player winner = null;
-        boolean tie = false;
-        
-        for (Player player : players) {
-            int score = player.calculateScore();
-            System.out.println(player.getName() + ": " + score + " points");
-            System.out.println("  Total cards in deck: " + player.getDeck().totalCards());
-            System.out.println("  Cards in hand: " + player.handSize());
-            System.out.println();
-            
-            if (score > highestScore) {
-                highestScore = score;
-                winner = player;
-                tie = false;
-            } else if (score == highestScore) {
-                tie = true;
-            }
+        int[] scores = new int[players.length];
+        int[] deckSizes = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            scores[i] = players[i].calculateScore();
+            deckSizes[i] = players[i].getDeckSize();
         }
         
-        System.out.println("=".repeat(50));
-        if (tie) {
-            System.out.println("IT'S A TIE!");
-            System.out.println("Winner: " + players[players.length - 1].getName() + " (went second)");
-        } else {
-            System.out.println("WINNER: " + winner.getName() + " with " + highestScore + " points!");
-        }
-        System.out.println("=".repeat(50));
-        System.out.println("Total turns played: " + turnCount);
+        GameResult result = new GameResult(scores, deckSizes, turnCount, frameworkEmptied);
+        listener.onGameOver(result, kingdom, players);
+        return result;
     }
     
 }
@@ -0,0 +1,85 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * The per-game sums {@link BatchSimulator} computes across a whole batch at once.
+ * Arrays are laid out with one lane per game: element {@code row * lanes + g}
+ * belongs to game {@code g}.
+ * <p>
+ * {@link #SCALAR} is plain Java. When the project is built with the
+ * {@code vector} profile and the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}, {@link #best()} returns an
+ * implementation that uses the Vector API instead; both give the same results.
+ */
+interface BatchKernels {
+
+    /**
+     * Plain loops, used when the Vector API is not available.
+     */
+    BatchKernels SCALAR = new BatchKernels() {
+        @Override
+        public void sumRows(int[] rows, int rowCount, int lanes, int[] out) {
+            for (int g = 0; g < lanes; g++) {
+                int sum = 0;
+                for (int row = 0; row < rowCount; row++) {
+                    sum += rows[row * lanes + g];
+                }
+                out[g] = sum;
+            }
+        }
+
+        @Override
+        public void weightedSumRows(int[] rows, int[] weights, int lanes, int[] out) {
+            for (int g = 0; g < lanes; g++) {
+                int sum = 0;
+                for (int row = 0; row < weights.length; row++) {
+                    sum += rows[row * lanes + g] * weights[row];
+                }
+                out[g] = sum;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "scalar";
+        }
+    };
+
+    /**
+     * Sums each game's lane over the first {@code rowCount} rows, e.g. the coins in every hand slot.
+     *
+     * @param rows the values, {@code rowCount * lanes} long
+     * @param rowCount the number of rows to add up
+     * @param lanes the number of games
+     * @param out receives one sum per game
+     */
+    void sumRows(int[] rows, int rowCount, int lanes, int[] out);
+
+    /**
+     * Sums each game's lane over every row, with row {@code r} multiplied by
+     * {@code weights[r]}, e.g. owned card counts times card values.
+     *
+     * @param rows the values, {@code weights.length * lanes} long
+     * @param weights the weight of each row
+     * @param lanes the number of games
+     * @param out receives one weighted sum per game
+     */
+    void weightedSumRows(int[] rows, int[] weights, int lanes, int[] out);
+
+    /**
+     * Gets the fastest implementation this JVM can run.
+     *
+     * @return the Vector API kernels if they were compiled in and the
+     *         {@code jdk.incubator.vector} module is enabled, otherwise {@link #SCALAR}
+     */
+    static BatchKernels best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            return (BatchKernels) Class.forName("edu.brandeis.cosi103a.ip1.VectorBatchKernels")
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a batch of games in lockstep, keeping every game's state in parallel
+ * primitive arrays instead of Player, PlayerDeck and Kingdom objects.
+ * All games in the batch are on the same turn, so each phase of a turn
+ * (treasure, buy, cleanup) runs as one tight loop over every game still in play.
+ * <p>
+ * The rules, the order cards move between piles and the use of each deck's
+ * random stream are the same as {@link App}, so game {@code i} of a batch has
+ * exactly the result {@link SimulationRunner#playGame(long)} gives for the
+ * same master seed and strategies.
+ * <p>
+ * Hand coins and final scores are summed for the whole batch at once through
+ * {@link BatchKernels}, which uses the Vector API when it is available.
+ * <p>
+ * The arrays are allocated once and reused by every call to {@link #run}.
+ * A BatchSimulator is not thread-safe; use one per thread.
+ */
+public class BatchSimulator {
+
+    private static final int HAND_SIZE = 5;
+    private static final int NO_CARD = CompactDeck.NO_CARD;
+
+    private final int batchSize;
+    private final int numPlayers;
+    private final CompiledPurchaseStrategy[] strategies;
+    private final BatchKernels kernels;
+
+    // Card table, indexed by card ID
+    private final int cardTypes;
+    private final int[] values;
+    private final int[] costs;
+    private final boolean[] crypto;
+    private final int[] quantities;
+    private final int frameworkId;
+    private final int[] starterDeck;
+    private final int capacity;
+
+    // Per deck (game * numPlayers + seat); each deck owns capacity slots
+    private final byte[] drawPiles;
+    private final int[] drawSizes;
+    private final byte[] discardPiles;
+    private final int[] discardSizes;
+    private final int[] unshuffled;
+    private final SplittableRandom[] random;
+
+    // Per seat, laid out slot-major or card-major across games
+    private final int[][] hands;
+    private final int[][] handCoins;
+    private final int[][] handSizes;
+    private final int[][] owned;
+    private final int[][] scores;
+
+    // Per game
+    private final int[] coins;
+    private final int[] supply;
+    private final int[] emptyPiles;
+    private final long[] availableMasks;
+    private final int[] activeGames;
+    private int activeCount;
+    private int turnCount;
+
+    /**
+     * Constructs a simulator for batches of games with one player per strategy.
+     *
+     * @param batchSize the number of games played together by each call to {@link #run}
+     * @param strategies the strategy of each seat; each is compiled to a lookup table
+     * @throws IllegalArgumentException if a strategy needs more than coins and available
+     *                                  piles, as {@link PurchaseStrategy#isStateless()} reports
+     */
+    public BatchSimulator(int batchSize, PurchaseStrategy... strategies) {
+        this(batchSize, BatchKernels.best(), strategies);
+    }
+
+    /**
+     * Constructs a simulator that sums coins and scores with the given kernels.
+     *
+     * @param batchSize the number of games played together by each call to {@link #run}
+     * @param kernels the batch sums to use
+     * @param strategies the strategy of each seat; each is compiled to a lookup table
+     */
+    BatchSimulator(int batchSize, BatchKernels kernels, PurchaseStrategy... strategies) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        if (strategies.length < 1) {
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+        }
+        this.batchSize = batchSize;
+        this.numPlayers = strategies.length;
+        this.kernels = kernels;
+        this.strategies = new CompiledPurchaseStrategy[numPlayers];
+        for (int p = 0; p < numPlayers; p++) {
+            this.strategies[p] = CompiledPurchaseStrategy.compile(strategies[p]);
+        }
+
+        cardTypes = CardRegistry.getTemplateCount();
+        values = new int[cardTypes];
+        costs = new int[cardTypes];
+        crypto = new boolean[cardTypes];
+        quantities = new int[cardTypes];
+        int totalSupply = 0;
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            int id = template.getId();
+            values[id] = template.getValue();
+            costs[id] = template.getCost();
+            crypto[id] = template.getType() == CardType.CRYPTOCURRENCY;
+            quantities[id] = template.getQuantity();
+            totalSupply += template.getQuantity();
+        }
+        frameworkId = CardRegistry.getId("Framework");
+        starterDeck = CardRegistry.createStarterDeck().stream().mapToInt(Card::getId).toArray();
+        capacity = starterDeck.length + totalSupply;
+
+        int decks = batchSize * numPlayers;
+        drawPiles = new byte[decks * capacity];
+        drawSizes = new int[decks];
+        discardPiles = new byte[decks * capacity];
+        discardSizes = new int[decks];
+        unshuffled = new int[decks];
+        random = new SplittableRandom[decks];
+
+        hands = new int[numPlayers][HAND_SIZE * batchSize];
+        handCoins = new int[numPlayers][HAND_SIZE * batchSize];
+        handSizes = new int[numPlayers][batchSize];
+        owned = new int[numPlayers][cardTypes * batchSize];
+        scores = new int[numPlayers][batchSize];
+
+        coins = new int[batchSize];
+        supply = new int[cardTypes * batchSize];
+        emptyPiles = new int[batchSize];
+        availableMasks = new long[batchSize];
+        activeGames = new int[batchSize];
+    }
+
+    /**
+     * Gets the number of games played by each call to {@link #run}.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Plays one batch of games to completion.
+     *
+     * @param masterSeed the seed every game's random stream is derived from
+     * @param firstGameIndex the game index of the first game in the batch;
+     *                       the batch plays indices {@code firstGameIndex} to
+     *                       {@code firstGameIndex + getBatchSize() - 1}
+     * @return the result of each game, in game index order
+     */
+    public GameResult[] run(long masterSeed, long firstGameIndex) {
+        for (int g = 0; g < batchSize; g++) {
+            setupGame(g, RandomStreams.forGame(masterSeed, firstGameIndex + g));
+            activeGames[g] = g;
+        }
+        activeCount = batchSize;
+        turnCount = 0;
+
+        GameResult[] results = new GameResult[batchSize];
+        int seat = 0;
+        while (true) {
+            retireFinishedGames(results);
+            if (activeCount == 0) {
+                return results;
+            }
+
+            turnCount++;
+            playTreasurePhase(seat);
+            playBuyPhase(seat);
+            playCleanupPhase(seat);
+            seat = (seat + 1) % numPlayers;
+        }
+    }
+
+    private void setupGame(int g, SplittableRandom gameRandom) {
+        coins[g] = 0;
+        emptyPiles[g] = 0;
+        long mask = 0;
+        for (int id = 0; id < cardTypes; id++) {
+            supply[id * batchSize + g] = quantities[id];
+            if (quantities[id] > 0) {
+                mask |= 1L << id;
+            } else {
+                emptyPiles[g]++;
+            }
+        }
+        availableMasks[g] = mask;
+
+        for (int p = 0; p < numPlayers; p++) {
+            int deck = g * numPlayers + p;
+            int base = deck * capacity;
+            for (int i = 0; i < starterDeck.length; i++) {
+                drawPiles[base + i] = (byte) starterDeck[i];
+            }
+            drawSizes[deck] = starterDeck.length;
+            discardSizes[deck] = 0;
+            random[deck] = gameRandom.split();
+            shuffle(deck);
+
+            int[] ownedBySeat = owned[p];
+            for (int id = 0; id < cardTypes; id++) {
+                ownedBySeat[id * batchSize + g] = 0;
+            }
+            for (int id : starterDeck) {
+                ownedBySeat[id * batchSize + g]++;
+            }
+
+            handSizes[p][g] = 0;
+            drawHand(p, g);
+        }
+    }
+
+    /**
+     * Removes games whose kingdom has ended from the active list and records their results.
+     */
+    private void retireFinishedGames(GameResult[] results) {
+        boolean scored = false;
+        int kept = 0;
+        for (int i = 0; i < activeCount; i++) {
+            int g = activeGames[i];
+            boolean frameworkEmptied = supply[frameworkId * batchSize + g] == 0;
+            if (frameworkEmptied || emptyPiles[g] >= 3) {
+                if (!scored) {
+                    for (int p = 0; p < numPlayers; p++) {
+                        kernels.weightedSumRows(owned[p], values, batchSize, scores[p]);
+                    }
+                    scored = true;
+                }
+                results[g] = new GameResult(scoresOf(g), deckSizesOf(g), turnCount, frameworkEmptied);
+            } else {
+                activeGames[kept++] = g;
+            }
+        }
+        activeCount = kept;
+    }
+
+    private int[] scoresOf(int g) {
+        int[] gameScores = new int[numPlayers];
+        for (int p = 0; p < numPlayers; p++) {
+            gameScores[p] = scores[p][g];
+        }
+        return gameScores;
+    }
+
+    private int[] deckSizesOf(int g) {
+        int[] deckSizes = new int[numPlayers];
+        for (int p = 0; p < numPlayers; p++) {
+            for (int id = 0; id < cardTypes; id++) {
+                deckSizes[p] += owned[p][id * batchSize + g];
+            }
+        }
+        return deckSizes;
+    }
+
+    /**
+     * Plays every cryptocurrency card in hand, for every game at once.
+     * The cards stay in their hand slots; cleanup discards them in the order App would.
+     * Finished games are summed too, but their coins are never read.
+     */
+    private void playTreasurePhase(int seat) {
+        kernels.sumRows(handCoins[seat], HAND_SIZE, batchSize, coins);
+    }
+
+    private void playBuyPhase(int seat) {
+        CompiledPurchaseStrategy strategy = strategies[seat];
+        int[] ownedBySeat = owned[seat];
+        for (int i = 0; i < activeCount; i++) {
+            int g = activeGames[i];
+            int deck = g * numPlayers + seat;
+            int buys = 1;
+            while (buys > 0) {
+                int id = strategy.choosePurchase(coins[g], availableMasks[g]);
+                if (id == Card.NO_ID || (availableMasks[g] & (1L << id)) == 0 || coins[g] < costs[id]) {
+                    break;
+                }
+
+                int pile = id * batchSize + g;
+                if (--supply[pile] == 0) {
+                    emptyPiles[g]++;
+                    availableMasks[g] &= ~(1L << id);
+                }
+                discard(deck, id);
+                ownedBySeat[id * batchSize + g]++;
+                coins[g] -= costs[id];
+                buys--;
+            }
+        }
+    }
+
+    /**
+     * Discards the cards left in hand, then the cards played, then draws a new hand.
+     */
+    private void playCleanupPhase(int seat) {
+        int[] hand = hands[seat];
+        int[] handSize = handSizes[seat];
+        for (int i = 0; i < activeCount; i++) {
+            int g = activeGames[i];
+            int deck = g * numPlayers + seat;
+            int size = handSize[g];
+            for (int slot = 0; slot < size; slot++) {
+                int id = hand[slot * batchSize + g];
+                if (!crypto[id]) {
+                    discard(deck, id);
+                }
+            }
+            for (int slot = 0; slot < size; slot++) {
+                int id = hand[slot * batchSize + g];
+                if (crypto[id]) {
+                    discard(deck, id);
+                }
+            }
+            handSize[g] = 0;
+            drawHand(seat, g);
+        }
+    }
+
+    /**
+     * Draws up to a full hand, recording each slot's coin value for the treasure phase.
+     */
+    private void drawHand(int seat, int g) {
+        int deck = g * numPlayers + seat;
+        int[] hand = hands[seat];
+        int[] coinsBySlot = handCoins[seat];
+        int size = handSizes[seat][g];
+        while (size < HAND_SIZE) {
+            int id = drawOne(deck);
+            if (id == NO_CARD) {
+                break;
+            }
+            hand[size * batchSize + g] = id;
+            coinsBySlot[size * batchSize + g] = crypto[id] ? values[id] : 0;
+            size++;
+        }
+        handSizes[seat][g] = size;
+        for (int slot = size; slot < HAND_SIZE; slot++) {
+            coinsBySlot[slot * batchSize + g] = 0;
+        }
+    }
+
+    private int drawOne(int deck) {
+        if (drawSizes[deck] == 0) {
+            reshuffleDiscardIntoDraw(deck);
+        }
+        int top = drawSizes[deck] - 1;
+        if (top < 0) {
+            return NO_CARD;
+        }
+        int base = deck * capacity;
+        unshuffled[deck] = CompactDeck.shuffleTop(drawPiles, base, top, unshuffled[deck], random[deck]);
+        drawSizes[deck] = top;
+        return drawPiles[base + top];
+    }
+
+    private void discard(int deck, int id) {
+        discardPiles[deck * capacity + discardSizes[deck]++] = (byte) id;
+    }
+
+    private void reshuffleDiscardIntoDraw(int deck) {
+        int base = deck * capacity;
+        System.arraycopy(discardPiles, base, drawPiles, base + drawSizes[deck], discardSizes[deck]);
+        drawSizes[deck] += discardSizes[deck];
+        discardSizes[deck] = 0;
+        shuffle(deck);
+    }
+
+    /**
+     * Marks a draw pile as shuffled; {@link #drawOne} does the swaps as cards
+     * are drawn, with {@link CompactDeck#shuffleTop}.
+     */
+    private void shuffle(int deck) {
+        unshuffled[deck] = drawSizes[deck];
+    }
+
+    /**
+     * Plays batches single-threaded and reports throughput:
+     * {@code BatchSimulator [games] [batchSize] [seed]}.
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : new SplittableRandom().nextLong();
+
+        BatchSimulator simulator = new BatchSimulator(size, App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+        SimulationSummary summary = new SimulationSummary(2);
+        long start = System.nanoTime();
+        for (long first = 0; first < games; first += size) {
+            for (GameResult result : simulator.run(seed, first)) {
+                summary.add(result);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Master seed: " + seed);
+        System.out.println("Kernels: " + simulator.kernels);
+        System.out.print(summary.displaySummary());
+        System.out.println(String.format("Elapsed: %.2f s (%.0f games/s on one thread)", seconds, summary.getGames() / seconds));
+    }
+}
@@ -0,0 +1,266 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A buy policy table solved offline by {@link BuyPolicySolver}, read through a
+ * memory-mapped file so it loads instantly and is shared between processes.
+ * <p>
+ * The policy says which card to buy given the turns a player has left, the
+ * cards it has bought on top of its starter deck (its composition) and its
+ * coins. A lookup ranks the composition in O(number of card types) and reads
+ * one byte.
+ * <p>
+ * After an 8-byte header ({@code RPOL} and a version byte) the file holds,
+ * little-endian: a long fingerprint of the {@link CardRegistry} the policy was
+ * solved for, the card type count {@code k}, the horizon {@code H} in turns,
+ * the highest coin count {@code M}, and the {@code k} starter deck counts, all ints.
+ * Then comes one byte per (turns left, composition, coins): the card ID to buy,
+ * or {@code 0xFF} to buy nothing. For {@code t} turns left the table holds every
+ * composition of at most {@code H - t} bought cards, ordered by {@link #rank}.
+ */
+public class BuyPolicy implements AutoCloseable {
+
+    /**
+     * Returned by {@link #choose} for a state the policy was not solved for.
+     */
+    public static final int OUTSIDE = -2;
+
+    static final byte[] MAGIC = {'R', 'P', 'O', 'L'};
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    /**
+     * Table byte for buying nothing.
+     */
+    static final int NOTHING = 0xFF;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer table;
+    private final int cardTypes;
+    private final int horizon;
+    private final int maxCoins;
+    private final int[] starter;
+    private final long[][] binomial;
+    private final long[] layerStart;
+
+    /**
+     * Opens and maps a policy file.
+     *
+     * @param path the policy file
+     * @throws IOException if the file cannot be read or mapped
+     * @throws IllegalArgumentException if the file is not a buy policy, or was
+     *                                  solved for different cards
+     */
+    public BuyPolicy(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer fixed = ByteBuffer.allocate(HEADER_SIZE + 20).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(fixed, 0);
+            fixed.flip();
+            checkHeader(fixed);
+            fixed.position(HEADER_SIZE);
+            if (fixed.remaining() < 20 || fixed.getLong() != registryFingerprint()) {
+                throw new IllegalArgumentException("Policy was solved for a different card registry");
+            }
+            this.cardTypes = fixed.getInt();
+            this.horizon = fixed.getInt();
+            this.maxCoins = fixed.getInt();
+
+            ByteBuffer starterBuffer = ByteBuffer.allocate(4 * cardTypes).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(starterBuffer, HEADER_SIZE + 20);
+            starterBuffer.flip();
+            this.starter = new int[cardTypes];
+            for (int id = 0; id < cardTypes; id++) {
+                starter[id] = starterBuffer.getInt();
+            }
+
+            this.binomial = binomials(horizon + cardTypes + 1);
+            this.layerStart = layerStarts(binomial, cardTypes, horizon);
+            long tableSize = layerStart[horizon + 1] * (maxCoins + 1);
+            long tableOffset = tableOffset(cardTypes);
+            if (channel.size() < tableOffset + tableSize) {
+                throw new IllegalArgumentException("Truncated buy policy");
+            }
+            if (tableSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Buy policy table too large to map: " + tableSize + " bytes");
+            }
+            this.table = channel.map(FileChannel.MapMode.READ_ONLY, tableOffset, tableSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static void checkHeader(ByteBuffer header) {
+        if (header.remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a buy policy");
+        }
+        for (byte expected : MAGIC) {
+            if (header.get() != expected) {
+                throw new IllegalArgumentException("Not a buy policy");
+            }
+        }
+        byte version = header.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported buy policy version: " + version);
+        }
+    }
+
+    static long tableOffset(int cardTypes) {
+        return HEADER_SIZE + 20 + 4L * cardTypes;
+    }
+
+    /**
+     * Hashes every registered card's ID, name, type, cost and value, so a
+     * policy is never used with cards it was not solved for.
+     */
+    static long registryFingerprint() {
+        long hash = CardRegistry.getTemplateCount();
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            hash = RandomStreams.mix64(hash ^ template.getName().hashCode());
+            hash = RandomStreams.mix64(hash ^ ((long) template.getType().ordinal() << 32
+                ^ (long) template.getCost() << 16 ^ template.getValue()));
+        }
+        return hash;
+    }
+
+    /**
+     * Builds Pascal's triangle up to row {@code n}.
+     */
+    static long[][] binomials(int n) {
+        long[][] c = new long[n + 1][];
+        for (int i = 0; i <= n; i++) {
+            c[i] = new long[i + 1];
+            c[i][0] = 1;
+            c[i][i] = 1;
+            for (int j = 1; j < i; j++) {
+                c[i][j] = c[i - 1][j - 1] + c[i - 1][j];
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Gets where each layer starts, in table rows: layer {@code t} (turns left)
+     * holds the compositions of at most {@code H - t} cards. Entry {@code H + 1}
+     * is the total row count.
+     */
+    static long[] layerStarts(long[][] binomial, int cardTypes, int horizon) {
+        long[] starts = new long[horizon + 2];
+        for (int t = 1; t <= horizon; t++) {
+            starts[t + 1] = starts[t] + compositionsUpTo(binomial, cardTypes, horizon - t);
+        }
+        return starts;
+    }
+
+    /**
+     * Counts the compositions of at most {@code cards} cards over {@code cardTypes} types.
+     */
+    static long compositionsUpTo(long[][] binomial, int cardTypes, int cards) {
+        return cards < 0 ? 0 : binomial[cards + cardTypes][cardTypes];
+    }
+
+    /**
+     * Ranks a composition among all compositions over the same card types:
+     * first by total, then by a fixed order within each total. The
+     * compositions of at most {@code S} cards therefore take exactly the
+     * ranks {@code 0} to {@link #compositionsUpTo} of {@code S} minus one.
+     *
+     * @param binomial a table from {@link #binomials} with at least {@code total + k} rows
+     * @param counts the number of each card, indexed by card ID
+     * @return the rank
+     */
+    static long rank(long[][] binomial, int[] counts) {
+        int k = counts.length;
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long rank = compositionsUpTo(binomial, k, total - 1);
+        int remaining = total;
+        for (int i = 0; i < k - 1; i++) {
+            int m = k - 1 - i;
+            // Compositions of the remaining cards that put fewer of card i here
+            rank += binomial[remaining + m][m] - binomial[remaining - counts[i] + m][m];
+            remaining -= counts[i];
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the table byte for a state.
+     *
+     * @param turnsLeft the turns left, counting this one, from 1 to the horizon
+     * @param bought the number of each card bought on top of the starter deck
+     * @param coins the coins to spend; more than {@link #getMaxCoins()} counts as the maximum
+     * @return the card ID to buy, {@link Card#NO_ID} to buy nothing, or
+     *         {@link #OUTSIDE} if the state is outside the table
+     */
+    public int choose(int turnsLeft, int[] bought, int coins) {
+        if (turnsLeft < 1 || turnsLeft > horizon || bought.length != cardTypes || coins < 0) {
+            return OUTSIDE;
+        }
+        int total = 0;
+        for (int count : bought) {
+            if (count < 0) {
+                return OUTSIDE;
+            }
+            total += count;
+        }
+        if (total > horizon - turnsLeft) {
+            return OUTSIDE;
+        }
+        long row = layerStart[turnsLeft] + rank(binomial, bought);
+        int entry = table.get((int) (row * (maxCoins + 1) + Math.min(coins, maxCoins))) & 0xFF;
+        return entry == NOTHING ? Card.NO_ID : entry;
+    }
+
+    /**
+     * Gets the number of turns the policy plans for.
+     *
+     * @return the horizon
+     */
+    public int getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * Gets the highest coin count the table distinguishes.
+     *
+     * @return the maximum coins
+     */
+    public int getMaxCoins() {
+        return maxCoins;
+    }
+
+    /**
+     * Gets how many copies of a card the starter deck the policy was solved for holds.
+     *
+     * @param cardId the card ID
+     * @return the number of copies
+     */
+    public int getStarterCount(int cardId) {
+        return starter[cardId];
+    }
+
+    /**
+     * Closes the policy file. The mapped table is released once it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BuyPolicy[horizon=%d, maxCoins=%d, rows=%d]",
+                           horizon, maxCoins, layerStart[horizon + 1]);
+    }
+}
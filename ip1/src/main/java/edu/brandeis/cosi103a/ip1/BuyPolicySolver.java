@@ -0,0 +1,211 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Solves the single-player buy problem by backward induction and writes the
+ * resulting {@link BuyPolicy} file.
+ * <p>
+ * Automation cards do nothing when played, so a player's future depends only
+ * on the cards it owns. The solver treats a game as a fixed number of turns
+ * in which each turn's coins come from a fresh five-card hand of the whole
+ * deck, with the exact odds from {@link HandCoinDistribution}, and one card
+ * (or nothing) is bought. With {@code t} turns left and composition {@code x}:
+ * <pre>
+ *   V(0, x) = score of x
+ *   V(t, x) = sum over coins c of P(c | x) * max over affordable a of V(t - 1, x + a)
+ * </pre>
+ * and the policy stores the maximizing {@code a}. Kingdom supply and opponents
+ * are not modelled; the runtime strategy falls back when a card has run out.
+ * This is an approximation of the real game, whose decks cycle rather than
+ * reshuffle every turn, but it captures the trade-off between buying points
+ * now and buying cryptocurrency that buys more points later.
+ */
+public final class BuyPolicySolver {
+
+    /**
+     * The horizon used when none is given: a little more than the turns each
+     * player gets in a typical two-player game.
+     */
+    public static final int DEFAULT_HORIZON = 20;
+
+    private final int horizon;
+    private final int cardTypes;
+    private final int[] starter;
+    private final int[] costs;
+    private final int[] values;
+    private final int maxCoins;
+    private final long[][] binomial;
+
+    /**
+     * Creates a solver for the standard starter deck.
+     *
+     * @param horizon the number of turns to plan for
+     * @throws IllegalArgumentException if the horizon is less than 1
+     */
+    public BuyPolicySolver(int horizon) {
+        if (horizon < 1) {
+            throw new IllegalArgumentException("Horizon must be at least 1 turn");
+        }
+        this.horizon = horizon;
+        this.cardTypes = CardRegistry.getTemplateCount();
+        if (cardTypes >= BuyPolicy.NOTHING) {
+            throw new IllegalStateException("Too many card types for a byte policy");
+        }
+        this.starter = new int[cardTypes];
+        for (Card card : CardRegistry.createStarterDeck()) {
+            starter[card.getId()]++;
+        }
+        this.costs = new int[cardTypes];
+        this.values = new int[cardTypes];
+        int maxCardCoins = 0;
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            costs[template.getId()] = template.getCost();
+            values[template.getId()] = template.getValue();
+            if (template.getType() == CardType.CRYPTOCURRENCY) {
+                maxCardCoins = Math.max(maxCardCoins, template.getValue());
+            }
+        }
+        this.maxCoins = HandCoinDistribution.HAND_SIZE * maxCardCoins;
+        this.binomial = BuyPolicy.binomials(horizon + cardTypes + 1);
+    }
+
+    /**
+     * Solves the policy and writes it to a file.
+     *
+     * @param out the file to create or overwrite
+     * @return the expected final score of the starter deck under the policy
+     * @throws IOException if the file cannot be written
+     */
+    public double solve(Path out) throws IOException {
+        long[] layerStart = BuyPolicy.layerStarts(binomial, cardTypes, horizon);
+        long tableSize = layerStart[horizon + 1] * (maxCoins + 1);
+        if (tableSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Horizon " + horizon + " gives a table too large to map");
+        }
+        byte[] table = new byte[(int) tableSize];
+
+        // previous[r] = V(t - 1, composition of rank r); layer t - 1 covers at most H - t + 1 cards
+        double[] previous = new double[(int) BuyPolicy.compositionsUpTo(binomial, cardTypes, horizon)];
+        int[] counts = new int[cardTypes];
+        forEachComposition(horizon, counts, () -> {
+            previous[(int) BuyPolicy.rank(binomial, counts)] = score(counts);
+        });
+
+        double[] current = new double[previous.length];
+        double[] outcome = new double[cardTypes + 1];
+        int[] deck = new int[cardTypes];
+        double[][] layers = {previous, current};
+        for (int t = 1; t <= horizon; t++) {
+            double[] before = layers[(t + 1) % 2];
+            double[] now = layers[t % 2];
+            long rowBase = layerStart[t];
+            forEachComposition(horizon - t, counts, () -> {
+                // Value of each move: index 0 buys nothing, index a + 1 buys card a
+                outcome[0] = before[(int) BuyPolicy.rank(binomial, counts)];
+                for (int a = 0; a < cardTypes; a++) {
+                    counts[a]++;
+                    outcome[a + 1] = before[(int) BuyPolicy.rank(binomial, counts)];
+                    counts[a]--;
+                }
+                for (int id = 0; id < cardTypes; id++) {
+                    deck[id] = starter[id] + counts[id];
+                }
+                HandCoinDistribution hand = HandCoinDistribution.of(deck);
+
+                long rank = BuyPolicy.rank(binomial, counts);
+                int row = (int) ((rowBase + rank) * (maxCoins + 1));
+                double expected = 0;
+                for (int coins = 0; coins <= maxCoins; coins++) {
+                    int best = -1;
+                    double bestValue = outcome[0];
+                    for (int a = 0; a < cardTypes; a++) {
+                        if (costs[a] <= coins && outcome[a + 1] > bestValue) {
+                            best = a;
+                            bestValue = outcome[a + 1];
+                        }
+                    }
+                    table[row + coins] = (byte) (best < 0 ? BuyPolicy.NOTHING : best);
+                    expected += hand.probability(coins) * bestValue;
+                }
+                now[(int) rank] = expected;
+            });
+        }
+
+        write(out, table);
+        return layers[horizon % 2][0];
+    }
+
+    private int score(int[] counts) {
+        int score = 0;
+        for (int id = 0; id < cardTypes; id++) {
+            score += (starter[id] + counts[id]) * values[id];
+        }
+        return score;
+    }
+
+    /**
+     * Calls the action once for every composition of at most {@code maxCards}
+     * cards, with {@code counts} holding it. Leaves {@code counts} all zero.
+     */
+    private void forEachComposition(int maxCards, int[] counts, Runnable action) {
+        forEachComposition(0, maxCards, counts, action);
+    }
+
+    private void forEachComposition(int type, int cardsLeft, int[] counts, Runnable action) {
+        if (type == cardTypes) {
+            action.run();
+            return;
+        }
+        for (int n = 0; n <= cardsLeft; n++) {
+            counts[type] = n;
+            forEachComposition(type + 1, cardsLeft - n, counts, action);
+        }
+        counts[type] = 0;
+    }
+
+    private void write(Path out, byte[] table) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate((int) BuyPolicy.tableOffset(cardTypes)).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(BuyPolicy.MAGIC).put(BuyPolicy.VERSION).position(BuyPolicy.HEADER_SIZE);
+        header.putLong(BuyPolicy.registryFingerprint());
+        header.putInt(cardTypes).putInt(horizon).putInt(maxCoins);
+        for (int count : starter) {
+            header.putInt(count);
+        }
+        header.flip();
+        try (FileChannel file = FileChannel.open(out, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer body = ByteBuffer.wrap(table);
+            while (header.hasRemaining()) {
+                file.write(header);
+            }
+            while (body.hasRemaining()) {
+                file.write(body);
+            }
+        }
+    }
+
+    /**
+     * Solves a policy from the command line.
+     * Usage: {@code BuyPolicySolver <output file> [horizon]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BuyPolicySolver <output file> [horizon]");
+            System.exit(1);
+        }
+        int horizon = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_HORIZON;
+        long start = System.nanoTime();
+        double expected = new BuyPolicySolver(horizon).solve(Paths.get(args[0]));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Horizon: %d turns%n", horizon);
+        System.out.printf("Expected final score from the starter deck: %.2f%n", expected);
+        System.out.printf("Solved in %.2f s%n", seconds);
+    }
+}
@@ -2,8 +2,16 @@ package edu.brandeis.cosi103a.ip1;
 
 /**
  * Represents a card in the game with a type, cost, and value.
+ * Cards are immutable; every registered card type has one shared instance
+ * (see {@link CardTemplate#getCard()}) identified by a small integer ID.
  */
 public class Card {
+    /**
+     * ID of cards that were not created from a registered template.
+     */
+    public static final int NO_ID = -1;
+
+    private final int id;
     private final CardType type;
     private final int cost;
     private final int value;
@@ -17,12 +25,35 @@ public class Card {
      * @param value the value this card provides
      */
     public Card(CardType type, String name, int cost, int value) {
+        this(NO_ID, type, name, cost, value);
+    }
+
+    /**
+     * Constructs a new Card with a registry ID.
+     * 
+     * @param id the dense card ID assigned by {@link CardRegistry}
+     * @param type the type of card (AUTOMATION or CRYPTOCURRENCY)
+     * @param name the name of the card
+     * @param cost the cost to play this card
+     * @param value the value this card provides
+     */
+    public Card(int id, CardType type, String name, int cost, int value) {
+        this.id = id;
         this.type = type;
         this.cost = cost;
         this.value = value;
         this.name = name;
     }
 
+    /**
+     * Gets the registry ID of this card.
+     * 
+     * @return the card ID, or {@link #NO_ID} if the card is not registered
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Gets the type of this card.
      * 
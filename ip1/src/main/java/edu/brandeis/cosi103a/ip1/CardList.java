@@ -0,0 +1,321 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * An ArrayList of cards that keeps the sum of their values, the count of each
+ * registered card and a {@link Zobrist} hash of those counts up to date as
+ * cards are added, replaced and removed, so all three are O(1) to read.
+ * Null elements count as zero. Cards built without an ID are counted under
+ * the ID registered for their name; unregistered cards are not counted.
+ * The hash depends on which cards are held, not on their order.
+ * <p>
+ * Every mutator is tracked. Views returned by {@link #subList} are read-only,
+ * because changes made through them would bypass the running total.
+ */
+public class CardList extends ArrayList<Card> {
+    private static final long serialVersionUID = 1L;
+
+    private final int zone;
+    private int[] counts;
+    private int totalValue;
+    private long hash;
+
+    /**
+     * Constructs an empty CardList.
+     */
+    public CardList() {
+        this(Zobrist.LIST, 10);
+    }
+
+    /**
+     * Constructs an empty CardList with room for the given number of cards.
+     *
+     * @param initialCapacity the initial capacity
+     */
+    public CardList(int initialCapacity) {
+        this(Zobrist.LIST, initialCapacity);
+    }
+
+    /**
+     * Constructs a CardList holding the given cards, in order.
+     *
+     * @param cards the cards to copy
+     */
+    public CardList(Collection<? extends Card> cards) {
+        super(cards);
+        this.zone = Zobrist.LIST;
+        this.counts = new int[CardRegistry.getTemplateCount()];
+        // Count the source rather than calling recount(), which reads the list through overridable methods
+        for (Card card : cards) {
+            added(card);
+        }
+    }
+
+    /**
+     * Constructs an empty CardList whose hash uses a zone's keys, so the same
+     * cards in, say, a hand and a discard pile hash differently.
+     *
+     * @param zone one of the {@link Zobrist} zone constants
+     * @param initialCapacity the initial capacity
+     */
+    CardList(int zone, int initialCapacity) {
+        super(initialCapacity);
+        this.zone = zone;
+        this.counts = new int[CardRegistry.getTemplateCount()];
+    }
+
+    private static int valueOf(Card card) {
+        return card == null ? 0 : card.getValue();
+    }
+
+    private static int idOf(Card card) {
+        if (card == null) {
+            return Card.NO_ID;
+        }
+        int id = card.getId();
+        return id != Card.NO_ID ? id : CardRegistry.getId(card.getName());
+    }
+
+    private void added(Card card) {
+        totalValue += valueOf(card);
+        int id = idOf(card);
+        if (id != Card.NO_ID) {
+            hash ^= Zobrist.step(zone, id, counts[id]++);
+        }
+    }
+
+    private void removed(Card card) {
+        totalValue -= valueOf(card);
+        int id = idOf(card);
+        if (id != Card.NO_ID) {
+            hash ^= Zobrist.step(zone, id, --counts[id]);
+        }
+    }
+
+    private void recount() {
+        totalValue = 0;
+        hash = 0;
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < size(); i++) {
+            added(get(i));
+        }
+    }
+
+    /**
+     * Gets how many copies of a registered card the list holds. O(1).
+     *
+     * @param cardId the card ID
+     * @return the number of copies
+     */
+    public int getCount(int cardId) {
+        return counts[cardId];
+    }
+
+    /**
+     * Gets the Zobrist hash of the cards in the list. O(1).
+     *
+     * @return the hash; 0 for an empty list
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Computes the Zobrist hash of the cards in the list from scratch.
+     * Used to cross-check {@link #getHash()}.
+     *
+     * @return the recomputed hash
+     */
+    public long recountHash() {
+        int[] fresh = new int[counts.length];
+        for (int i = 0; i < size(); i++) {
+            int id = idOf(get(i));
+            if (id != Card.NO_ID) {
+                fresh[id]++;
+            }
+        }
+        long result = 0;
+        for (int id = 0; id < fresh.length; id++) {
+            result ^= Zobrist.countKey(zone, id, fresh[id]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the sum of the values of all cards in the list. O(1).
+     *
+     * @return the total value
+     */
+    public int getTotalValue() {
+        return totalValue;
+    }
+
+    /**
+     * Sums the values of all cards in the list from scratch.
+     * Used to cross-check {@link #getTotalValue()}.
+     *
+     * @return the recounted total value
+     */
+    public int recountTotalValue() {
+        int total = 0;
+        for (int i = 0; i < size(); i++) {
+            total += valueOf(get(i));
+        }
+        return total;
+    }
+
+    /**
+     * Moves every card of another list to the end of this one, leaving the other list empty.
+     * The counts and hash are updated once per card type rather than once per card.
+     *
+     * @param other the list to empty into this one
+     */
+    public void transferFrom(CardList other) {
+        if (other.isEmpty()) {
+            return;
+        }
+        super.addAll(other);
+        totalValue += other.totalValue;
+        for (int id = 0; id < counts.length; id++) {
+            int moved = other.counts[id];
+            if (moved > 0) {
+                int count = counts[id];
+                counts[id] = count + moved;
+                hash ^= Zobrist.change(zone, id, count, count + moved);
+            }
+        }
+        other.clear();
+    }
+
+    /**
+     * Removes a card by moving the last card into its place. O(1), but does not keep the order.
+     *
+     * @param index the index of the card to remove
+     * @return the removed card
+     */
+    public Card swapRemove(int index) {
+        int last = size() - 1;
+        Card card = get(index);
+        Card moved = super.remove(last);
+        if (index != last) {
+            super.set(index, moved);
+        }
+        removed(card);
+        return card;
+    }
+
+    @Override
+    public boolean add(Card card) {
+        added(card);
+        return super.add(card);
+    }
+
+    @Override
+    public void add(int index, Card card) {
+        super.add(index, card);
+        added(card);
+    }
+
+    @Override
+    public Card set(int index, Card card) {
+        Card old = super.set(index, card);
+        removed(old);
+        added(card);
+        return old;
+    }
+
+    @Override
+    public Card remove(int index) {
+        Card card = super.remove(index);
+        removed(card);
+        return card;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Card> cards) {
+        for (Card card : cards) {
+            added(card);
+        }
+        return super.addAll(cards);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Card> cards) {
+        for (Card card : cards) {
+            added(card);
+        }
+        return super.addAll(index, cards);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        totalValue = 0;
+        hash = 0;
+        Arrays.fill(counts, 0);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            removed(get(i));
+        }
+        super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Card> filter) {
+        boolean changed = super.removeIf(filter);
+        recount();
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean changed = super.removeAll(c);
+        recount();
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean changed = super.retainAll(c);
+        recount();
+        return changed;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<Card> operator) {
+        super.replaceAll(operator);
+        recount();
+    }
+
+    @Override
+    public Object clone() {
+        CardList copy = (CardList) super.clone();
+        copy.counts = counts.clone();
+        return copy;
+    }
+
+    @Override
+    public List<Card> subList(int fromIndex, int toIndex) {
+        return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+    }
+}
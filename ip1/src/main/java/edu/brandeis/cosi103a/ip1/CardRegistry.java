@@ -1,56 +1,123 @@
 package edu.brandeis.cosi103a.ip1;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Central registry for all card types in the game.
  * Easy to add new cards - just add a new template to the list.
+ * Each template's card ID is its position in the list.
+ * Lookups go through indexes built once when the class loads, so they never
+ * scan or copy the template list.
  */
 public class CardRegistry {
     
     private static final List<CardTemplate> ALL_TEMPLATES = new ArrayList<>();
+    private static final Map<String, CardTemplate> BY_NAME = new HashMap<>();
+    private static final Map<String, CardTemplate> BY_LOWER_CASE_NAME = new HashMap<>();
+    private static final List<CardTemplate> ALL_TEMPLATES_VIEW;
+    private static final CardTemplate[] BY_ID;
+    private static final List<List<CardTemplate>> BY_TYPE_VIEWS;
     
     static {
         // Automation cards
-        ALL_TEMPLATES.add(new CardTemplate(CardType.AUTOMATION, "Method", 2, 1, 14));
-        ALL_TEMPLATES.add(new CardTemplate(CardType.AUTOMATION, "Module", 5, 3, 8));
-        ALL_TEMPLATES.add(new CardTemplate(CardType.AUTOMATION, "Framework", 8, 6, 8));
+        register(CardType.AUTOMATION, "Method", 2, 1, 14);
+        register(CardType.AUTOMATION, "Module", 5, 3, 8);
+        register(CardType.AUTOMATION, "Framework", 8, 6, 8);
         
         // Cryptocurrency cards
-        ALL_TEMPLATES.add(new CardTemplate(CardType.CRYPTOCURRENCY, "Bitcoin", 0, 1, 60));
-        ALL_TEMPLATES.add(new CardTemplate(CardType.CRYPTOCURRENCY, "Ethereum", 3, 2, 40));
-        ALL_TEMPLATES.add(new CardTemplate(CardType.CRYPTOCURRENCY, "Dogecoin", 6, 3, 30));
+        register(CardType.CRYPTOCURRENCY, "Bitcoin", 0, 1, 60);
+        register(CardType.CRYPTOCURRENCY, "Ethereum", 3, 2, 40);
+        register(CardType.CRYPTOCURRENCY, "Dogecoin", 6, 3, 30);
+        
+        // Build the read-only indexes
+        ALL_TEMPLATES_VIEW = Collections.unmodifiableList(ALL_TEMPLATES);
+        BY_ID = ALL_TEMPLATES.toArray(new CardTemplate[0]);
+        
+        // One immutable list per type, indexed by CardType ordinal
+        List<List<CardTemplate>> views = new ArrayList<>();
+        for (CardType type : CardType.values()) {
+            List<CardTemplate> ofType = new ArrayList<>();
+            for (CardTemplate template : ALL_TEMPLATES) {
+                if (template.getType() == type) {
+                    ofType.add(template);
+                }
+            }
+            views.add(List.copyOf(ofType));
+        }
+        BY_TYPE_VIEWS = List.copyOf(views);
+    }
+    
+    private static void register(CardType type, String name, int cost, int value, int quantity) {
+        CardTemplate template = new CardTemplate(ALL_TEMPLATES.size(), type, name, cost, value, quantity);
+        ALL_TEMPLATES.add(template);
+        BY_NAME.put(name, template);
+        BY_LOWER_CASE_NAME.put(name.toLowerCase(Locale.ROOT), template);
     }
     
     /**
-     * Get a specific card template by name.
+     * Get a specific card template by name, ignoring case.
+     * Exact-case names are found without allocating.
      */
     public static CardTemplate getTemplate(String name) {
-        return ALL_TEMPLATES.stream()
-            .filter(t -> t.getName().equalsIgnoreCase(name))
-            .findFirst()
-            .orElse(null);
+        if (name == null) {
+            return null;
+        }
+        CardTemplate template = BY_NAME.get(name);
+        if (template == null) {
+            template = BY_LOWER_CASE_NAME.get(name.toLowerCase(Locale.ROOT));
+        }
+        return template;
+    }
+    
+    /**
+     * Get a card template by its ID.
+     * 
+     * @param id the card ID
+     * @return the template, or null if no card has that ID
+     */
+    public static CardTemplate getTemplate(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+    
+    /**
+     * Get the ID of a card by name, ignoring case.
+     * 
+     * @param name the card name
+     * @return the card ID, or {@link Card#NO_ID} if no such card is registered
+     */
+    public static int getId(String name) {
+        CardTemplate template = getTemplate(name);
+        return template != null ? template.getId() : Card.NO_ID;
+    }
+    
+    /**
+     * Get the number of registered card types. IDs run from 0 to this count minus one.
+     */
+    public static int getTemplateCount() {
+        return BY_ID.length;
     }
     
     /**
      * Get all templates of a specific type.
+     * 
+     * @return a shared, unmodifiable list
      */
     public static List<CardTemplate> getTemplatesByType(CardType type) {
-        List<CardTemplate> result = new ArrayList<>();
-        for (CardTemplate template : ALL_TEMPLATES) {
-            if (template.getType() == type) {
-                result.add(template);
-            }
-        }
-        return result;
+        return BY_TYPE_VIEWS.get(type.ordinal());
     }
     
     /**
-     * Get all card templates.
+     * Get all card templates, ordered by ID.
+     * 
+     * @return a shared, unmodifiable list
      */
     public static List<CardTemplate> getAllTemplates() {
-        return new ArrayList<>(ALL_TEMPLATES);
+        return ALL_TEMPLATES_VIEW;
     }
     
     /**
@@ -75,13 +142,13 @@ public class CardRegistry {
         
         if (bitcoin != null) {
             for (int i = 0; i < 7; i++) {
-                deck.add(bitcoin.createCard());
+                deck.add(bitcoin.getCard());
             }
         }
         
         if (method != null) {
             for (int i = 0; i < 3; i++) {
-                deck.add(method.createCard());
+                deck.add(method.getCard());
             }
         }
         
@@ -100,8 +167,9 @@ public class CardRegistry {
             CardTemplate template = getTemplate(name);
             
             if (template != null) {
+                Card card = template.getCard();
                 for (int i = 0; i < quantity; i++) {
-                    deck.add(template.createCard());
+                    deck.add(card);
                 }
             }
         }
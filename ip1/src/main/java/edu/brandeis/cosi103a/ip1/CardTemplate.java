@@ -3,39 +3,58 @@ package edu.brandeis.cosi103a.ip1;
 /**
  * Template for creating multiple instances of the same card type.
  * Makes it easy to define and expand card types in the game.
+ * Each template owns one canonical Card that all copies of the card share.
  */
 public class CardTemplate {
+    private final int id;
     private final CardType type;
     private final String name;
     private final int cost;
     private final int value;
     private final int quantity;
+    private final Card card;
     
     public CardTemplate(CardType type, String name, int cost, int value, int quantity) {
+        this(Card.NO_ID, type, name, cost, value, quantity);
+    }
+    
+    public CardTemplate(int id, CardType type, String name, int cost, int value, int quantity) {
+        this.id = id;
         this.type = type;
         this.name = name;
         this.cost = cost;
         this.value = value;
         this.quantity = quantity;
+        this.card = new Card(id, type, name, cost, value);
+    }
+    
+    /**
+     * Gets the shared Card instance for this template.
+     * Decks, hands and piles hold this instance rather than copies.
+     */
+    public Card getCard() {
+        return card;
     }
     
     /**
-     * Creates a single Card instance from this template.
+     * Creates a new, separate Card instance from this template.
+     * Prefer {@link #getCard()} unless a distinct object is required.
      */
     public Card createCard() {
-        return new Card(type, name, cost, value);
+        return new Card(id, type, name, cost, value);
     }
     
     /**
-     * Creates multiple Card instances from this template.
+     * Adds this template's quantity of cards to a list, all sharing one instance.
      */
     public void addCardsToList(java.util.List<Card> list) {
         for (int i = 0; i < quantity; i++) {
-            list.add(createCard());
+            list.add(card);
         }
     }
     
     // Getters
+    public int getId() { return id; }
     public CardType getType() { return type; }
     public String getName() { return name; }
     public int getCost() { return cost; }
@@ -0,0 +1,256 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A player's deck for simulation mode, holding card IDs in primitive arrays
+ * instead of Card objects. Follows the same rules as {@link PlayerDeck}:
+ * cards are drawn from the top of the draw pile, and an empty draw pile is
+ * refilled by shuffling the discard pile into it. Per-card counts and the
+ * total value are kept up to date on every move, so none of the operations
+ * allocate (once the piles have reached their working size) and
+ * {@link #calculateTotalValue()} is O(1).
+ * Only cards registered in {@link CardRegistry} can be held.
+ */
+public class CompactDeck {
+
+    /**
+     * Returned by {@link #drawOne()} when both piles are empty.
+     */
+    public static final int NO_CARD = -1;
+
+    private static final int[] VALUES = new int[CardRegistry.getTemplateCount()];
+
+    static {
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            VALUES[template.getId()] = template.getValue();
+        }
+    }
+
+    private byte[] drawPile;
+    private int drawSize;
+    private byte[] discardPile;
+    private int discardSize;
+    private final int[] drawCounts;
+    private final int[] discardCounts;
+    private int totalValue;
+    private RandomGenerator random;
+    // The bottom cards of the draw pile that are still waiting to be shuffled
+    private int unshuffled;
+
+    /**
+     * Constructs an empty CompactDeck.
+     *
+     * @param capacity the number of cards each pile can hold before it has to grow
+     */
+    public CompactDeck(int capacity) {
+        this.drawPile = new byte[Math.max(capacity, 1)];
+        this.discardPile = new byte[Math.max(capacity, 1)];
+        this.drawCounts = new int[VALUES.length];
+        this.discardCounts = new int[VALUES.length];
+        this.random = new SplittableRandom();
+    }
+
+    /**
+     * Constructs a CompactDeck whose draw pile holds the given cards, in order.
+     *
+     * @param cardIds the IDs of the starting cards; the last one is on top
+     * @param capacity the number of cards each pile can hold before it has to grow
+     */
+    public CompactDeck(int[] cardIds, int capacity) {
+        this(Math.max(capacity, cardIds.length));
+        for (int id : cardIds) {
+            addToDrawPile(id);
+        }
+    }
+
+    /**
+     * Sets the random number generator used for shuffling.
+     *
+     * @param random the generator to use
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Shuffles the draw pile lazily, like {@link PlayerDeck#shuffle()}:
+     * each draw picks a random card from the cards still to be shuffled, in
+     * the same order {@code Collections.shuffle} would have put them.
+     */
+    public void shuffle() {
+        unshuffled = drawSize;
+    }
+
+    /**
+     * Draws one card from the draw pile.
+     * If the draw pile is empty, reshuffles the discard pile into it first.
+     *
+     * @return the drawn card ID, or {@link #NO_CARD} if both piles are empty
+     */
+    public int drawOne() {
+        if (drawSize == 0) {
+            reshuffleDiscardIntoDraw();
+        }
+
+        if (drawSize == 0) {
+            return NO_CARD;
+        }
+
+        int top = drawSize - 1;
+        unshuffled = shuffleTop(drawPile, 0, top, unshuffled, random);
+        int id = drawPile[--drawSize] & 0xFF;
+        drawCounts[id]--;
+        totalValue -= VALUES[id];
+        return id;
+    }
+
+    /**
+     * Does one step of the lazy shuffle before a draw: if the top card of a
+     * draw pile is still waiting to be shuffled, swaps a random card from the
+     * unshuffled ones into its place. {@link BatchSimulator} keeps many decks'
+     * piles in one array and shares this step, so both draw exactly the cards
+     * {@link PlayerDeck} would.
+     *
+     * @param pile the array holding the draw pile
+     * @param base the index of the bottom card of the draw pile in the array
+     * @param top the position of the top card, counting from the bottom
+     * @param unshuffled the number of bottom cards still waiting to be shuffled
+     * @param random the deck's random stream
+     * @return the number of cards still waiting to be shuffled once the top card is drawn
+     */
+    static int shuffleTop(byte[] pile, int base, int top, int unshuffled, RandomGenerator random) {
+        if (top >= unshuffled) {
+            return unshuffled;
+        }
+        if (top > 0) {
+            int j = base + random.nextInt(top + 1);
+            byte card = pile[base + top];
+            pile[base + top] = pile[j];
+            pile[j] = card;
+        }
+        return unshuffled - 1;
+    }
+
+    /**
+     * Discards a card to the discard pile.
+     *
+     * @param cardId the ID of the card to discard
+     */
+    public void discard(int cardId) {
+        if (discardSize == discardPile.length) {
+            discardPile = Arrays.copyOf(discardPile, discardSize * 2);
+        }
+        discardPile[discardSize++] = (byte) cardId;
+        discardCounts[cardId]++;
+        totalValue += VALUES[cardId];
+    }
+
+    /**
+     * Adds a card to the top of the draw pile.
+     *
+     * @param cardId the ID of the card to add
+     */
+    public final void addToDrawPile(int cardId) {
+        if (drawSize == drawPile.length) {
+            drawPile = Arrays.copyOf(drawPile, drawSize * 2);
+        }
+        drawPile[drawSize++] = (byte) cardId;
+        drawCounts[cardId]++;
+        totalValue += VALUES[cardId];
+    }
+
+    /**
+     * Reshuffles the discard pile into the draw pile.
+     * The discard pile becomes empty after this operation.
+     */
+    public void reshuffleDiscardIntoDraw() {
+        if (discardSize == 0) {
+            return;
+        }
+        if (drawSize + discardSize > drawPile.length) {
+            drawPile = Arrays.copyOf(drawPile, Math.max(drawPile.length * 2, drawSize + discardSize));
+        }
+        System.arraycopy(discardPile, 0, drawPile, drawSize, discardSize);
+        drawSize += discardSize;
+        discardSize = 0;
+        for (int id = 0; id < drawCounts.length; id++) {
+            drawCounts[id] += discardCounts[id];
+            discardCounts[id] = 0;
+        }
+        shuffle();
+    }
+
+    /**
+     * Checks if the draw pile is empty.
+     *
+     * @return true if the draw pile is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return drawSize == 0;
+    }
+
+    /**
+     * Gets the size of the draw pile.
+     *
+     * @return the number of cards in the draw pile
+     */
+    public int size() {
+        return drawSize;
+    }
+
+    /**
+     * Gets the size of the discard pile.
+     *
+     * @return the number of cards in the discard pile
+     */
+    public int discardSize() {
+        return discardSize;
+    }
+
+    /**
+     * Gets the total number of cards in both piles.
+     *
+     * @return the total card count
+     */
+    public int totalCards() {
+        return drawSize + discardSize;
+    }
+
+    /**
+     * Gets how many copies of a card are in both piles.
+     *
+     * @param cardId the card ID
+     * @return the number of copies
+     */
+    public int getCount(int cardId) {
+        return drawCounts[cardId] + discardCounts[cardId];
+    }
+
+    /**
+     * Gets how many copies of a card are in the draw pile.
+     *
+     * @param cardId the card ID
+     * @return the number of copies
+     */
+    public int getDrawCount(int cardId) {
+        return drawCounts[cardId];
+    }
+
+    /**
+     * Gets the total value of all cards in both piles. O(1).
+     *
+     * @return the sum of all card values
+     */
+    public int calculateTotalValue() {
+        return totalValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactDeck[drawPile=%d cards, discardPile=%d cards]",
+                           drawSize, discardSize);
+    }
+}
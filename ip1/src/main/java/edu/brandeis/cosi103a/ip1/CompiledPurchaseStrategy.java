@@ -0,0 +1,80 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * A purchase strategy flattened into a lookup table indexed by coins and
+ * pile-availability mask, so each decision is a single array read.
+ * Coins above the most expensive card's cost share the last row of the table.
+ */
+public final class CompiledPurchaseStrategy implements PurchaseStrategy {
+
+    private final PurchaseStrategy source;
+    private final byte[] table;
+    private final int maxCoins;
+    private final int maskBits;
+    private final long maskLimit;
+
+    private CompiledPurchaseStrategy(PurchaseStrategy source, byte[] table, int maxCoins, int maskBits) {
+        this.source = source;
+        this.table = table;
+        this.maxCoins = maxCoins;
+        this.maskBits = maskBits;
+        this.maskLimit = (1L << maskBits) - 1;
+    }
+
+    /**
+     * Evaluates a strategy for every coin amount and every combination of
+     * available piles and stores the answers.
+     * The strategy must decide from its two arguments alone, and must not
+     * distinguish coin amounts at or above the highest card cost.
+     *
+     * @param strategy the strategy to compile
+     * @return the compiled strategy
+     * @throws IllegalArgumentException if the strategy needs more than coins and
+     *                                  available piles, as {@link PurchaseStrategy#isStateless()} reports
+     */
+    public static CompiledPurchaseStrategy compile(PurchaseStrategy strategy) {
+        if (strategy instanceof CompiledPurchaseStrategy compiled) {
+            return compiled;
+        }
+        if (!strategy.isStateless()) {
+            throw new IllegalArgumentException("Cannot compile " + strategy
+                + ": it decides from more than coins and available piles");
+        }
+
+        int maskBits = CardRegistry.getTemplateCount();
+        if (maskBits > 20) {
+            throw new IllegalStateException("Too many card types to compile a purchase table: " + maskBits);
+        }
+        int maxCoins = 0;
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            maxCoins = Math.max(maxCoins, template.getCost());
+        }
+
+        byte[] table = new byte[(maxCoins + 1) << maskBits];
+        for (int coins = 0; coins <= maxCoins; coins++) {
+            for (int mask = 0; mask < (1 << maskBits); mask++) {
+                table[(coins << maskBits) | mask] = (byte) strategy.choosePurchase(coins, mask);
+            }
+        }
+        return new CompiledPurchaseStrategy(strategy, table, maxCoins, maskBits);
+    }
+
+    @Override
+    public int choosePurchase(int coins, long availableMask) {
+        return table[(Math.min(coins, maxCoins) << maskBits) | (int) (availableMask & maskLimit)];
+    }
+
+    /**
+     * Gets the strategy this table was compiled from.
+     *
+     * @return the source strategy
+     */
+    public PurchaseStrategy getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "Compiled" + source;
+    }
+}
@@ -0,0 +1,145 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.io.PrintStream;
+
+/**
+ * Prints a running commentary of the game, one line per action.
+ */
+public class ConsoleGameListener implements GameListener {
+
+    private static final String RULE = "=".repeat(50);
+
+    private final PrintStream out;
+
+    /**
+     * Constructs a listener that prints to standard output.
+     */
+    public ConsoleGameListener() {
+        this(System.out);
+    }
+
+    /**
+     * Constructs a listener that prints to the given stream.
+     *
+     * @param out where to print
+     */
+    public ConsoleGameListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onGameStart(Kingdom kingdom) {
+        out.println(RULE);
+        out.println("DOMINION-STYLE CARD GAME");
+        out.println(RULE);
+        out.println();
+        out.println("Kingdom created with all card types.");
+        out.println(kingdom.displayKingdom());
+    }
+
+    @Override
+    public void onPlayerReady(Player player) {
+        out.println(player.getName() + " created with starter deck (7 Bitcoin, 3 Method)");
+        out.println("  Initial hand drawn: " + player.handSize() + " cards");
+    }
+
+    @Override
+    public void onSetupComplete() {
+        out.println();
+        out.println("Game setup complete! Starting game...");
+        out.println();
+    }
+
+    @Override
+    public void onTurnStart(int turn, Player player) {
+        out.println(RULE);
+        out.println("TURN " + turn + " - " + player.getName());
+        out.println(RULE);
+        out.println(player.getName() + "'s hand: " + player.handSize() + " cards");
+        out.println("\n--- Playing Cryptocurrency Cards ---");
+    }
+
+    @Override
+    public void onCardPlayed(Player player, Card card) {
+        out.println("  Playing " + card.getName() + " for " + card.getValue() + " coin(s)");
+    }
+
+    @Override
+    public void onBuyPhaseStart(Player player) {
+        out.println("Total coins available: " + player.getCoins());
+        out.println("Buys available: " + player.getBuys());
+        out.println("\n--- Buy Phase ---");
+    }
+
+    @Override
+    public void onPurchase(Player player, Card card) {
+        out.println("  " + player.getName() + " buys " + card.getName()
+                    + " (" + card.getCost() + " coins, " + card.getValue() + " value)");
+        out.println("    Remaining coins: " + player.getCoins() + ", Remaining buys: " + player.getBuys());
+    }
+
+    @Override
+    public void onNoPurchase(Player player) {
+        out.println("  " + player.getName() + " cannot afford any available cards (has " + player.getCoins() + " coins)");
+    }
+
+    @Override
+    public void onBuyPhaseEnd(Player player) {
+        if (player.getBuys() > 0) {
+            out.println(player.getName() + " ends buy phase with " +
+                        player.getCoins() + " coins remaining");
+        }
+    }
+
+    @Override
+    public void onCleanup(Player player, int cardsDrawn) {
+        out.println("\n--- Cleanup Phase ---");
+        out.println("Discarded hand and played cards");
+        out.println("Drew " + cardsDrawn + " new cards for next turn");
+    }
+
+    @Override
+    public void onTurnEnd(int turn, Player player) {
+        out.println();
+    }
+
+    @Override
+    public void onGameOver(GameResult result, Kingdom kingdom, Player[] players) {
+        out.println(RULE);
+        out.println("GAME OVER!");
+        out.println(RULE);
+        out.println();
+
+        if (result.isFrameworkEmptied()) {
+            out.println("Game ended: All Framework cards have been purchased!");
+        } else {
+            out.println("Game ended: Three or more kingdom piles are empty!");
+        }
+
+        out.println();
+        out.println(kingdom.displayKingdom());
+        out.println();
+
+        out.println(RULE);
+        out.println("FINAL SCORES");
+        out.println(RULE);
+
+        for (int i = 0; i < players.length; i++) {
+            Player player = players[i];
+            out.println(player.getName() + ": " + result.getScore(i) + " points");
+            out.println("  Total cards in deck: " + player.getDeck().totalCards());
+            out.println("  Cards in hand: " + player.handSize());
+            out.println();
+        }
+
+        out.println(RULE);
+        if (result.isTie()) {
+            out.println("IT'S A TIE!");
+            out.println("Winner: " + players[result.getWinner()].getName() + " (last of the tied players to play)");
+        } else {
+            out.println("WINNER: " + players[result.getWinner()].getName() + " with " + result.getWinningScore() + " points!");
+        }
+        out.println(RULE);
+        out.println("Total turns played: " + result.getTurnCount());
+    }
+}
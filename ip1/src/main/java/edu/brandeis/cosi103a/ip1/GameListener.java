@@ -0,0 +1,116 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Receives the events of a game as {@link App} plays it.
+ * Every method does nothing by default, so a listener only overrides the
+ * events it cares about. Events carry the live game objects rather than
+ * preformatted text, so a listener that ignores them costs nothing.
+ */
+public interface GameListener {
+
+    /**
+     * A listener that ignores every event, used for headless batch runs.
+     */
+    GameListener NONE = new GameListener() { };
+
+    /**
+     * Called once the kingdom has been created, before any player joins.
+     *
+     * @param kingdom the game's kingdom
+     */
+    default void onGameStart(Kingdom kingdom) {
+    }
+
+    /**
+     * Called when a player has been created and has drawn their first hand.
+     *
+     * @param player the new player
+     */
+    default void onPlayerReady(Player player) {
+    }
+
+    /**
+     * Called when setup has finished and the first turn is about to begin.
+     */
+    default void onSetupComplete() {
+    }
+
+    /**
+     * Called at the start of a turn, after the player's coins and buys are reset.
+     *
+     * @param turn the turn number, starting at 1
+     * @param player the player whose turn it is
+     */
+    default void onTurnStart(int turn, Player player) {
+    }
+
+    /**
+     * Called for each card the player plays.
+     *
+     * @param player the player
+     * @param card the card played
+     */
+    default void onCardPlayed(Player player, Card card) {
+    }
+
+    /**
+     * Called when the player has played their cards and starts buying.
+     *
+     * @param player the player, holding the coins and buys available
+     */
+    default void onBuyPhaseStart(Player player) {
+    }
+
+    /**
+     * Called after each successful purchase.
+     *
+     * @param player the player, with coins and buys already deducted
+     * @param card the card bought
+     */
+    default void onPurchase(Player player, Card card) {
+    }
+
+    /**
+     * Called when the player could not find anything to buy.
+     *
+     * @param player the player
+     */
+    default void onNoPurchase(Player player) {
+    }
+
+    /**
+     * Called when the buy phase is over.
+     *
+     * @param player the player, with any unused coins and buys
+     */
+    default void onBuyPhaseEnd(Player player) {
+    }
+
+    /**
+     * Called after the player has discarded and drawn a new hand.
+     *
+     * @param player the player
+     * @param cardsDrawn the number of cards drawn for the next turn
+     */
+    default void onCleanup(Player player, int cardsDrawn) {
+    }
+
+    /**
+     * Called at the end of every turn.
+     *
+     * @param turn the turn number
+     * @param player the player whose turn ended
+     */
+    default void onTurnEnd(int turn, Player player) {
+    }
+
+    /**
+     * Called once when the game has ended.
+     *
+     * @param result the final scores and winner
+     * @param kingdom the kingdom as it was left
+     * @param players the players in seat order
+     */
+    default void onGameOver(GameResult result, Kingdom kingdom, Player[] players) {
+    }
+}
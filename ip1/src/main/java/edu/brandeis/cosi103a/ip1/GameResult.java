@@ -0,0 +1,142 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of one complete game: final scores, winner, game length and
+ * the size of each player's deck.
+ */
+public class GameResult {
+    private final int[] scores;
+    private final int[] deckSizes;
+    private final int turnCount;
+    private final boolean frameworkEmptied;
+    private final int winner;
+    private final boolean tie;
+
+    /**
+     * Constructs a GameResult and decides the winner.
+     * The highest score wins; a tie is awarded to the last of the
+     * players who share the highest score.
+     *
+     * @param scores the final score of each player, in seat order
+     * @param turnCount the number of turns played
+     * @param frameworkEmptied true if the game ended because the Framework pile
+     *                         ran out, false if three piles were empty
+     */
+    public GameResult(int[] scores, int turnCount, boolean frameworkEmptied) {
+        this(scores, null, turnCount, frameworkEmptied);
+    }
+
+    /**
+     * Constructs a GameResult that records each player's final deck size, and decides the winner.
+     *
+     * @param scores the final score of each player, in seat order
+     * @param deckSizes the number of cards each player owns at the end, in
+     *                  seat order, or null if not recorded
+     * @param turnCount the number of turns played
+     * @param frameworkEmptied true if the game ended because the Framework pile
+     *                         ran out, false if three piles were empty
+     */
+    public GameResult(int[] scores, int[] deckSizes, int turnCount, boolean frameworkEmptied) {
+        this.scores = scores.clone();
+        this.deckSizes = deckSizes == null ? null : deckSizes.clone();
+        this.turnCount = turnCount;
+        this.frameworkEmptied = frameworkEmptied;
+
+        int highestScore = Integer.MIN_VALUE;
+        int best = -1;
+        boolean tied = false;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] >= highestScore) {
+                tied = scores[i] == highestScore;
+                highestScore = scores[i];
+                best = i;
+            }
+        }
+
+        this.tie = tied;
+        this.winner = best;
+    }
+
+    /**
+     * Gets the number of players in the game.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return scores.length;
+    }
+
+    /**
+     * Gets a player's final score.
+     *
+     * @param seat the player's seat index
+     * @return the final score
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * Gets the number of cards a player owned at the end of the game: draw
+     * pile, discard pile, hand and played cards.
+     *
+     * @param seat the player's seat index
+     * @return the card count, or -1 if the result does not record deck sizes
+     */
+    public int getDeckSize(int seat) {
+        return deckSizes == null ? -1 : deckSizes[seat];
+    }
+
+    /**
+     * Gets the seat index of the winning player.
+     *
+     * @return the winner's seat index
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Gets the winning player's score.
+     *
+     * @return the winner's score
+     */
+    public int getWinningScore() {
+        return scores[winner];
+    }
+
+    /**
+     * Checks if the highest score was shared.
+     *
+     * @return true if the game was a tie
+     */
+    public boolean isTie() {
+        return tie;
+    }
+
+    /**
+     * Gets the number of turns played.
+     *
+     * @return the turn count
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * Checks why the game ended.
+     *
+     * @return true if the Framework pile ran out, false if three piles were empty
+     */
+    public boolean isFrameworkEmptied() {
+        return frameworkEmptied;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameResult[scores=%s, winner=%d, tie=%b, turns=%d]",
+                           Arrays.toString(scores), winner, tie, turnCount);
+    }
+}
@@ -0,0 +1,584 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A compact copy of a game in progress, for AIs that look ahead by playing
+ * the rest of the game out many times.
+ * <p>
+ * The whole state lives in two primitive arrays: an {@code int[]} holding the
+ * turn, the seat to move, each kingdom pile's count and each seat's coins,
+ * buys and pile sizes, and a {@code byte[]} holding the card IDs of every
+ * seat's draw pile, discard pile, hand and played cards, each in a fixed-size
+ * region. {@link #copyFrom} is therefore two {@code System.arraycopy} calls
+ * into buffers that are reused once they are big enough, and a rollout with
+ * {@link #playOut} moves bytes around in place without allocating.
+ * <p>
+ * Cards move exactly as they do in {@link App}: the order of each zone,
+ * the lazy shuffle and its use of the random numbers are the same, so a
+ * snapshot played out with each deck's own generator ends like the real game.
+ * Rollout strategies decide from coins and available piles alone, through
+ * {@link PurchaseStrategy#choosePurchase(int, long)}.
+ * Only kingdoms and decks made of cards registered in {@link CardRegistry} can be captured.
+ * <p>
+ * A GameSnapshot is not thread-safe; give each thread its own.
+ */
+public final class GameSnapshot {
+
+    private static final int HAND_SIZE = 5;
+    private static final int CARDS = CardRegistry.getTemplateCount();
+    private static final int[] VALUES = new int[CARDS];
+    private static final int[] COSTS = new int[CARDS];
+    private static final boolean[] CRYPTO = new boolean[CARDS];
+    private static final int FRAMEWORK = CardRegistry.getId("Framework");
+    private static final int NO_PILE = -1;
+
+    static {
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            VALUES[template.getId()] = template.getValue();
+            COSTS[template.getId()] = template.getCost();
+            CRYPTO[template.getId()] = template.getType() == CardType.CRYPTOCURRENCY;
+        }
+    }
+
+    // Game fields at the start of the int state, followed by one count per card ID
+    private static final int PLAYERS = 0;
+    private static final int TURN = 1;
+    private static final int SEAT = 2;
+    private static final int BUY_PHASE = 3;
+    private static final int EMPTY_PILES = 4;
+    private static final int CAPACITY = 5;
+    private static final int SUPPLY = 6;
+    private static final int GAME_FIELDS = SUPPLY + CARDS;
+
+    // Fields of each seat, after the game fields
+    private static final int COINS = 0;
+    private static final int BUYS = 1;
+    private static final int UNSHUFFLED = 2;
+    private static final int SIZES = 3;
+    private static final int SEAT_FIELDS = SIZES + 4;
+
+    // Zones of each seat's card region
+    private static final int DRAW = 0;
+    private static final int DISCARD = 1;
+    private static final int HAND = 2;
+    private static final int PLAYED = 3;
+    private static final int ZONES = 4;
+
+    private int[] state = new int[GAME_FIELDS];
+    private byte[] cards = new byte[0];
+    private long availableMask;
+
+    /**
+     * Creates an empty snapshot, to be filled by {@link #capture} or {@link #copyFrom}.
+     */
+    public GameSnapshot() {
+    }
+
+    /**
+     * Captures a game between turns.
+     *
+     * @param game a game that has been set up
+     */
+    public void capture(App game) {
+        capture(game.getKingdom(), game.getPlayers(), game.getCurrentPlayerIndex(),
+            game.getTurnCount(), false);
+    }
+
+    /**
+     * Captures a game from its kingdom and players.
+     *
+     * @param kingdom the kingdom
+     * @param players the players, in seat order
+     * @param currentSeat the seat whose turn it is, or is next
+     * @param turnCount the number of turns started so far
+     * @param inBuyPhase true if the current seat has played its cryptocurrency and is buying,
+     *                   false if its turn has not started yet
+     * @throws IllegalArgumentException if the kingdom or a player holds an unregistered card
+     */
+    public void capture(Kingdom kingdom, Player[] players, int currentSeat, int turnCount,
+                        boolean inBuyPhase) {
+        if (kingdom.getSlotCount() > CARDS) {
+            throw new IllegalArgumentException("Kingdom has piles of unregistered cards");
+        }
+        int ownedAtMost = 0;
+        for (Player player : players) {
+            PlayerDeck deck = player.getDeck();
+            ownedAtMost = Math.max(ownedAtMost, deck.totalCards() + player.handSize()
+                + player.getPlayedCards().size());
+        }
+        int emptyPiles = 0;
+        long mask = 0;
+        int[] supply = new int[CARDS];
+        for (int id = 0; id < CARDS; id++) {
+            supply[id] = kingdom.hasPile(id) ? kingdom.getRemainingQuantity(id) : NO_PILE;
+            if (supply[id] > 0) {
+                ownedAtMost += supply[id];
+                mask |= 1L << id;
+            } else if (supply[id] == 0) {
+                emptyPiles++;
+            }
+        }
+
+        ensureSize(players.length, ownedAtMost);
+        state[PLAYERS] = players.length;
+        state[TURN] = turnCount;
+        state[SEAT] = currentSeat;
+        state[BUY_PHASE] = inBuyPhase ? 1 : 0;
+        state[EMPTY_PILES] = emptyPiles;
+        state[CAPACITY] = ownedAtMost;
+        System.arraycopy(supply, 0, state, SUPPLY, CARDS);
+        availableMask = mask;
+
+        for (int seat = 0; seat < players.length; seat++) {
+            Player player = players[seat];
+            PlayerDeck deck = player.getDeck();
+            int fields = seatFields(seat);
+            state[fields + COINS] = player.getCoins();
+            state[fields + BUYS] = player.getBuys();
+            state[fields + UNSHUFFLED] = deck.getUnshuffled();
+            captureZone(seat, DRAW, deck.getDrawPile());
+            captureZone(seat, DISCARD, deck.getDiscardPile());
+            captureZone(seat, HAND, player.getHand());
+            captureZone(seat, PLAYED, player.getPlayedCards());
+        }
+    }
+
+    private void ensureSize(int players, int capacity) {
+        int ints = GAME_FIELDS + players * SEAT_FIELDS;
+        if (state.length < ints) {
+            state = new int[ints];
+        }
+        int bytes = players * ZONES * capacity;
+        if (cards.length < bytes) {
+            cards = new byte[bytes];
+        }
+    }
+
+    private void captureZone(int seat, int zone, List<Card> zoneCards) {
+        int offset = zoneOffset(seat, zone);
+        for (int i = 0; i < zoneCards.size(); i++) {
+            Card card = zoneCards.get(i);
+            int id = card.getId() != Card.NO_ID ? card.getId() : CardRegistry.getId(card.getName());
+            if (id == Card.NO_ID) {
+                throw new IllegalArgumentException("Unregistered card: " + card.getName());
+            }
+            cards[offset + i] = (byte) id;
+        }
+        state[seatFields(seat) + SIZES + zone] = zoneCards.size();
+    }
+
+    /**
+     * Makes this snapshot an exact copy of another, reusing this snapshot's
+     * arrays when they are big enough. Copying into a snapshot that has
+     * already held the same game never allocates.
+     *
+     * @param other the snapshot to copy
+     */
+    public void copyFrom(GameSnapshot other) {
+        int ints = GAME_FIELDS + other.state[PLAYERS] * SEAT_FIELDS;
+        int bytes = other.state[PLAYERS] * ZONES * other.state[CAPACITY];
+        ensureSize(other.state[PLAYERS], other.state[CAPACITY]);
+        System.arraycopy(other.state, 0, state, 0, ints);
+        System.arraycopy(other.cards, 0, cards, 0, bytes);
+        availableMask = other.availableMask;
+    }
+
+    /**
+     * Puts a game back into the state this snapshot holds, reusing its
+     * kingdom, players and their piles. The decks keep their own random
+     * number generators.
+     *
+     * @param game the game the snapshot was captured from, or one set up with
+     *             the same number of players
+     * @throws IllegalStateException if the snapshot was taken during a buy phase
+     */
+    public void restore(App game) {
+        if (isInBuyPhase()) {
+            throw new IllegalStateException("Only snapshots taken between turns can be restored into a game");
+        }
+        restore(game.getKingdom(), game.getPlayers());
+        game.restoreTurn(state[TURN], state[SEAT]);
+    }
+
+    /**
+     * Puts a kingdom and players back into the state this snapshot holds.
+     *
+     * @param kingdom the kingdom to update
+     * @param players the players to update, in seat order
+     * @throws IllegalArgumentException if the number of players differs from the snapshot's
+     */
+    public void restore(Kingdom kingdom, Player[] players) {
+        if (players.length != getPlayerCount()) {
+            throw new IllegalArgumentException("Snapshot has " + getPlayerCount()
+                + " players, not " + players.length);
+        }
+        for (int id = 0; id < CARDS; id++) {
+            if (state[SUPPLY + id] != NO_PILE) {
+                kingdom.setRemainingQuantity(id, state[SUPPLY + id]);
+            }
+        }
+        for (int seat = 0; seat < players.length; seat++) {
+            Player player = players[seat];
+            PlayerDeck deck = player.getDeck();
+            int fields = seatFields(seat);
+            restoreZone(seat, DRAW, deck.getDrawPile());
+            restoreZone(seat, DISCARD, deck.getDiscardPile());
+            restoreZone(seat, HAND, player.getHand());
+            restoreZone(seat, PLAYED, player.getPlayedCards());
+            deck.setUnshuffled(state[fields + UNSHUFFLED]);
+            player.setTurnState(state[fields + COINS], state[fields + BUYS]);
+        }
+    }
+
+    private void restoreZone(int seat, int zone, List<Card> zoneCards) {
+        int offset = zoneOffset(seat, zone);
+        int size = state[seatFields(seat) + SIZES + zone];
+        zoneCards.clear();
+        for (int i = 0; i < size; i++) {
+            zoneCards.add(CardRegistry.getTemplate(cards[offset + i]).getCard());
+        }
+    }
+
+    private static int seatFields(int seat) {
+        return GAME_FIELDS + seat * SEAT_FIELDS;
+    }
+
+    private int zoneOffset(int seat, int zone) {
+        return (seat * ZONES + zone) * state[CAPACITY];
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return state[PLAYERS];
+    }
+
+    /**
+     * Gets the number of turns started so far.
+     *
+     * @return the turn count
+     */
+    public int getTurnCount() {
+        return state[TURN];
+    }
+
+    /**
+     * Gets the seat whose turn it is, or is next.
+     *
+     * @return the seat index
+     */
+    public int getCurrentSeat() {
+        return state[SEAT];
+    }
+
+    /**
+     * Checks if the current seat is in its buy phase.
+     *
+     * @return true if the current seat is buying, false if its turn has not started
+     */
+    public boolean isInBuyPhase() {
+        return state[BUY_PHASE] != 0;
+    }
+
+    /**
+     * Gets how many cards are left in a kingdom pile.
+     *
+     * @param cardId the card ID
+     * @return the remaining quantity, or 0 if the kingdom has no such pile
+     */
+    public int getRemainingQuantity(int cardId) {
+        return Math.max(state[SUPPLY + cardId], 0);
+    }
+
+    /**
+     * Gets which cards can still be bought, like {@link Kingdom#getAvailableMask()}.
+     *
+     * @return a mask with bit {@code i} set if card ID {@code i} is available
+     */
+    public long getAvailableMask() {
+        return availableMask;
+    }
+
+    /**
+     * Gets a seat's coins.
+     *
+     * @param seat the seat index
+     * @return the coins left this turn
+     */
+    public int getCoins(int seat) {
+        return state[seatFields(seat) + COINS];
+    }
+
+    /**
+     * Gets a seat's remaining buys.
+     *
+     * @param seat the seat index
+     * @return the buys left this turn
+     */
+    public int getBuys(int seat) {
+        return state[seatFields(seat) + BUYS];
+    }
+
+    /**
+     * Gets how many copies of a card a seat owns, across all its zones.
+     *
+     * @param seat the seat index
+     * @param cardId the card ID
+     * @return the number of copies
+     */
+    public int getOwnedCount(int seat, int cardId) {
+        int count = 0;
+        for (int zone = 0; zone < ZONES; zone++) {
+            int offset = zoneOffset(seat, zone);
+            int size = state[seatFields(seat) + SIZES + zone];
+            for (int i = 0; i < size; i++) {
+                if (cards[offset + i] == cardId) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets a seat's score: the total value of every card it owns.
+     *
+     * @param seat the seat index
+     * @return the score
+     */
+    public int getScore(int seat) {
+        int score = 0;
+        for (int zone = 0; zone < ZONES; zone++) {
+            int offset = zoneOffset(seat, zone);
+            int size = state[seatFields(seat) + SIZES + zone];
+            for (int i = 0; i < size; i++) {
+                score += VALUES[cards[offset + i]];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Gets the seat that is winning on score, with ties going to the last of
+     * the tied seats as in {@link GameResult}.
+     *
+     * @return the seat index
+     */
+    public int getLeader() {
+        int highestScore = Integer.MIN_VALUE;
+        int best = -1;
+        for (int seat = 0; seat < getPlayerCount(); seat++) {
+            int score = getScore(seat);
+            if (score >= highestScore) {
+                highestScore = score;
+                best = seat;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks if the game is over: the Framework pile or any three piles are empty.
+     *
+     * @return true if the game is over
+     */
+    public boolean isGameOver() {
+        return state[SUPPLY + FRAMEWORK] == 0 || state[EMPTY_PILES] >= 3;
+    }
+
+    /**
+     * Checks if the Framework pile is empty.
+     *
+     * @return true if the Framework pile has run out
+     */
+    public boolean isFrameworkEmptied() {
+        return state[SUPPLY + FRAMEWORK] == 0;
+    }
+
+    /**
+     * Starts the current seat's turn: resets its coins and buys and plays
+     * all its cryptocurrency.
+     *
+     * @throws IllegalStateException if the current seat is already buying
+     */
+    public void startTurn() {
+        if (isInBuyPhase()) {
+            throw new IllegalStateException("Turn already started");
+        }
+        int seat = state[SEAT];
+        int fields = seatFields(seat);
+        int hand = zoneOffset(seat, HAND);
+        int played = zoneOffset(seat, PLAYED);
+        int handSize = state[fields + SIZES + HAND];
+        int playedSize = state[fields + SIZES + PLAYED];
+        int coins = 0;
+        int kept = 0;
+        for (int i = 0; i < handSize; i++) {
+            byte card = cards[hand + i];
+            if (CRYPTO[card]) {
+                cards[played + playedSize++] = card;
+                coins += VALUES[card];
+            } else {
+                cards[hand + kept++] = card;
+            }
+        }
+        state[fields + SIZES + HAND] = kept;
+        state[fields + SIZES + PLAYED] = playedSize;
+        state[fields + COINS] = coins;
+        state[fields + BUYS] = 1;
+        state[TURN]++;
+        state[BUY_PHASE] = 1;
+    }
+
+    /**
+     * Buys a card for the current seat, if it has a buy left, can afford the
+     * card and the card's pile is not empty.
+     *
+     * @param cardId the ID of the card to buy
+     * @return true if the card was bought
+     * @throws IllegalStateException if the current seat is not in its buy phase
+     */
+    public boolean buy(int cardId) {
+        if (!isInBuyPhase()) {
+            throw new IllegalStateException("Not in a buy phase");
+        }
+        int seat = state[SEAT];
+        int fields = seatFields(seat);
+        if (cardId < 0 || cardId >= CARDS || state[fields + BUYS] <= 0
+                || state[SUPPLY + cardId] <= 0 || state[fields + COINS] < COSTS[cardId]) {
+            return false;
+        }
+        if (--state[SUPPLY + cardId] == 0) {
+            state[EMPTY_PILES]++;
+            availableMask &= ~(1L << cardId);
+        }
+        int discardSize = state[fields + SIZES + DISCARD]++;
+        cards[zoneOffset(seat, DISCARD) + discardSize] = (byte) cardId;
+        state[fields + COINS] -= COSTS[cardId];
+        state[fields + BUYS]--;
+        return true;
+    }
+
+    /**
+     * Ends the current seat's turn: discards its hand and then its played
+     * cards, draws a new hand and passes the turn to the next seat.
+     *
+     * @param random the generator the current seat's deck shuffles with
+     * @throws IllegalStateException if the current seat is not in its buy phase
+     */
+    public void endTurn(RandomGenerator random) {
+        if (!isInBuyPhase()) {
+            throw new IllegalStateException("Not in a buy phase");
+        }
+        int seat = state[SEAT];
+        int fields = seatFields(seat);
+        int discard = zoneOffset(seat, DISCARD);
+        int discardSize = state[fields + SIZES + DISCARD];
+        int handSize = state[fields + SIZES + HAND];
+        int playedSize = state[fields + SIZES + PLAYED];
+        System.arraycopy(cards, zoneOffset(seat, HAND), cards, discard + discardSize, handSize);
+        discardSize += handSize;
+        System.arraycopy(cards, zoneOffset(seat, PLAYED), cards, discard + discardSize, playedSize);
+        state[fields + SIZES + DISCARD] = discardSize + playedSize;
+        state[fields + SIZES + HAND] = 0;
+        state[fields + SIZES + PLAYED] = 0;
+        for (int i = 0; i < HAND_SIZE; i++) {
+            if (!drawOne(seat, random)) {
+                break;
+            }
+        }
+        state[BUY_PHASE] = 0;
+        state[SEAT] = (seat + 1) % state[PLAYERS];
+    }
+
+    /**
+     * Draws one card into a seat's hand the way {@link PlayerDeck#drawOne()} does.
+     */
+    private boolean drawOne(int seat, RandomGenerator random) {
+        int fields = seatFields(seat);
+        int draw = zoneOffset(seat, DRAW);
+        int drawSize = state[fields + SIZES + DRAW];
+        if (drawSize == 0) {
+            // Reshuffle the discard pile into the empty draw pile
+            drawSize = state[fields + SIZES + DISCARD];
+            System.arraycopy(cards, zoneOffset(seat, DISCARD), cards, draw, drawSize);
+            state[fields + SIZES + DISCARD] = 0;
+            state[fields + UNSHUFFLED] = drawSize;
+            if (drawSize == 0) {
+                return false;
+            }
+        }
+        int top = drawSize - 1;
+        byte card;
+        if (top < state[fields + UNSHUFFLED]) {
+            state[fields + UNSHUFFLED]--;
+            int j = top > 0 ? random.nextInt(top + 1) : top;
+            card = cards[draw + j];
+            cards[draw + j] = cards[draw + top];
+        } else {
+            card = cards[draw + top];
+        }
+        state[fields + SIZES + DRAW] = top;
+        int handSize = state[fields + SIZES + HAND]++;
+        cards[zoneOffset(seat, HAND) + handSize] = card;
+        return true;
+    }
+
+    /**
+     * Finishes the current seat's buy phase with a strategy, buying until it
+     * stops, runs out of buys or picks a card it cannot buy.
+     *
+     * @param strategy the strategy that chooses the purchases
+     */
+    public void finishBuyPhase(PurchaseStrategy strategy) {
+        int fields = seatFields(state[SEAT]);
+        while (state[fields + BUYS] > 0) {
+            int cardId = strategy.choosePurchase(state[fields + COINS], availableMask);
+            if (cardId == Card.NO_ID || !buy(cardId)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Plays the game out to the end in place, every seat drawing from one generator.
+     *
+     * @param random the generator all decks shuffle with
+     * @param strategies one strategy per seat
+     * @return the winning seat, as {@link #getLeader()} reports it
+     */
+    public int playOut(RandomGenerator random, PurchaseStrategy... strategies) {
+        return playOut(random, null, strategies);
+    }
+
+    /**
+     * Plays the game out to the end in place, each seat drawing from its own generator.
+     * Given each deck's generator from the captured game, the rollout is the game itself.
+     *
+     * @param random one generator per seat
+     * @param strategies one strategy per seat
+     * @return the winning seat, as {@link #getLeader()} reports it
+     */
+    public int playOut(RandomGenerator[] random, PurchaseStrategy... strategies) {
+        return playOut(null, random, strategies);
+    }
+
+    private int playOut(RandomGenerator shared, RandomGenerator[] perSeat, PurchaseStrategy[] strategies) {
+        while (true) {
+            if (isInBuyPhase()) {
+                int seat = state[SEAT];
+                finishBuyPhase(strategies[seat]);
+                endTurn(perSeat != null ? perSeat[seat] : shared);
+            }
+            if (isGameOver()) {
+                return getLeader();
+            }
+            startTurn();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The exact probability distribution of the coins in a hand drawn from a
+ * shuffled deck, from the deck's composition alone.
+ * <p>
+ * Only the coins each card is worth matter, so cards are grouped by coin
+ * value: each cryptocurrency's {@link CardRegistry} value, and zero for every
+ * other card. The chance of drawing {@code k_g} cards from each group is the
+ * multivariate hypergeometric {@code prod C(N_g, k_g) / C(N, n)}; a small
+ * dynamic program over the groups sums it for every coin total.
+ * <p>
+ * Distributions are immutable and shared. {@link #of} keeps the most recently
+ * used ones in a bounded LRU cache keyed by the grouped composition, so
+ * decks that differ only in which zero-coin or equal-value cards they hold
+ * share an entry, and repeated questions cost a hash lookup.
+ */
+public final class HandCoinDistribution {
+
+    /**
+     * The number of cards a player draws for a new hand.
+     */
+    public static final int HAND_SIZE = 5;
+
+    /**
+     * The most distributions the cache keeps before dropping the least recently used.
+     */
+    static final int CACHE_CAPACITY = 4096;
+
+    // Coin value of each card ID, and the sorted distinct values (0 first)
+    private static final int[] COINS = new int[CardRegistry.getTemplateCount()];
+    private static final int[] GROUP_VALUES;
+    private static final int[] GROUP_OF = new int[COINS.length];
+    private static final int KEY_BITS = 12;
+
+    static {
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            if (template.getType() == CardType.CRYPTOCURRENCY) {
+                COINS[template.getId()] = template.getValue();
+            }
+        }
+        GROUP_VALUES = IntStream.concat(IntStream.of(0), Arrays.stream(COINS)).distinct().sorted().toArray();
+        for (int id = 0; id < COINS.length; id++) {
+            GROUP_OF[id] = Arrays.binarySearch(GROUP_VALUES, COINS[id]);
+        }
+    }
+
+    private static final Map<Long, HandCoinDistribution> CACHE =
+        new LinkedHashMap<Long, HandCoinDistribution>(256, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HandCoinDistribution> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        };
+
+    private final int handSize;
+    private final double[] probabilities;
+    private final double mean;
+
+    private HandCoinDistribution(int handSize, double[] probabilities) {
+        this.handSize = handSize;
+        this.probabilities = probabilities;
+        double sum = 0;
+        for (int coins = 0; coins < probabilities.length; coins++) {
+            sum += coins * probabilities[coins];
+        }
+        this.mean = sum;
+    }
+
+    /**
+     * Gets the distribution of coins in a five-card hand.
+     *
+     * @param cardCounts the number of copies of each card in the deck, indexed by card ID
+     * @return the distribution
+     */
+    public static HandCoinDistribution of(int[] cardCounts) {
+        return of(cardCounts, HAND_SIZE);
+    }
+
+    /**
+     * Gets the distribution of coins in a hand of the given size. A deck with
+     * fewer cards than that deals all of them.
+     *
+     * @param cardCounts the number of copies of each card in the deck, indexed by card ID
+     * @param handSize the number of cards drawn
+     * @return the distribution
+     * @throws IllegalArgumentException if a count or the hand size is negative
+     */
+    public static HandCoinDistribution of(int[] cardCounts, int handSize) {
+        if (handSize < 0) {
+            throw new IllegalArgumentException("Negative hand size: " + handSize);
+        }
+        int[] groupCounts = new int[GROUP_VALUES.length];
+        for (int id = 0; id < cardCounts.length && id < COINS.length; id++) {
+            if (cardCounts[id] < 0) {
+                throw new IllegalArgumentException("Negative count for card " + id);
+            }
+            groupCounts[GROUP_OF[id]] += cardCounts[id];
+        }
+
+        long key = key(groupCounts, handSize);
+        if (key < 0) {
+            return compute(groupCounts, handSize);
+        }
+        HandCoinDistribution cached;
+        synchronized (CACHE) {
+            cached = CACHE.get(key);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        // Computed outside the lock; two threads may both compute the same entry, which is harmless
+        HandCoinDistribution computed = compute(groupCounts, handSize);
+        synchronized (CACHE) {
+            CACHE.put(key, computed);
+        }
+        return computed;
+    }
+
+    /**
+     * Gets the distribution of coins in a player's next five-card hand if
+     * every card they own were shuffled together.
+     *
+     * @param player the player
+     * @return the distribution
+     */
+    public static HandCoinDistribution of(Player player) {
+        int[] counts = new int[COINS.length];
+        for (int id = 0; id < counts.length; id++) {
+            counts[id] = player.getOwnedCount(id);
+        }
+        return of(counts, HAND_SIZE);
+    }
+
+    /**
+     * Packs the grouped composition and hand size into a cache key.
+     *
+     * @return the key, or -1 if the composition is too large to pack
+     */
+    private static long key(int[] groupCounts, int handSize) {
+        if ((groupCounts.length + 1) * KEY_BITS > Long.SIZE - 1 || handSize >= 1 << KEY_BITS) {
+            return -1;
+        }
+        long key = handSize;
+        for (int count : groupCounts) {
+            if (count >= 1 << KEY_BITS) {
+                return -1;
+            }
+            key = key << KEY_BITS | count;
+        }
+        return key;
+    }
+
+    private static HandCoinDistribution compute(int[] groupCounts, int handSize) {
+        int deckSize = 0;
+        for (int count : groupCounts) {
+            deckSize += count;
+        }
+        int drawn = Math.min(handSize, deckSize);
+        int maxCoins = drawn * GROUP_VALUES[GROUP_VALUES.length - 1];
+
+        // ways[t][c]: ways to pick t cards from the groups so far worth c coins
+        double[][] ways = new double[drawn + 1][maxCoins + 1];
+        ways[0][0] = 1;
+        for (int g = 0; g < groupCounts.length; g++) {
+            int value = GROUP_VALUES[g];
+            int available = Math.min(groupCounts[g], drawn);
+            double[][] next = new double[drawn + 1][maxCoins + 1];
+            for (int t = 0; t <= drawn; t++) {
+                for (int c = 0; c <= maxCoins; c++) {
+                    if (ways[t][c] == 0) {
+                        continue;
+                    }
+                    double choose = 1;
+                    for (int k = 0; k <= available && t + k <= drawn; k++) {
+                        // choose = C(groupCounts[g], k)
+                        next[t + k][c + k * value] += ways[t][c] * choose;
+                        choose = choose * (groupCounts[g] - k) / (k + 1);
+                    }
+                }
+            }
+            ways = next;
+        }
+
+        double total = 0;
+        for (double w : ways[drawn]) {
+            total += w;
+        }
+        double[] probabilities = new double[maxCoins + 1];
+        for (int c = 0; c <= maxCoins; c++) {
+            probabilities[c] = ways[drawn][c] / total;
+        }
+        return new HandCoinDistribution(drawn, probabilities);
+    }
+
+    /**
+     * Gets the number of cards in the hand: the requested hand size, or the
+     * whole deck if it is smaller.
+     *
+     * @return the hand size
+     */
+    public int getHandSize() {
+        return handSize;
+    }
+
+    /**
+     * Gets the probability that the hand is worth exactly the given coins.
+     *
+     * @param coins the coin total
+     * @return the probability, 0 outside the possible range
+     */
+    public double probability(int coins) {
+        return coins >= 0 && coins < probabilities.length ? probabilities[coins] : 0;
+    }
+
+    /**
+     * Gets the probability that the hand is worth at least the given coins,
+     * for example enough to buy a card.
+     *
+     * @param coins the coin total
+     * @return the probability
+     */
+    public double probabilityAtLeast(int coins) {
+        double sum = 0;
+        for (int c = Math.max(coins, 0); c < probabilities.length; c++) {
+            sum += probabilities[c];
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the expected coins in the hand.
+     *
+     * @return the mean
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the most coins a hand of this size could be worth.
+     *
+     * @return the largest coin total with a place in the distribution
+     */
+    public int getMaxCoins() {
+        return probabilities.length - 1;
+    }
+
+    /**
+     * Gets the number of distributions in the cache.
+     */
+    static int cacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Empties the cache.
+     */
+    static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HandCoinDistribution[hand=%d, mean=%.3f, p=%s]",
+                           handSize, mean, Arrays.toString(probabilities));
+    }
+}
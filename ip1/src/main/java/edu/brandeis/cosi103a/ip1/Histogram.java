@@ -0,0 +1,190 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+
+/**
+ * Counts values in a fixed set of equal-width buckets, plus one bucket below
+ * and one above the range. Adding a value is one division and one increment;
+ * histograms with the same buckets merge by adding counts.
+ * <p>
+ * Not thread-safe: each thread should add to its own instance.
+ */
+public final class Histogram {
+    private final double lowest;
+    private final double bucketWidth;
+    private final long[] counts;
+    private long underflow;
+    private long overflow;
+
+    /**
+     * Creates an empty histogram covering {@code [lowest, lowest + buckets * bucketWidth)}.
+     *
+     * @param lowest the lower edge of the first bucket
+     * @param bucketWidth the width of every bucket
+     * @param buckets the number of buckets
+     * @throws IllegalArgumentException if the width is not positive or there are no buckets
+     */
+    public Histogram(double lowest, double bucketWidth, int buckets) {
+        if (!(bucketWidth > 0)) {
+            throw new IllegalArgumentException("Bucket width must be positive: " + bucketWidth);
+        }
+        if (buckets < 1) {
+            throw new IllegalArgumentException("At least one bucket is required");
+        }
+        this.lowest = lowest;
+        this.bucketWidth = bucketWidth;
+        this.counts = new long[buckets];
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        double offset = (value - lowest) / bucketWidth;
+        if (offset < 0) {
+            underflow++;
+        } else if (offset >= counts.length) {
+            overflow++;
+        } else {
+            counts[(int) offset]++;
+        }
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     *
+     * @param other a histogram with the same buckets
+     * @return this histogram
+     * @throws IllegalArgumentException if the buckets differ
+     */
+    public Histogram merge(Histogram other) {
+        if (other.lowest != lowest || other.bucketWidth != bucketWidth || other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Cannot merge histograms with different buckets");
+        }
+        for (int b = 0; b < counts.length; b++) {
+            counts[b] += other.counts[b];
+        }
+        underflow += other.underflow;
+        overflow += other.overflow;
+        return this;
+    }
+
+    /**
+     * Gets an independent copy of this histogram.
+     *
+     * @return the copy
+     */
+    public Histogram copy() {
+        return new Histogram(lowest, bucketWidth, counts.length).merge(this);
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * Gets the lower edge of a bucket.
+     */
+    public double getBucketLow(int bucket) {
+        return lowest + bucket * bucketWidth;
+    }
+
+    /**
+     * Gets the number of values in a bucket.
+     */
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * Gets the number of values below the first bucket.
+     */
+    public long getUnderflow() {
+        return underflow;
+    }
+
+    /**
+     * Gets the number of values at or above the end of the last bucket.
+     */
+    public long getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Gets the number of values added, in range or not.
+     */
+    public long getTotalCount() {
+        return underflow + overflow + Arrays.stream(counts).sum();
+    }
+
+    /**
+     * Estimates a quantile by interpolating linearly within the bucket it
+     * falls in. Quantiles that fall below or above the range are reported
+     * as the range's lower or upper end.
+     *
+     * @param q the quantile, from 0 to 1
+     * @return the estimate, or NaN if the histogram is empty
+     * @throws IllegalArgumentException if {@code q} is outside [0, 1]
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        long total = getTotalCount();
+        if (total == 0) {
+            return Double.NaN;
+        }
+        double rank = q * total;
+        double seen = underflow;
+        if (rank <= seen && underflow > 0) {
+            return lowest;
+        }
+        for (int b = 0; b < counts.length; b++) {
+            if (counts[b] > 0 && rank <= seen + counts[b]) {
+                return getBucketLow(b) + bucketWidth * (rank - seen) / counts[b];
+            }
+            seen += counts[b];
+        }
+        return getBucketLow(counts.length);
+    }
+
+    /**
+     * Finds the bucket that holds a quantile, by nearest rank, and returns its
+     * lower edge without interpolating. For integer values counted in buckets
+     * of width 1 this is the exact quantile. Quantiles that fall below or above
+     * the range are reported as the range's lower or upper end.
+     *
+     * @param q the quantile, from 0 to 1
+     * @return the lower edge of the bucket, or NaN if the histogram is empty
+     * @throws IllegalArgumentException if {@code q} is outside [0, 1]
+     */
+    public double bucketQuantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        long total = getTotalCount();
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = underflow;
+        if (rank <= seen) {
+            return lowest;
+        }
+        for (int b = 0; b < counts.length; b++) {
+            seen += counts[b];
+            if (rank <= seen) {
+                return getBucketLow(b);
+            }
+        }
+        return getBucketLow(counts.length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Histogram[%s..%s, buckets=%d, count=%d]",
+                           lowest, getBucketLow(counts.length), counts.length, getTotalCount());
+    }
+}
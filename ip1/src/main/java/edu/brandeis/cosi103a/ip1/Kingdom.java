@@ -1,5 +1,6 @@
 package edu.brandeis.cosi103a.ip1;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
@@ -8,36 +9,120 @@ import java.util.ArrayList;
 /**
  * Represents the Kingdom (supply) of cards available for purchase/acquisition.
  * Tracks card templates and their remaining quantities.
+ * Remaining counts live in a dense array indexed by card ID (piles of
+ * unregistered cards get slots after the registered IDs), and a running count
+ * of empty piles is kept so the game-over check never scans the piles.
+ * A bitmask of which registered cards are still available is kept alongside,
+ * as is a {@link Zobrist} hash of every pile's count.
  */
 public class Kingdom {
     
     private final Map<String, KingdomPile> piles;
+    private int[] remaining;
+    private KingdomPile[] pilesBySlot;
+    private int nextCustomSlot;
+    private int emptyPiles;
+    private int frameworkSlot;
+    private long availableMask;
+    private long hash;
     
     public Kingdom() {
         this.piles = new HashMap<>();
+        int registered = CardRegistry.getTemplateCount();
+        this.remaining = new int[registered];
+        this.pilesBySlot = new KingdomPile[registered];
+        this.nextCustomSlot = registered;
+        this.emptyPiles = 0;
+        this.frameworkSlot = -1;
     }
     
     /**
      * Adds a pile of cards to the kingdom.
+     * Adding a pile with the name of an existing pile replaces it.
      * @param template The card template
      * @param quantity How many cards are available
      */
     public void addPile(CardTemplate template, int quantity) {
-        piles.put(template.getName(), new KingdomPile(template, quantity));
+        KingdomPile existing = piles.get(template.getName());
+        int slot;
+        if (existing != null) {
+            slot = existing.slot;
+            if (remaining[slot] == 0) {
+                emptyPiles--;
+            }
+            hash ^= Zobrist.key(Zobrist.KINGDOM, slot, remaining[slot]);
+        } else if (template.getId() >= 0 && template.getId() < CardRegistry.getTemplateCount()) {
+            slot = template.getId();
+        } else {
+            slot = nextCustomSlot++;
+            if (slot >= remaining.length) {
+                remaining = Arrays.copyOf(remaining, slot + 1);
+                pilesBySlot = Arrays.copyOf(pilesBySlot, slot + 1);
+            }
+        }
+        
+        KingdomPile pile = new KingdomPile(template, this, slot);
+        piles.put(template.getName(), pile);
+        pilesBySlot[slot] = pile;
+        remaining[slot] = Math.max(quantity, 0);
+        hash ^= Zobrist.key(Zobrist.KINGDOM, slot, remaining[slot]);
+        if (remaining[slot] == 0) {
+            emptyPiles++;
+        }
+        updateAvailableMask(slot);
+        if (template.getName().equals("Framework")) {
+            frameworkSlot = slot;
+        }
     }
     
     /**
      * Attempts to take a card from the kingdom.
      * @param cardName The name of the card to take
-     * @return The card if available, null if pile is empty or doesn't exist
+     * @return The pile's shared card if available, null if pile is empty or doesn't exist
      */
     public Card takeCard(String cardName) {
         KingdomPile pile = piles.get(cardName);
-        if (pile != null && pile.hasCards()) {
-            pile.decrementQuantity();
-            return pile.getTemplate().createCard();
+        return pile != null ? take(pile.slot) : null;
+    }
+    
+    /**
+     * Attempts to take a registered card from the kingdom by ID.
+     * @param cardId The card ID
+     * @return The pile's shared card if available, null if pile is empty or doesn't exist
+     */
+    public Card takeCard(int cardId) {
+        return isAvailable(cardId) ? take(cardId) : null;
+    }
+    
+    private Card take(int slot) {
+        if (remaining[slot] == 0) {
+            return null;
+        }
+        decrement(slot);
+        return pilesBySlot[slot].getTemplate().getCard();
+    }
+    
+    private void decrement(int slot) {
+        int count = remaining[slot];
+        if (count == 0) {
+            return;
+        }
+        remaining[slot] = count - 1;
+        hash ^= Zobrist.key(Zobrist.KINGDOM, slot, count) ^ Zobrist.key(Zobrist.KINGDOM, slot, count - 1);
+        if (count == 1) {
+            emptyPiles++;
+            updateAvailableMask(slot);
+        }
+    }
+    
+    private void updateAvailableMask(int slot) {
+        if (slot < CardRegistry.getTemplateCount() && slot < Long.SIZE) {
+            if (remaining[slot] > 0) {
+                availableMask |= 1L << slot;
+            } else {
+                availableMask &= ~(1L << slot);
+            }
         }
-        return null;
     }
     
     /**
@@ -47,7 +132,16 @@ public class Kingdom {
      */
     public boolean isAvailable(String cardName) {
         KingdomPile pile = piles.get(cardName);
-        return pile != null && pile.hasCards();
+        return pile != null && remaining[pile.slot] > 0;
+    }
+    
+    /**
+     * Checks if a registered card is available in the kingdom.
+     * @param cardId The card ID
+     * @return true if at least one card is available
+     */
+    public boolean isAvailable(int cardId) {
+        return cardId >= 0 && cardId < CardRegistry.getTemplateCount() && remaining[cardId] > 0;
     }
     
     /**
@@ -57,7 +151,78 @@ public class Kingdom {
      */
     public int getRemainingQuantity(String cardName) {
         KingdomPile pile = piles.get(cardName);
-        return pile != null ? pile.getRemainingQuantity() : 0;
+        return pile != null ? remaining[pile.slot] : 0;
+    }
+    
+    /**
+     * Gets the remaining quantity of a registered card.
+     * @param cardId The card ID
+     * @return The remaining quantity, or 0 if not found
+     */
+    public int getRemainingQuantity(int cardId) {
+        return cardId >= 0 && cardId < CardRegistry.getTemplateCount() ? remaining[cardId] : 0;
+    }
+    
+    /**
+     * Gets which registered cards can still be taken.
+     * @return a mask with bit {@code i} set if card ID {@code i} is available
+     */
+    public long getAvailableMask() {
+        return availableMask;
+    }
+    
+    /**
+     * Gets the Zobrist hash of every pile's remaining count. O(1).
+     * @return the hash
+     */
+    public long getHash() {
+        return hash;
+    }
+    
+    /**
+     * Checks if the kingdom has a pile of a registered card, empty or not.
+     * @param cardId The card ID
+     * @return true if a pile was added for the card
+     */
+    boolean hasPile(int cardId) {
+        return cardId >= 0 && cardId < CardRegistry.getTemplateCount() && pilesBySlot[cardId] != null;
+    }
+
+    /**
+     * Gets the number of pile slots in use: the registered card IDs plus one
+     * per pile of an unregistered card.
+     */
+    int getSlotCount() {
+        return nextCustomSlot;
+    }
+
+    /**
+     * Sets how many cards are left in a registered card's pile, keeping the
+     * empty-pile count, availability mask and hash in step. Used to restore a
+     * {@link GameSnapshot}.
+     * @param cardId The card ID of an existing pile
+     * @param quantity The new remaining quantity
+     */
+    void setRemainingQuantity(int cardId, int quantity) {
+        int count = remaining[cardId];
+        if (count == quantity) {
+            return;
+        }
+        hash ^= Zobrist.key(Zobrist.KINGDOM, cardId, count) ^ Zobrist.key(Zobrist.KINGDOM, cardId, quantity);
+        if (count == 0) {
+            emptyPiles--;
+        } else if (quantity == 0) {
+            emptyPiles++;
+        }
+        remaining[cardId] = quantity;
+        updateAvailableMask(cardId);
+    }
+    
+    /**
+     * Gets the number of piles that have run out.
+     */
+    public int getEmptyPileCount() {
+        return emptyPiles;
     }
     
     /**
@@ -79,20 +244,7 @@ public class Kingdom {
      * Game ends when Framework pile is empty OR 3+ piles are empty.
      */
     public boolean isGameOver() {
-        // Check if Framework pile is empty
-        KingdomPile frameworkPile = piles.get("Framework");
-        if (frameworkPile != null && !frameworkPile.hasCards()) {
-            return true;
-        }
-        
-        // Check if 3 or more piles are empty
-        int emptyPiles = 0;
-        for (KingdomPile pile : piles.values()) {
-            if (!pile.hasCards()) {
-                emptyPiles++;
-            }
-        }
-        return emptyPiles >= 3;
+        return (frameworkSlot >= 0 && remaining[frameworkSlot] == 0) || emptyPiles >= 3;
     }
     
     /**
@@ -115,30 +267,44 @@ public class Kingdom {
     
     /**
      * Inner class representing a pile of cards in the kingdom.
+     * A pile that belongs to a Kingdom reads and updates the kingdom's counts;
+     * a pile constructed on its own keeps its own count.
      */
     public static class KingdomPile {
         private final CardTemplate template;
+        private final Kingdom kingdom;
+        private final int slot;
         private int remainingQuantity;
         
         public KingdomPile(CardTemplate template, int quantity) {
             this.template = template;
+            this.kingdom = null;
+            this.slot = -1;
             this.remainingQuantity = quantity;
         }
         
+        private KingdomPile(CardTemplate template, Kingdom kingdom, int slot) {
+            this.template = template;
+            this.kingdom = kingdom;
+            this.slot = slot;
+        }
+        
         public CardTemplate getTemplate() {
             return template;
         }
         
         public int getRemainingQuantity() {
-            return remainingQuantity;
+            return kingdom != null ? kingdom.remaining[slot] : remainingQuantity;
         }
         
         public boolean hasCards() {
-            return remainingQuantity > 0;
+            return getRemainingQuantity() > 0;
         }
         
         public void decrementQuantity() {
-            if (remainingQuantity > 0) {
+            if (kingdom != null) {
+                kingdom.decrement(slot);
+            } else if (remainingQuantity > 0) {
                 remainingQuantity--;
             }
         }
@@ -0,0 +1,314 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Chooses purchases by Monte Carlo search: for each card it could buy (or
+ * buying nothing) it plays the rest of the game out many times from a
+ * {@link GameSnapshot} of the current position, and buys the card that wins
+ * most often.
+ * <p>
+ * Each decision gets a fixed time budget, or a fixed number of rollouts.
+ * Within it, several workers, each on its own virtual thread, repeatedly pick
+ * a move with UCB1, copy the root snapshot, make the move and play the game
+ * out with a fast rollout strategy. Every worker keeps its own win and visit
+ * counts, so they never contend; when the budget runs out the counts are
+ * added up and the most visited move is bought. A worker checks the clock
+ * before every rollout, so a decision takes the budget plus at most one
+ * rollout (a few microseconds). With a rollout budget each worker plays its
+ * share of the rollouts however long they take, so the choice depends only
+ * on the seed and the position.
+ * <p>
+ * The search sees the opponents' hands and every pile's contents, but not
+ * the order of anyone's draw pile: rollouts shuffle with their own random
+ * numbers, seeded from the strategy's seed and {@link App#getStateHash()}, so
+ * the same position always gets the same rollouts.
+ * <p>
+ * Safe to share between games running on different threads.
+ */
+public class MonteCarloPurchaseStrategy implements PurchaseStrategy {
+
+    /**
+     * Exploration weight of UCB1; the usual {@code sqrt(2)} for rewards in [0, 1].
+     */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private static final int[] COSTS = new int[CardRegistry.getTemplateCount()];
+
+    static {
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            COSTS[template.getId()] = template.getCost();
+        }
+    }
+
+    // -1 when the budget is a number of rollouts
+    private final long budgetNanos;
+    // Long.MAX_VALUE when the budget is a time
+    private final long rolloutBudget;
+    private final int workers;
+    private final PurchaseStrategy rolloutStrategy;
+    private final long seed;
+    private volatile long lastRolloutCount;
+
+    /**
+     * Creates a strategy that searches for the given time per purchase, with one
+     * worker per processor and {@link App#DEFAULT_STRATEGY} playing the rollouts.
+     *
+     * @param budget the time to spend on each purchase
+     */
+    public MonteCarloPurchaseStrategy(Duration budget) {
+        this(budget, Runtime.getRuntime().availableProcessors(), App.DEFAULT_STRATEGY,
+            new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a strategy.
+     *
+     * @param budget the time to spend on each purchase
+     * @param workers the number of virtual threads searching each purchase
+     * @param rolloutStrategy plays every seat's purchases during rollouts; it should be
+     *                        fast, and decide from coins and available piles alone
+     * @param seed seeds the rollouts' random numbers
+     * @throws IllegalArgumentException if the budget is negative or there are no workers
+     */
+    public MonteCarloPurchaseStrategy(Duration budget, int workers, PurchaseStrategy rolloutStrategy, long seed) {
+        this(checkBudget(budget).toNanos(), Long.MAX_VALUE, workers, rolloutStrategy, seed);
+    }
+
+    /**
+     * Creates a strategy that plays a fixed number of rollouts per purchase,
+     * however long they take, shared out among the workers.
+     *
+     * @param rollouts the number of rollouts for each purchase
+     * @param workers the number of virtual threads searching each purchase
+     * @param rolloutStrategy plays every seat's purchases during rollouts; it should be
+     *                        fast, and decide from coins and available piles alone
+     * @param seed seeds the rollouts' random numbers
+     * @throws IllegalArgumentException if there are no rollouts or no workers
+     */
+    public MonteCarloPurchaseStrategy(long rollouts, int workers, PurchaseStrategy rolloutStrategy, long seed) {
+        this(-1, checkRollouts(rollouts), workers, rolloutStrategy, seed);
+    }
+
+    private MonteCarloPurchaseStrategy(long budgetNanos, long rolloutBudget, int workers,
+                                       PurchaseStrategy rolloutStrategy, long seed) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        this.budgetNanos = budgetNanos;
+        this.rolloutBudget = rolloutBudget;
+        this.workers = workers;
+        this.rolloutStrategy = rolloutStrategy;
+        this.seed = seed;
+    }
+
+    private static Duration checkBudget(Duration budget) {
+        if (budget.isNegative()) {
+            throw new IllegalArgumentException("Negative time budget: " + budget);
+        }
+        return budget;
+    }
+
+    private static long checkRollouts(long rollouts) {
+        if (rollouts < 1) {
+            throw new IllegalArgumentException("At least one rollout is required: " + rollouts);
+        }
+        return rollouts;
+    }
+
+    /**
+     * Without a game to search, buys what the rollout strategy would.
+     */
+    @Override
+    public int choosePurchase(int coins, long availableMask) {
+        return rolloutStrategy.choosePurchase(coins, availableMask);
+    }
+
+    /**
+     * The search needs the whole game, so this strategy cannot be compiled.
+     */
+    @Override
+    public boolean isStateless() {
+        return false;
+    }
+
+    @Override
+    public int choosePurchase(App game, Player player) {
+        Kingdom kingdom = game.getKingdom();
+        int coins = player.getCoins();
+        long availableMask = kingdom.getAvailableMask();
+        int[] moves = legalMoves(coins, availableMask);
+        if (moves.length == 1) {
+            lastRolloutCount = 0;
+            return moves[0];
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        GameSnapshot root = new GameSnapshot();
+        root.capture(kingdom, game.getPlayers(), game.getCurrentPlayerIndex(), game.getTurnCount(), true);
+        // Seed from the position, not from how many decisions came before, so games
+        // sharing this strategy on several threads still replay the same way
+        long positionSeed = RandomStreams.mix64(seed ^ game.getStateHash());
+
+        Search[] searches = new Search[workers];
+        List<Future<?>> running = new ArrayList<>(workers);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < workers; w++) {
+                long workerSeed = RandomStreams.mix64(positionSeed + (w + 1) * 0x9e3779b97f4a7c15L);
+                Search search = new Search(root, moves, new SplittableRandom(workerSeed));
+                long rollouts = rolloutBudget == Long.MAX_VALUE ? Long.MAX_VALUE
+                    : rolloutBudget / workers + (w < rolloutBudget % workers ? 1 : 0);
+                searches[w] = search;
+                running.add(executor.submit(() -> search.run(deadline, rollouts)));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollout failed", e.getCause());
+        }
+
+        int best = bestMove(searches);
+        return best >= 0 ? moves[best] : rolloutStrategy.choosePurchase(coins, availableMask);
+    }
+
+    /**
+     * Lists every purchase that is affordable and available, after
+     * {@link Card#NO_ID} for buying nothing.
+     */
+    static int[] legalMoves(int coins, long availableMask) {
+        int count = 1;
+        int[] moves = new int[COSTS.length + 1];
+        moves[0] = Card.NO_ID;
+        for (int id = 0; id < COSTS.length; id++) {
+            if ((availableMask & (1L << id)) != 0 && COSTS[id] <= coins) {
+                moves[count++] = id;
+            }
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+    /**
+     * Adds up the workers' counts and picks the most visited move, breaking
+     * ties by win rate.
+     *
+     * @return the index of the move, or -1 if nothing was played out
+     */
+    private int bestMove(Search[] searches) {
+        int moves = searches[0].visits.length;
+        long total = 0;
+        int best = -1;
+        long bestVisits = 0;
+        double bestWins = 0;
+        for (int m = 0; m < moves; m++) {
+            long visits = 0;
+            double wins = 0;
+            for (Search search : searches) {
+                visits += search.visits[m];
+                wins += search.wins[m];
+            }
+            total += visits;
+            if (visits > bestVisits || (visits == bestVisits && visits > 0 && wins > bestWins)) {
+                best = m;
+                bestVisits = visits;
+                bestWins = wins;
+            }
+        }
+        lastRolloutCount = total;
+        return best;
+    }
+
+    /**
+     * Gets how many rollouts the most recent decision played.
+     * With several games sharing the strategy, "most recent" is whichever finished last.
+     *
+     * @return the rollout count; 0 if the decision had only one legal move
+     */
+    public long getLastRolloutCount() {
+        return lastRolloutCount;
+    }
+
+    @Override
+    public String toString() {
+        String budget = budgetNanos < 0 ? rolloutBudget + " rollouts" : budgetNanos / 1000 + "us";
+        return String.format("MonteCarloPurchaseStrategy[budget=%s, workers=%d, rollouts=%s]",
+                           budget, workers, rolloutStrategy);
+    }
+
+    /**
+     * One worker's UCB1 search over the root moves.
+     */
+    private final class Search {
+        private final GameSnapshot root;
+        private final GameSnapshot scratch = new GameSnapshot();
+        private final int[] moves;
+        private final SplittableRandom random;
+        private final PurchaseStrategy[] rolloutStrategies;
+        final long[] visits;
+        final double[] wins;
+
+        Search(GameSnapshot root, int[] moves, SplittableRandom random) {
+            this.root = root;
+            this.moves = moves;
+            this.random = random;
+            this.rolloutStrategies = new PurchaseStrategy[root.getPlayerCount()];
+            Arrays.fill(rolloutStrategies, rolloutStrategy);
+            this.visits = new long[moves.length];
+            this.wins = new double[moves.length];
+        }
+
+        /**
+         * Plays rollouts until the deadline passes, if there is a time budget,
+         * or the given number have been played.
+         */
+        void run(long deadline, long rollouts) {
+            int seat = root.getCurrentSeat();
+            long total = 0;
+            while (total < rollouts && (budgetNanos < 0 || System.nanoTime() < deadline)) {
+                int m = select(total);
+                scratch.copyFrom(root);
+                if (moves[m] != Card.NO_ID) {
+                    scratch.buy(moves[m]);
+                    scratch.finishBuyPhase(rolloutStrategy);
+                }
+                scratch.endTurn(random);
+                if (scratch.playOut(random, rolloutStrategies) == seat) {
+                    wins[m]++;
+                }
+                visits[m]++;
+                total++;
+            }
+        }
+
+        /**
+         * Picks an untried move if there is one, otherwise the move with the highest UCB1 score.
+         */
+        private int select(long total) {
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logTotal = Math.log(total);
+            for (int m = 0; m < moves.length; m++) {
+                if (visits[m] == 0) {
+                    return m;
+                }
+                double score = wins[m] / visits[m] + EXPLORATION * Math.sqrt(logTotal / visits[m]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = m;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Compares two purchase strategies with common random numbers: for every game
+ * index, each strategy plays the same game against the same opponent, from
+ * the same seat, with the same shuffles, and the two results are compared
+ * pairwise.
+ * <p>
+ * Both games of a pair are built from {@link RandomStreams#forGame} of the
+ * index, which {@link App#setupGame} splits into one generator per seat and
+ * hands to the decks through {@link PlayerDeck#setRandom}. Every seat therefore
+ * starts with the same deck order in both games, and keeps drawing the same
+ * random numbers until the strategies' purchases make the decks differ. Much
+ * of the luck of the draw cancels out of the difference, so its variance is
+ * smaller than that of two independent samples, and a confidence interval of
+ * a given width needs correspondingly fewer games.
+ * <p>
+ * With antithetic pairs each strategy also plays the mirror of the game, with
+ * every deck shuffled by an {@link AntitheticRandom}, and each strategy's score
+ * for the index is the mean of the two. The candidate takes seat {@code i mod 2}
+ * in game {@code i}, because ties go to the last seat.
+ */
+public class PairedComparison {
+
+    /**
+     * Number of game indices a single fork-join task plays before it stops splitting.
+     */
+    private static final long GAMES_PER_TASK = 128;
+
+    private final PurchaseStrategy first;
+    private final PurchaseStrategy second;
+    private final PurchaseStrategy opponent;
+    private final boolean antithetic;
+    private final long masterSeed;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a reproducible comparison that uses the common fork-join pool.
+     *
+     * @param first the first strategy
+     * @param second the second strategy
+     * @param opponent the strategy both play against
+     * @param antithetic whether to play each game's mirror as well
+     * @param masterSeed the seed every game's random stream is derived from
+     */
+    public PairedComparison(PurchaseStrategy first, PurchaseStrategy second, PurchaseStrategy opponent,
+                            boolean antithetic, long masterSeed) {
+        this(first, second, opponent, antithetic, masterSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a reproducible comparison that uses the given pool.
+     *
+     * @param first the first strategy
+     * @param second the second strategy
+     * @param opponent the strategy both play against
+     * @param antithetic whether to play each game's mirror as well
+     * @param masterSeed the seed every game's random stream is derived from
+     * @param pool the work-stealing pool to run games on
+     */
+    public PairedComparison(PurchaseStrategy first, PurchaseStrategy second, PurchaseStrategy opponent,
+                            boolean antithetic, long masterSeed, ForkJoinPool pool) {
+        this.first = first;
+        this.second = second;
+        this.opponent = opponent;
+        this.antithetic = antithetic;
+        this.masterSeed = masterSeed;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays game indices {@code 0} to {@code games - 1}.
+     *
+     * @param games the number of game indices; each costs 2 games, or 4 with antithetic pairs
+     * @return the pairwise comparison
+     */
+    public Result run(long games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative");
+        }
+        return pool.invoke(new PairBatch(0, games));
+    }
+
+    /**
+     * Plays one game index for both strategies.
+     *
+     * @param gameIndex the index of the game
+     * @return the games the first and the second strategy won at this index
+     */
+    public int[] playPair(long gameIndex) {
+        int seat = (int) (gameIndex % 2);
+        int firstWins = play(first, seat, gameIndex, false);
+        int secondWins = play(second, seat, gameIndex, false);
+        if (antithetic) {
+            firstWins += play(first, seat, gameIndex, true);
+            secondWins += play(second, seat, gameIndex, true);
+        }
+        return new int[] {firstWins, secondWins};
+    }
+
+    private int play(PurchaseStrategy candidate, int seat, long gameIndex, boolean mirrored) {
+        SplittableGenerator random = RandomStreams.forGame(masterSeed, gameIndex);
+        App game = new App(GameListener.NONE, mirrored ? new AntitheticRandom(random) : random);
+        game.setupGame(seat == 0
+            ? new PurchaseStrategy[] {candidate, opponent}
+            : new PurchaseStrategy[] {opponent, candidate});
+        return game.playGame().getWinner() == seat ? 1 : 0;
+    }
+
+    /**
+     * A range of game indices, split in half until it is small enough to play directly.
+     */
+    private class PairBatch extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        PairBatch(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                Result result = new Result(antithetic ? 2 : 1);
+                for (long i = from; i < to; i++) {
+                    int[] wins = playPair(i);
+                    result.add(wins[0], wins[1]);
+                }
+                return result;
+            }
+
+            long mid = from + (to - from) / 2;
+            PairBatch left = new PairBatch(from, mid);
+            PairBatch right = new PairBatch(mid, to);
+            left.fork();
+            Result result = right.compute();
+            return result.merge(left.join());
+        }
+    }
+
+    /**
+     * The pairwise results of a comparison. Sums are kept in whole games, so
+     * merging is exact and the result does not depend on how work was split.
+     */
+    public static final class Result {
+        private final int gamesPerIndex;
+        private long pairs;
+        private long firstWins;
+        private long secondWins;
+        private long differenceSquares;
+
+        Result(int gamesPerIndex) {
+            this.gamesPerIndex = gamesPerIndex;
+        }
+
+        void add(int first, int second) {
+            pairs++;
+            firstWins += first;
+            secondWins += second;
+            differenceSquares += (first - second) * (first - second);
+        }
+
+        Result merge(Result other) {
+            pairs += other.pairs;
+            firstWins += other.firstWins;
+            secondWins += other.secondWins;
+            differenceSquares += other.differenceSquares;
+            return this;
+        }
+
+        /**
+         * Gets the number of game indices played.
+         */
+        public long getPairs() {
+            return pairs;
+        }
+
+        /**
+         * Gets the number of games played by both strategies together.
+         */
+        public long getGames() {
+            return 2 * pairs * gamesPerIndex;
+        }
+
+        public double getFirstWinRate() {
+            return pairs == 0 ? 0.0 : (double) firstWins / (pairs * gamesPerIndex);
+        }
+
+        public double getSecondWinRate() {
+            return pairs == 0 ? 0.0 : (double) secondWins / (pairs * gamesPerIndex);
+        }
+
+        /**
+         * Gets how much more often the first strategy won than the second.
+         */
+        public double getDifference() {
+            return getFirstWinRate() - getSecondWinRate();
+        }
+
+        /**
+         * Gets the standard error of {@link #getDifference()} from the pairwise differences.
+         */
+        public double getStandardError() {
+            return standardError(differenceSquares, firstWins - secondWins);
+        }
+
+        /**
+         * Gets the standard error the difference would have if each strategy
+         * had played as many games with independent shuffles.
+         */
+        public double getIndependentStandardError() {
+            double games = (double) pairs * gamesPerIndex;
+            double a = getFirstWinRate();
+            double b = getSecondWinRate();
+            return Math.sqrt((a * (1 - a) + b * (1 - b)) / games);
+        }
+
+        /**
+         * Gets how many independent games each game played here is worth: the
+         * ratio of the independent variance to the paired variance.
+         *
+         * @return the factor, or NaN if the pairs have no variance
+         */
+        public double getVarianceReduction() {
+            double paired = getStandardError();
+            double independent = getIndependentStandardError();
+            return independent * independent / (paired * paired);
+        }
+
+        /**
+         * Gets a 95% confidence interval for the difference in win rates.
+         *
+         * @return the interval's lower and upper ends
+         */
+        public double[] getConfidenceInterval() {
+            double halfWidth = SequentialTest.Z_95 * getStandardError();
+            return new double[] {getDifference() - halfWidth, getDifference() + halfWidth};
+        }
+
+        /**
+         * Gets the standard error of the mean of the per-index values from
+         * their sum and sum of squares, both in games, scaled to win rates.
+         */
+        private double standardError(long sumSquares, long sum) {
+            if (pairs < 2) {
+                return Double.NaN;
+            }
+            double mean = (double) sum / pairs;
+            double variance = ((double) sumSquares - mean * sum) / (pairs - 1);
+            return Math.sqrt(Math.max(variance, 0.0) / pairs) / gamesPerIndex;
+        }
+
+        @Override
+        public String toString() {
+            double[] interval = getConfidenceInterval();
+            return String.format("PairedComparison.Result[pairs=%d, difference=%.4f, 95%% CI %.4f..%.4f, "
+                + "variance reduction=%.2fx]", pairs, getDifference(), interval[0], interval[1],
+                getVarianceReduction());
+        }
+    }
+
+    /**
+     * Compares two priority strategies against the original AI with and without
+     * antithetic pairs: {@code PairedComparison [game indices] [seed]}.
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 20_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : new SplittableRandom().nextLong();
+        PurchaseStrategy bigMoney = new PriorityPurchaseStrategy("Framework", "Dogecoin", "Ethereum");
+
+        for (boolean antithetic : new boolean[] {false, true}) {
+            long start = System.nanoTime();
+            Result result = new PairedComparison(PriorityPurchaseStrategy.FRAMEWORK_FIRST, bigMoney,
+                App.DEFAULT_STRATEGY, antithetic, seed).run(games);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double[] interval = result.getConfidenceInterval();
+            System.out.printf("%s: %d games, difference %.4f (95%% CI %.4f..%.4f)%n",
+                antithetic ? "Antithetic pairs" : "Common random numbers",
+                result.getGames(), result.getDifference(), interval[0], interval[1]);
+            System.out.printf("  standard error %.5f paired vs %.5f independent (%.2fx fewer games), %.2f s%n",
+                result.getStandardError(), result.getIndependentStandardError(),
+                result.getVarianceReduction(), seconds);
+        }
+    }
+}
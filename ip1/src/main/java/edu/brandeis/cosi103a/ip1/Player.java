@@ -4,11 +4,15 @@ import java.util.ArrayList;
 
 /**
  * Represents a player in the game with a deck, hand, and played cards.
+ * The hand, played cards and deck piles keep running value totals, so the
+ * player's score is available in O(1). With assertions enabled ({@code -ea})
+ * every {@link #calculateScore()} is cross-checked against a full recount.
+ * They keep {@link Zobrist} hashes the same way, so {@link #getHash()} is O(1) too.
  */
 public class Player {
     private PlayerDeck deck;
-    private ArrayList<Card> hand;
-    private ArrayList<Card> playedCards;
+    private CardList hand;
+    private CardList playedCards;
     private String name;
     private int coins;
     private int buys;
@@ -21,8 +25,8 @@ public class Player {
     public Player(String name) {
         this.name = name;
         this.deck = new PlayerDeck();
-        this.hand = new ArrayList<>();
-        this.playedCards = new ArrayList<>();
+        this.hand = new CardList(Zobrist.HAND, 8);
+        this.playedCards = new CardList(Zobrist.PLAYED, 8);
         this.coins = 0;
         this.buys = 0;
     }
@@ -36,8 +40,8 @@ public class Player {
     public Player(String name, PlayerDeck starterDeck) {
         this.name = name;
         this.deck = starterDeck;
-        this.hand = new ArrayList<>();
-        this.playedCards = new ArrayList<>();
+        this.hand = new CardList(Zobrist.HAND, 8);
+        this.playedCards = new CardList(Zobrist.PLAYED, 8);
         this.coins = 0;
         this.buys = 0;
     }
@@ -180,6 +184,14 @@ public class Player {
         this.buys = 1;
     }
     
+    /**
+     * Sets the player's coins and buys, as when restoring a {@link GameSnapshot}.
+     */
+    void setTurnState(int coins, int buys) {
+        this.coins = coins;
+        this.buys = buys;
+    }
+
     /**
      * Adds coins to the player's current total.
      * 
@@ -192,25 +204,29 @@ public class Player {
     /**
      * Plays all cryptocurrency cards from hand to generate coins.
      * Each crypto card adds its value as coins.
+     * Crypto cards are appended to the played cards in hand order, and the
+     * hand is compacted in place, so no temporary collections are created.
      * 
      * @return the total coins generated
      */
     public int playAllCryptoCards() {
         int coinsGenerated = 0;
-        ArrayList<Card> cryptoCards = new ArrayList<>();
+        int kept = 0;
+        int size = hand.size();
         
-        // Find all crypto cards in hand
-        for (Card card : hand) {
+        for (int i = 0; i < size; i++) {
+            Card card = hand.get(i);
             if (card.getType() == CardType.CRYPTOCURRENCY) {
-                cryptoCards.add(card);
+                playedCards.add(card);
+                coinsGenerated += card.getValue();
+            } else {
+                hand.set(kept++, card);
             }
         }
         
-        // Play each crypto card
-        for (Card card : cryptoCards) {
-            hand.remove(card);
-            playedCards.add(card);
-            coinsGenerated += card.getValue();
+        // Drop the slots left behind by the played cards
+        for (int i = size - 1; i >= kept; i--) {
+            hand.remove(i);
         }
         
         this.coins += coinsGenerated;
@@ -261,47 +277,92 @@ public class Player {
     }
     
     /**
-     * Calculates the player's total score from all cards in their deck.
-     * Score is the sum of all card values across draw pile, discard pile, hand, and played cards.
+     * Attempts to buy a registered card from the kingdom by ID.
      * 
-     * @return the total score
+     * @param kingdom the kingdom to buy from
+     * @param cardId the ID of the card to buy
+     * @return true if purchase was successful, false otherwise
      */
-    public int calculateScore() {
-        int score = 0;
-        
-        // Count cards in hand
-        for (Card card : hand) {
-            score += card.getValue();
+    public boolean buyCard(Kingdom kingdom, int cardId) {
+        if (buys <= 0 || !kingdom.isAvailable(cardId)) {
+            return false;
         }
         
-        // Count played cards
-        for (Card card : playedCards) {
-            score += card.getValue();
+        CardTemplate template = CardRegistry.getTemplate(cardId);
+        if (coins < template.getCost()) {
+            return false;
         }
         
-        // To count deck cards, we need to temporarily collect them
-        // This is a bit tricky since they're in draw and discard piles
-        // We'll need to add helper methods to PlayerDeck
-        score += deck.calculateTotalValue();
-        
+        deck.discard(kingdom.takeCard(cardId));
+        coins -= template.getCost();
+        buys--;
+        return true;
+    }
+    
+    /**
+     * Calculates the player's total score from all cards in their deck.
+     * Score is the sum of all card values across draw pile, discard pile, hand, and played cards.
+     * O(1): each of those keeps a running total as cards enter and leave it.
+     * 
+     * @return the total score
+     */
+    public int calculateScore() {
+        int score = hand.getTotalValue() + playedCards.getTotalValue() + deck.calculateTotalValue();
+        assert score == recountScore() : "running score " + score + " != recount " + recountScore();
         return score;
     }
     
+    /**
+     * Gets how many copies of a registered card the player owns, across the
+     * deck, hand and played cards. O(1).
+     * 
+     * @param cardId the card ID
+     * @return the number of copies
+     */
+    public int getOwnedCount(int cardId) {
+        return deck.getCount(cardId) + hand.getCount(cardId) + playedCards.getCount(cardId);
+    }
+    
+    /**
+     * Gets the number of cards the player owns, across the deck, hand and
+     * played cards. O(1).
+     * 
+     * @return the card count
+     */
+    public int getDeckSize() {
+        return deck.totalCards() + hand.size() + playedCards.size();
+    }
+    
+    /**
+     * Recalculates the player's total score by walking every card they own.
+     * Used to cross-check {@link #calculateScore()}.
+     * 
+     * @return the total score
+     */
+    public int recountScore() {
+        return hand.recountTotalValue() + playedCards.recountTotalValue() + deck.recountTotalValue();
+    }
+    
+    /**
+     * Gets the Zobrist hash of the player's state: the cards in each zone
+     * (draw pile, discard pile, hand, played) plus coins and buys.
+     * Two players with equal hashes almost certainly hold the same cards in
+     * the same zones; the order of cards within a zone is not part of it. O(1).
+     * 
+     * @return the hash
+     */
+    public long getHash() {
+        return deck.getHash() ^ hand.getHash() ^ playedCards.getHash()
+            ^ Zobrist.key(Zobrist.COINS, 0, coins) ^ Zobrist.key(Zobrist.BUYS, 0, buys);
+    }
+    
     /**
      * Ends the turn by moving all hand and played cards to the discard pile.
      */
     public void endTurn() {
-        // Discard all cards from hand
-        for (Card card : hand) {
-            deck.discard(card);
-        }
-        hand.clear();
-        
-        // Discard all played cards
-        for (Card card : playedCards) {
-            deck.discard(card);
-        }
-        playedCards.clear();
+        // Discard all cards from hand, then all played cards
+        deck.discardAll(hand);
+        deck.discardAll(playedCards);
     }
 
     /**
@@ -1,24 +1,28 @@
 package edu.brandeis.cosi103a.ip1;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a player's deck with a draw pile and discard pile.
+ * Both piles are {@link CardList}s, so the deck's total value and
+ * {@link Zobrist} hash are always known without walking the piles.
  */
 public class PlayerDeck {
-    private ArrayList<Card> drawPile;
-    private ArrayList<Card> discardPile;
-    private Random random;
+    private CardList drawPile;
+    private CardList discardPile;
+    private RandomGenerator random;
+    // The bottom cards of the draw pile that are still waiting to be shuffled
+    private int unshuffled;
 
     /**
      * Constructs an empty PlayerDeck.
      */
     public PlayerDeck() {
-        this.drawPile = new ArrayList<>();
-        this.discardPile = new ArrayList<>();
-        this.random = new Random();
+        this.drawPile = new CardList(Zobrist.DRAW_PILE, 16);
+        this.discardPile = new CardList(Zobrist.DISCARD_PILE, 16);
+        this.random = new SplittableRandom();
     }
 
     /**
@@ -27,25 +31,31 @@ public class PlayerDeck {
      * @param starterCards the initial cards to add to the draw pile
      */
     public PlayerDeck(ArrayList<Card> starterCards) {
-        this.drawPile = new ArrayList<>(starterCards);
-        this.discardPile = new ArrayList<>();
-        this.random = new Random();
+        this.drawPile = new CardList(Zobrist.DRAW_PILE, starterCards.size());
+        this.drawPile.addAll(starterCards);
+        this.discardPile = new CardList(Zobrist.DISCARD_PILE, 16);
+        this.random = new SplittableRandom();
     }
 
     /**
-     * Sets the Random instance used for shuffling.
+     * Sets the random number generator used for shuffling.
+     * Give each deck its own generator so games can be replayed and run in parallel.
      * 
-     * @param random the Random instance to use
+     * @param random the generator to use
      */
-    public void setRandom(Random random) {
+    public void setRandom(RandomGenerator random) {
         this.random = random;
     }
 
     /**
      * Shuffles the draw pile.
+     * The shuffle is lazy: each {@link #drawOne()} picks a random card from the
+     * cards still to be shuffled, so only the cards actually drawn pay for
+     * randomization. Cards come out in the same order, from the same random
+     * numbers, as a full {@code Collections.shuffle} followed by draws from the top.
      */
     public void shuffle() {
-        Collections.shuffle(drawPile, random);
+        unshuffled = drawPile.size();
     }
 
     /**
@@ -63,7 +73,50 @@ public class PlayerDeck {
             return null;
         }
         
-        return drawPile.remove(drawPile.size() - 1);
+        int top = drawPile.size() - 1;
+        if (top < unshuffled) {
+            // One step of Fisher-Yates: take a random unshuffled card, moving the top card into its place
+            unshuffled--;
+            if (top > 0) {
+                return drawPile.swapRemove(random.nextInt(top + 1));
+            }
+        }
+        return drawPile.remove(top);
+    }
+
+    /**
+     * Gets the draw pile; its top card is the last one.
+     */
+    CardList getDrawPile() {
+        return drawPile;
+    }
+
+    /**
+     * Gets the discard pile.
+     */
+    CardList getDiscardPile() {
+        return discardPile;
+    }
+
+    /**
+     * Gets how many cards at the bottom of the draw pile are still waiting to be shuffled.
+     */
+    int getUnshuffled() {
+        return unshuffled;
+    }
+
+    /**
+     * Sets how many cards at the bottom of the draw pile are still waiting to be shuffled.
+     */
+    void setUnshuffled(int unshuffled) {
+        this.unshuffled = unshuffled;
+    }
+
+    /**
+     * Gets the generator the deck shuffles with.
+     */
+    RandomGenerator getRandom() {
+        return random;
     }
 
     /**
@@ -77,6 +130,15 @@ public class PlayerDeck {
         }
     }
 
+    /**
+     * Discards every card in a list, in order, and empties the list.
+     * 
+     * @param cards the cards to discard
+     */
+    public void discardAll(CardList cards) {
+        discardPile.transferFrom(cards);
+    }
+
     /**
      * Checks if the draw pile is empty.
      * 
@@ -122,8 +184,7 @@ public class PlayerDeck {
      */
     public void reshuffleDiscardIntoDraw() {
         if (!discardPile.isEmpty()) {
-            drawPile.addAll(discardPile);
-            discardPile.clear();
+            drawPile.transferFrom(discardPile);
             shuffle();
         }
     }
@@ -149,22 +210,42 @@ public class PlayerDeck {
     }
     
     /**
-     * Calculates the total value of all cards in both piles.
+     * Gets how many copies of a registered card are in both piles. O(1).
+     * 
+     * @param cardId the card ID
+     * @return the number of copies
+     */
+    public int getCount(int cardId) {
+        return drawPile.getCount(cardId) + discardPile.getCount(cardId);
+    }
+    
+    /**
+     * Calculates the total value of all cards in both piles. O(1).
      * 
      * @return the sum of all card values
      */
     public int calculateTotalValue() {
-        int total = 0;
-        
-        for (Card card : drawPile) {
-            total += card.getValue();
-        }
-        
-        for (Card card : discardPile) {
-            total += card.getValue();
-        }
-        
-        return total;
+        return drawPile.getTotalValue() + discardPile.getTotalValue();
+    }
+    
+    /**
+     * Gets the Zobrist hash of the cards in both piles. O(1).
+     * The order of the draw pile is not part of the hash.
+     * 
+     * @return the hash
+     */
+    public long getHash() {
+        return drawPile.getHash() ^ discardPile.getHash();
+    }
+    
+    /**
+     * Recalculates the total value of all cards in both piles by walking them.
+     * Used to cross-check {@link #calculateTotalValue()}.
+     * 
+     * @return the sum of all card values
+     */
+    public int recountTotalValue() {
+        return drawPile.recountTotalValue() + discardPile.recountTotalValue();
     }
 
     @Override
@@ -0,0 +1,98 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Buys what a solved {@link BuyPolicy} says to, and otherwise what a fallback
+ * strategy says to: when the policy's card has run out, or the player's deck
+ * or turn is outside what the policy was solved for.
+ * <p>
+ * The player's composition is the cards it owns beyond the policy's starter
+ * deck, read in O(1) per card type from {@link Player#getOwnedCount}. Turns
+ * left are the policy's horizon minus the player's turns so far, taken from
+ * the game when App asks, or estimated as one turn per card bought otherwise.
+ * Past the horizon the policy's last turn is used.
+ */
+public class PolicyPurchaseStrategy implements PurchaseStrategy {
+
+    private final BuyPolicy policy;
+    private final PurchaseStrategy fallback;
+
+    /**
+     * Creates a strategy.
+     *
+     * @param policy the solved policy
+     * @param fallback decides whenever the policy cannot
+     */
+    public PolicyPurchaseStrategy(BuyPolicy policy, PurchaseStrategy fallback) {
+        this.policy = policy;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Without the player's cards, buys what the fallback would.
+     */
+    @Override
+    public int choosePurchase(int coins, long availableMask) {
+        return fallback.choosePurchase(coins, availableMask);
+    }
+
+    /**
+     * The policy needs the player's cards, so this strategy cannot be compiled.
+     */
+    @Override
+    public boolean isStateless() {
+        return false;
+    }
+
+    @Override
+    public int choosePurchase(Player player, Kingdom kingdom) {
+        int[] bought = bought(player);
+        if (bought == null) {
+            return fallback.choosePurchase(player, kingdom);
+        }
+        int total = 0;
+        for (int count : bought) {
+            total += count;
+        }
+        return choose(bought, policy.getHorizon() - total, player, kingdom);
+    }
+
+    @Override
+    public int choosePurchase(App game, Player player) {
+        int[] bought = bought(player);
+        if (bought == null) {
+            return fallback.choosePurchase(player, game.getKingdom());
+        }
+        // Turns this seat played before the current one
+        int turnsPlayed = (game.getTurnCount() - 1) / game.getPlayers().length;
+        return choose(bought, policy.getHorizon() - turnsPlayed, player, game.getKingdom());
+    }
+
+    private int choose(int[] bought, int turnsLeft, Player player, Kingdom kingdom) {
+        int turns = Math.max(1, Math.min(turnsLeft, policy.getHorizon()));
+        int cardId = policy.choose(turns, bought, player.getCoins());
+        if (cardId == BuyPolicy.OUTSIDE || (cardId != Card.NO_ID && !kingdom.isAvailable(cardId))) {
+            return fallback.choosePurchase(player, kingdom);
+        }
+        return cardId;
+    }
+
+    /**
+     * Gets the cards a player owns beyond the starter deck, or null if it
+     * owns fewer than the starter deck of some card.
+     */
+    private int[] bought(Player player) {
+        int[] bought = new int[CardRegistry.getTemplateCount()];
+        for (int id = 0; id < bought.length; id++) {
+            bought[id] = player.getOwnedCount(id) - policy.getStarterCount(id);
+            if (bought[id] < 0) {
+                return null;
+            }
+        }
+        return bought;
+    }
+
+    @Override
+    public String toString() {
+        return "PolicyPurchaseStrategy[" + policy + ", fallback=" + fallback + "]";
+    }
+}
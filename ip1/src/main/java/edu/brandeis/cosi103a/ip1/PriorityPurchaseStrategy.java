@@ -0,0 +1,54 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+
+/**
+ * Buys the first card in a fixed priority list that is affordable and still available.
+ */
+public class PriorityPurchaseStrategy implements PurchaseStrategy {
+
+    /**
+     * The original AI: Framework if possible, otherwise the best affordable cryptocurrency.
+     */
+    public static final PriorityPurchaseStrategy FRAMEWORK_FIRST =
+        new PriorityPurchaseStrategy("Framework", "Dogecoin", "Ethereum", "Bitcoin");
+
+    private final String[] cardNames;
+    private final int[] cardIds;
+    private final int[] costs;
+
+    /**
+     * Constructs a strategy from card names, most wanted first.
+     *
+     * @param cardNames registered card names in priority order
+     * @throws IllegalArgumentException if a name is not registered
+     */
+    public PriorityPurchaseStrategy(String... cardNames) {
+        this.cardNames = cardNames.clone();
+        this.cardIds = new int[cardNames.length];
+        this.costs = new int[cardNames.length];
+        for (int i = 0; i < cardNames.length; i++) {
+            CardTemplate template = CardRegistry.getTemplate(cardNames[i]);
+            if (template == null) {
+                throw new IllegalArgumentException("Unknown card: " + cardNames[i]);
+            }
+            cardIds[i] = template.getId();
+            costs[i] = template.getCost();
+        }
+    }
+
+    @Override
+    public int choosePurchase(int coins, long availableMask) {
+        for (int i = 0; i < cardIds.length; i++) {
+            if (coins >= costs[i] && (availableMask & (1L << cardIds[i])) != 0) {
+                return cardIds[i];
+            }
+        }
+        return Card.NO_ID;
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityPurchaseStrategy" + Arrays.toString(cardNames);
+    }
+}
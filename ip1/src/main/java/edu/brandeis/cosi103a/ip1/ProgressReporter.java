@@ -0,0 +1,83 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * A running total that worker threads fold their finished chunks into, with
+ * a copy of the total reported roughly once per interval. The total is merged
+ * under a lock; reports come from whichever worker finds a report due, and
+ * are delivered one at a time, so the listener need not be thread-safe. A
+ * report that falls due while the listener is still busy with the last one
+ * is skipped.
+ *
+ * @param <T> the kind of result, such as {@link SimulationSummary} or {@link Standings}
+ */
+final class ProgressReporter<T> {
+    private final T total;
+    private final BinaryOperator<T> merge;
+    private final UnaryOperator<T> copy;
+    private final Consumer<T> listener;
+    private final long intervalNanos;
+    private final AtomicLong nextReport;
+    private final ReentrantLock reporting = new ReentrantLock();
+
+    /**
+     * Creates a reporter whose first report is due one interval from now.
+     *
+     * @param total the empty total that chunks are merged into
+     * @param merge folds its second argument into its first
+     * @param copy makes an independent copy of a total
+     * @param interval the least time between reports
+     * @param listener receives a copy of the total so far, or null for no reports
+     */
+    ProgressReporter(T total, BinaryOperator<T> merge, UnaryOperator<T> copy,
+                     Duration interval, Consumer<T> listener) {
+        this.total = total;
+        this.merge = merge;
+        this.copy = copy;
+        this.listener = listener;
+        this.intervalNanos = interval.toNanos();
+        this.nextReport = new AtomicLong(System.nanoTime() + intervalNanos);
+    }
+
+    /**
+     * Merges a finished chunk into the total, and reports the total if a report is due.
+     *
+     * @param chunk the chunk's results
+     */
+    void record(T chunk) {
+        synchronized (total) {
+            merge.apply(total, chunk);
+        }
+        if (listener == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long due = nextReport.get();
+        // Only the thread that moves the deadline reports, so reports do not pile up; the lock
+        // keeps a short interval or a slow listener from letting two reports overlap
+        if (now - due >= 0 && nextReport.compareAndSet(due, now + intervalNanos) && reporting.tryLock()) {
+            try {
+                listener.accept(snapshot());
+            } finally {
+                reporting.unlock();
+            }
+        }
+    }
+
+    /**
+     * Gets an independent copy of the total so far.
+     *
+     * @return the copy
+     */
+    T snapshot() {
+        synchronized (total) {
+            return copy.apply(total);
+        }
+    }
+}
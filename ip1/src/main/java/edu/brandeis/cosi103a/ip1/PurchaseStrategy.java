@@ -0,0 +1,59 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Decides which card a player buys during the buy phase.
+ * Decisions are expressed as card IDs from {@link CardRegistry}.
+ */
+public interface PurchaseStrategy {
+
+    /**
+     * Chooses a card to buy from the player's coins and the kingdom's piles.
+     * A strategy that decides from these two inputs alone can be flattened
+     * into a lookup table with {@link CompiledPurchaseStrategy#compile}.
+     *
+     * @param coins the coins the player has left
+     * @param availableMask bit {@code i} is set if the pile of card ID {@code i} still has cards,
+     *                      as returned by {@link Kingdom#getAvailableMask()}
+     * @return the ID of the card to buy, or {@link Card#NO_ID} to stop buying
+     */
+    int choosePurchase(int coins, long availableMask);
+
+    /**
+     * Chooses a card to buy with access to the whole player and kingdom.
+     * Defaults to {@link #choosePurchase(int, long)}.
+     *
+     * @param player the player who is buying
+     * @param kingdom the kingdom to buy from
+     * @return the ID of the card to buy, or {@link Card#NO_ID} to stop buying
+     */
+    default int choosePurchase(Player player, Kingdom kingdom) {
+        return choosePurchase(player.getCoins(), kingdom.getAvailableMask());
+    }
+
+    /**
+     * Chooses a card to buy with access to the whole game, including the
+     * other players, for strategies that look ahead. This is what {@link App} calls.
+     * Defaults to {@link #choosePurchase(Player, Kingdom)}.
+     *
+     * @param game the game being played; {@code player} is its current player
+     * @param player the player who is buying, after playing its cryptocurrency
+     * @return the ID of the card to buy, or {@link Card#NO_ID} to stop buying
+     */
+    default int choosePurchase(App game, Player player) {
+        return choosePurchase(player, game.getKingdom());
+    }
+
+    /**
+     * Checks if the strategy decides from coins and available piles alone,
+     * so that {@link #choosePurchase(int, long)} gives the same answers as the
+     * richer overloads. Only such strategies can be compiled with
+     * {@link CompiledPurchaseStrategy#compile} or played by {@link BatchSimulator},
+     * which never see a player or a game. A strategy that overrides either
+     * richer overload, or keeps state between calls, must return false.
+     *
+     * @return true unless the strategy needs more than coins and available piles
+     */
+    default boolean isStateless() {
+        return true;
+    }
+}
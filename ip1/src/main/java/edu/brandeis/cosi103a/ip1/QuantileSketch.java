@@ -0,0 +1,176 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+
+/**
+ * Estimates quantiles of a stream of non-negative values with a bounded
+ * relative error, in space that grows only with the logarithm of the range.
+ * <p>
+ * Values are counted in buckets whose edges grow geometrically by
+ * {@code gamma = (1 + accuracy) / (1 - accuracy)}: bucket {@code k} holds
+ * {@code (gamma^(k-1), gamma^k]}, and every value in it is within
+ * {@code accuracy} of the bucket's representative {@code 2 gamma^k / (gamma + 1)}.
+ * So a quantile's estimate is within that relative error of a value actually
+ * at that rank, whatever the distribution, and sketches with the same accuracy
+ * merge exactly by adding bucket counts. Zero and values too small to bucket
+ * are counted separately.
+ * <p>
+ * Not thread-safe: each thread should add to its own instance.
+ */
+public final class QuantileSketch {
+
+    /**
+     * Values below this are counted as zero.
+     */
+    private static final double MIN_POSITIVE = 1e-9;
+
+    private final double accuracy;
+    private final double gamma;
+    private final double logGamma;
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param accuracy the relative error of quantile estimates, in (0, 1)
+     * @throws IllegalArgumentException if the accuracy is out of range
+     */
+    public QuantileSketch(double accuracy) {
+        if (!(accuracy > 0 && accuracy < 1)) {
+            throw new IllegalArgumentException("Accuracy must be between 0 and 1: " + accuracy);
+        }
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param value the value
+     * @throws IllegalArgumentException if the value is negative or NaN
+     */
+    public void add(double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        count++;
+        if (value < MIN_POSITIVE) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        grow(index, index);
+        counts[index - offset]++;
+    }
+
+    /**
+     * Makes room for buckets {@code low} to {@code high}.
+     */
+    private void grow(int low, int high) {
+        if (counts.length == 0) {
+            counts = new long[Math.max(high - low + 1, 16)];
+            offset = low;
+            return;
+        }
+        int end = offset + counts.length;
+        if (low >= offset && high < end) {
+            return;
+        }
+        int newOffset = Math.min(low, offset);
+        int newEnd = Math.max(high + 1, end);
+        // Grow by at least half again, so a run of new extremes costs amortized O(1)
+        int length = Math.max(newEnd - newOffset, counts.length + counts.length / 2);
+        if (low < offset) {
+            newOffset = newEnd - length;
+        }
+        long[] grown = new long[length];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+
+    /**
+     * Adds every value recorded in another sketch to this one.
+     *
+     * @param other a sketch with the same accuracy
+     * @return this sketch
+     * @throws IllegalArgumentException if the accuracies differ
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.accuracy != accuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracies");
+        }
+        if (other.counts.length > 0) {
+            grow(other.offset, other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Gets an independent copy of this sketch.
+     *
+     * @return the copy
+     */
+    public QuantileSketch copy() {
+        return new QuantileSketch(accuracy).merge(this);
+    }
+
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Estimates the value at a quantile: the value with rank {@code q * (count - 1)},
+     * counting from 0, to within the sketch's relative accuracy.
+     *
+     * @param q the quantile, from 0 to 1
+     * @return the estimate, or NaN if the sketch is empty
+     * @throws IllegalArgumentException if {@code q} is outside [0, 1]
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (q * (count - 1));
+        if (rank < zeroCount) {
+            return 0.0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+            }
+        }
+        throw new IllegalStateException("Bucket counts do not add up to " + count);
+    }
+
+    /**
+     * Gets the number of buckets allocated, for checking the sketch's size.
+     */
+    int getBucketCapacity() {
+        return counts.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QuantileSketch[accuracy=%s, count=%d, buckets=%d, nonEmpty=%d]",
+                           accuracy, count, counts.length, Arrays.stream(counts).filter(c -> c > 0).count());
+    }
+}
@@ -0,0 +1,41 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.SplittableRandom;
+
+/**
+ * Derives independent, reproducible random number streams for simulated games.
+ * Every game gets its own generator computed from a master seed and the game's
+ * index, so any game in a parallel batch can be replayed on its own.
+ */
+public final class RandomStreams {
+
+    /**
+     * Odd constant used by SplitMix64 to spread consecutive indices apart.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private RandomStreams() {
+    }
+
+    /**
+     * Creates the generator for one game of a batch.
+     * Players' decks should be given {@code split()} children of this generator,
+     * taken in seat order.
+     *
+     * @param masterSeed the seed of the whole batch
+     * @param gameIndex the index of the game within the batch
+     * @return a new generator that depends only on the two arguments
+     */
+    public static SplittableRandom forGame(long masterSeed, long gameIndex) {
+        return new SplittableRandom(mix64(masterSeed + (gameIndex + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * SplitMix64 finalizer: scrambles a 64-bit value so nearby inputs give unrelated outputs.
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
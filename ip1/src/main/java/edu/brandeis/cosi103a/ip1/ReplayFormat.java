@@ -0,0 +1,113 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The layout of replay files written by {@link ReplayWriter} and read by {@link ReplayReader}.
+ * <p>
+ * A file starts with the four bytes {@code RPLY} and a version byte, followed by
+ * game records. Each record is its payload length as a varint, then the payload:
+ * <ul>
+ *   <li>the master seed, 8 bytes big-endian</li>
+ *   <li>the game index, player count and turn count, as varints</li>
+ *   <li>for each turn, the ID + 1 of every card bought, as varints, then a 0</li>
+ * </ul>
+ * Varints are unsigned LEB128: seven bits per byte, low bits first, high bit set
+ * on every byte but the last. A typical turn (one purchase) takes two bytes.
+ * The shuffles are not stored; they are re-derived from the seed with
+ * {@link RandomStreams#forGame(long, long)}.
+ */
+final class ReplayFormat {
+
+    static final byte[] MAGIC = {'R', 'P', 'L', 'Y'};
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = MAGIC.length + 1;
+
+    /**
+     * Marks the end of a turn's purchases.
+     */
+    static final int END_OF_TURN = 0;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Gets the number of bytes a value takes as a varint.
+     *
+     * @param value a non-negative value
+     * @return the encoded size, 1 to 10
+     */
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes a varint into an array.
+     *
+     * @param buffer the array to write into; must have room for {@link #varintSize}
+     * @param position the index to write at
+     * @param value a non-negative value
+     * @return the index just past the written bytes
+     */
+    static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Reads a varint from the buffer's position, advancing past it.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded value
+     * @throws IllegalArgumentException if the varint is longer than ten bytes
+     */
+    static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in replay");
+    }
+
+    /**
+     * Checks a file header.
+     *
+     * @param header the first {@link #HEADER_SIZE} bytes of a file
+     * @throws IllegalArgumentException if they are not a replay header of this version
+     */
+    static void checkHeader(ByteBuffer header) {
+        for (byte expected : MAGIC) {
+            if (header.get() != expected) {
+                throw new IllegalArgumentException("Not a replay file");
+            }
+        }
+        byte version = header.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version: " + version);
+        }
+    }
+
+    /**
+     * Gets a fresh file header.
+     *
+     * @return a buffer holding the magic bytes and version, ready to write
+     */
+    static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).put(VERSION).flip();
+        return header;
+    }
+}
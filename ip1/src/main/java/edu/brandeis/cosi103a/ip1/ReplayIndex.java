@@ -0,0 +1,376 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+/**
+ * A fixed-width index over a replay archive, one entry per game, read through
+ * memory-mapped buffers so queries scan it at memory speed without loading
+ * the archive. {@link ReplayWriter} writes the index alongside the archive;
+ * {@link #rebuild} creates one for an archive that was written without it.
+ * <p>
+ * After an 8-byte header ({@code RPLX} and a version byte), entry {@code i}
+ * is the {@link #ENTRY_SIZE} bytes at {@code 8 + i * ENTRY_SIZE}, little-endian:
+ * <pre>
+ *  0  long   offset of the record in the archive
+ *  8  long   game index
+ * 16  int    turn count
+ * 20  byte   player count
+ * 21  byte   winner's seat
+ * 22  byte   flags: 1 = tie, 2 = ended by Framework
+ * 24  int    empty piles, bit i set if card ID i ran out
+ * 32  short  final score of seats 0 to 3
+ * 40  short  cards bought by seats 0 to 3, bit i set if card ID i was bought
+ * </pre>
+ * Only the first {@link #MAX_SEATS} seats have scores and purchases indexed,
+ * and only registries of at most {@link #MAX_CARD_TYPES} cards can be indexed.
+ * Entries appear in the order games finished, not in game index order.
+ */
+public class ReplayIndex implements AutoCloseable {
+
+    public static final int ENTRY_SIZE = 48;
+    public static final int MAX_SEATS = 4;
+    /**
+     * Card IDs a bought mask has room for.
+     */
+    public static final int MAX_CARD_TYPES = 16;
+
+    static final byte[] MAGIC = {'R', 'P', 'L', 'X'};
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private static final int OFFSET = 0;
+    private static final int GAME_INDEX = 8;
+    private static final int TURN_COUNT = 16;
+    private static final int PLAYERS = 20;
+    private static final int WINNER = 21;
+    private static final int FLAGS = 22;
+    private static final int EMPTY_PILES = 24;
+    private static final int SCORES = 32;
+    private static final int BOUGHT = 40;
+
+    private static final int FLAG_TIE = 1;
+    private static final int FLAG_FRAMEWORK = 2;
+
+    /**
+     * Entries per mapped chunk; a single mapping cannot exceed 2 GB.
+     */
+    private static final int ENTRIES_PER_CHUNK = 1 << 24;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    /**
+     * Opens and maps an index file.
+     *
+     * @param path the index file
+     * @throws IOException if the file cannot be read or mapped
+     * @throws IllegalArgumentException if the file is not a replay index
+     */
+    public ReplayIndex(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            checkHeader(header);
+
+            this.size = (channel.size() - HEADER_SIZE) / ENTRY_SIZE;
+            int chunkCount = (int) ((size + ENTRIES_PER_CHUNK - 1) / ENTRIES_PER_CHUNK);
+            this.chunks = new MappedByteBuffer[chunkCount];
+            for (int c = 0; c < chunkCount; c++) {
+                long first = (long) c * ENTRIES_PER_CHUNK;
+                long entries = Math.min(ENTRIES_PER_CHUNK, size - first);
+                chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    HEADER_SIZE + first * ENTRY_SIZE, entries * ENTRY_SIZE);
+                chunks[c].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static void checkHeader(ByteBuffer header) {
+        if (header.remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a replay index");
+        }
+        for (byte expected : MAGIC) {
+            if (header.get() != expected) {
+                throw new IllegalArgumentException("Not a replay index");
+            }
+        }
+        byte version = header.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported replay index version: " + version);
+        }
+    }
+
+    static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).put(VERSION).position(HEADER_SIZE);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Encodes an entry for a finished game. The archive offset is left 0 for the writer to fill in.
+     *
+     * @param gameIndex the game's index under its seed
+     * @param result the game's result
+     * @param emptyPileMask bit i set if card ID i ran out
+     * @param boughtMasks for each seat, bit i set if it bought card ID i
+     * @return the entry
+     * @throws IllegalStateException if there are more registered cards than a mask holds
+     * @throws IllegalArgumentException if a score does not fit in its field
+     */
+    static byte[] encodeEntry(long gameIndex, GameResult result, int emptyPileMask, int[] boughtMasks) {
+        checkCardTypes();
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        entry.putLong(GAME_INDEX, gameIndex);
+        entry.putInt(TURN_COUNT, result.getTurnCount());
+        entry.put(PLAYERS, (byte) result.getPlayerCount());
+        entry.put(WINNER, (byte) result.getWinner());
+        entry.put(FLAGS, (byte) ((result.isTie() ? FLAG_TIE : 0) | (result.isFrameworkEmptied() ? FLAG_FRAMEWORK : 0)));
+        entry.putInt(EMPTY_PILES, emptyPileMask);
+        for (int seat = 0; seat < Math.min(result.getPlayerCount(), MAX_SEATS); seat++) {
+            int score = result.getScore(seat);
+            if (score < Short.MIN_VALUE || score > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Score " + score + " of seat " + seat + " does not fit in the index");
+            }
+            entry.putShort(SCORES + 2 * seat, (short) score);
+            entry.putShort(BOUGHT + 2 * seat, (short) boughtMasks[seat]);
+        }
+        return entry.array();
+    }
+
+    /**
+     * Checks that every registered card ID fits in a bought mask.
+     *
+     * @throws IllegalStateException if there are more than {@link #MAX_CARD_TYPES} registered cards
+     */
+    static void checkCardTypes() {
+        if (CardRegistry.getTemplateCount() > MAX_CARD_TYPES) {
+            throw new IllegalStateException("A replay index holds at most " + MAX_CARD_TYPES
+                + " card types, but " + CardRegistry.getTemplateCount() + " are registered");
+        }
+    }
+
+    /**
+     * Sets the archive offset of an encoded entry.
+     */
+    static void setOffset(byte[] entry, long offset) {
+        ByteBuffer.wrap(entry).order(ByteOrder.LITTLE_ENDIAN).putLong(OFFSET, offset);
+    }
+
+    private ByteBuffer chunk(long entry) {
+        return chunks[(int) (entry / ENTRIES_PER_CHUNK)];
+    }
+
+    private int position(long entry, int field) {
+        return (int) (entry % ENTRIES_PER_CHUNK) * ENTRY_SIZE + field;
+    }
+
+    /**
+     * Gets the number of indexed games.
+     *
+     * @return the entry count
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets every entry number, for filtering; the stream may be made parallel.
+     *
+     * @return the entry numbers 0 to {@code size() - 1}
+     */
+    public LongStream entries() {
+        return LongStream.range(0, size);
+    }
+
+    /**
+     * Finds the entries that match a condition, e.g.
+     * {@code index.find(i -> index.getTurnCount(i) > 60)}.
+     *
+     * @param condition tested against each entry number
+     * @return the matching entry numbers, in index order
+     */
+    public long[] find(LongPredicate condition) {
+        return entries().filter(condition).toArray();
+    }
+
+    public long getOffset(long entry) {
+        return chunk(entry).getLong(position(entry, OFFSET));
+    }
+
+    public long getGameIndex(long entry) {
+        return chunk(entry).getLong(position(entry, GAME_INDEX));
+    }
+
+    public int getTurnCount(long entry) {
+        return chunk(entry).getInt(position(entry, TURN_COUNT));
+    }
+
+    public int getPlayerCount(long entry) {
+        return chunk(entry).get(position(entry, PLAYERS));
+    }
+
+    public int getWinner(long entry) {
+        return chunk(entry).get(position(entry, WINNER));
+    }
+
+    public boolean isTie(long entry) {
+        return (chunk(entry).get(position(entry, FLAGS)) & FLAG_TIE) != 0;
+    }
+
+    public boolean isFrameworkEmptied(long entry) {
+        return (chunk(entry).get(position(entry, FLAGS)) & FLAG_FRAMEWORK) != 0;
+    }
+
+    /**
+     * Gets which piles were empty when the game ended.
+     *
+     * @param entry the entry number
+     * @return a mask with bit {@code i} set if card ID {@code i} ran out
+     */
+    public int getEmptyPileMask(long entry) {
+        return chunk(entry).getInt(position(entry, EMPTY_PILES));
+    }
+
+    /**
+     * Gets a seat's final score.
+     *
+     * @param entry the entry number
+     * @param seat the seat, below {@link #MAX_SEATS}
+     * @return the final score
+     */
+    public int getScore(long entry, int seat) {
+        return chunk(entry).getShort(position(entry, SCORES + 2 * checkSeat(seat)));
+    }
+
+    /**
+     * Gets which cards a seat bought during the game.
+     *
+     * @param entry the entry number
+     * @param seat the seat, below {@link #MAX_SEATS}
+     * @return a mask with bit {@code i} set if the seat bought card ID {@code i}
+     */
+    public int getBoughtMask(long entry, int seat) {
+        return chunk(entry).getShort(position(entry, BOUGHT + 2 * checkSeat(seat))) & 0xFFFF;
+    }
+
+    /**
+     * Checks if a seat bought a card at least once.
+     *
+     * @param entry the entry number
+     * @param seat the seat, below {@link #MAX_SEATS}
+     * @param cardId the card ID
+     * @return true if the seat bought the card
+     * @throws IllegalArgumentException if the card ID is outside the mask
+     */
+    public boolean hasBought(long entry, int seat, int cardId) {
+        if (cardId < 0 || cardId >= MAX_CARD_TYPES) {
+            throw new IllegalArgumentException("Only card IDs 0 to " + (MAX_CARD_TYPES - 1) + " are indexed");
+        }
+        return (getBoughtMask(entry, seat) & (1 << cardId)) != 0;
+    }
+
+    private static int checkSeat(int seat) {
+        if (seat < 0 || seat >= MAX_SEATS) {
+            throw new IllegalArgumentException("Only seats 0 to " + (MAX_SEATS - 1) + " are indexed");
+        }
+        return seat;
+    }
+
+    /**
+     * Reads the archive record an entry points to.
+     *
+     * @param archive a reader over the indexed archive
+     * @param entry the entry number
+     * @return the game's record
+     * @throws IOException if the archive cannot be read
+     */
+    public ReplayRecord readRecord(ReplayReader archive, long entry) throws IOException {
+        return archive.readAt(getOffset(entry));
+    }
+
+    /**
+     * Writes a fresh index for an archive by replaying every game in it.
+     *
+     * @param archive the replay archive
+     * @param index the index file to create or overwrite
+     * @return the number of games indexed
+     * @throws IOException if either file cannot be read or written
+     * @throws IllegalStateException if there are more registered cards than the index can hold
+     */
+    public static long rebuild(Path archive, Path index) throws IOException {
+        checkCardTypes();
+        long games = 0;
+        try (ReplayReader reader = new ReplayReader(archive);
+             FileChannel out = FileChannel.open(index, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(ENTRY_SIZE * 1024);
+            buffer.put(header());
+            ReplayRecord record;
+            while ((record = reader.next()) != null) {
+                App game = record.replayTo(record.getTurnCount());
+                GameResult result = game.playGame();
+                int[] boughtMasks = new int[record.getPlayerCount()];
+                for (int turn = 1; turn <= record.getTurnCount(); turn++) {
+                    for (int id : record.getPurchases(turn)) {
+                        boughtMasks[(turn - 1) % record.getPlayerCount()] |= 1 << id;
+                    }
+                }
+                byte[] entry = encodeEntry(record.getGameIndex(), result,
+                    emptyPileMask(game.getKingdom()), boughtMasks);
+                setOffset(entry, record.getOffset());
+
+                if (buffer.remaining() < ENTRY_SIZE) {
+                    write(out, buffer);
+                }
+                buffer.put(entry);
+                games++;
+            }
+            write(out, buffer);
+        }
+        return games;
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Gets which registered piles of a kingdom are empty.
+     */
+    static int emptyPileMask(Kingdom kingdom) {
+        int all = (1 << CardRegistry.getTemplateCount()) - 1;
+        return (int) ~kingdom.getAvailableMask() & all;
+    }
+
+    /**
+     * Closes the index file. The mapped buffers are released once they are garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReplayIndex[entries=%d]", size);
+    }
+}
@@ -0,0 +1,133 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads game records back from a replay file written by {@link ReplayWriter},
+ * either in file order with {@link #next()} or at a known offset with {@link #readAt(long)}.
+ * Not thread-safe.
+ */
+public class ReplayReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    // File offset of the byte at the buffer's position
+    private long offset;
+
+    /**
+     * Opens a replay file for reading.
+     *
+     * @param path the file to read
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a replay file
+     */
+    public ReplayReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+        try {
+            if (!fill(ReplayFormat.HEADER_SIZE)) {
+                throw new IllegalArgumentException("Not a replay file");
+            }
+            ReplayFormat.checkHeader(buffer);
+            offset = ReplayFormat.HEADER_SIZE;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next record in the file.
+     *
+     * @return the record, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the record is corrupt or the file ends in the middle of it
+     */
+    public ReplayRecord next() throws IOException {
+        if (!fill(1)) {
+            return null;
+        }
+        long recordOffset = offset;
+        // A length varint is at most 10 bytes, but the last record may be shorter than that
+        fill(10);
+        int start = buffer.position();
+        long length;
+        try {
+            length = ReplayFormat.readVarint(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated replay record at offset " + recordOffset, e);
+        }
+        offset += buffer.position() - start;
+        if (length < 0) {
+            throw new IllegalArgumentException("Corrupt replay record length at offset " + recordOffset);
+        }
+        // Check against the file before buffering, so a garbage length cannot force a huge allocation
+        if (length > Math.min(channel.size() - offset, Integer.MAX_VALUE) || !fill((int) length)) {
+            throw new IllegalArgumentException("Truncated replay record at offset " + recordOffset);
+        }
+
+        int payload = (int) length;
+        ByteBuffer contents = buffer.slice(buffer.position(), payload);
+        ReplayRecord record = ReplayRecord.decode(recordOffset, contents);
+        if (contents.hasRemaining()) {
+            throw new IllegalArgumentException("Corrupt replay record at offset " + recordOffset
+                + ": " + contents.remaining() + " bytes left after decoding");
+        }
+        buffer.position(buffer.position() + payload);
+        offset += payload;
+        return record;
+    }
+
+    /**
+     * Reads the record starting at an offset, e.g. one taken from
+     * {@link ReplayRecord#getOffset()}. Reading continues from there.
+     *
+     * @param recordOffset the byte offset of the record
+     * @return the record, or null if the offset is the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public ReplayRecord readAt(long recordOffset) throws IOException {
+        channel.position(recordOffset);
+        buffer.clear().flip();
+        offset = recordOffset;
+        return next();
+    }
+
+    /**
+     * Makes sure at least n unread bytes are buffered, reading more from the file if needed.
+     *
+     * @return false if the file ends first
+     */
+    private boolean fill(int n) throws IOException {
+        if (buffer.remaining() >= n) {
+            return true;
+        }
+        if (n > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(n, buffer.capacity() * 2));
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < n) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,201 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * One game read back from a replay file: its seed and every purchase, turn by turn.
+ * {@link #replayTo(int)} re-runs {@link App}'s rules with the recorded
+ * purchases to rebuild the full game state after any turn.
+ */
+public class ReplayRecord {
+    private final long offset;
+    private final long masterSeed;
+    private final long gameIndex;
+    private final int numPlayers;
+    private final int[][] purchases;
+
+    /**
+     * Constructs a ReplayRecord.
+     *
+     * @param offset the byte offset of the record in its file
+     * @param masterSeed the seed the game's random stream was derived from
+     * @param gameIndex the game's index under that seed
+     * @param numPlayers the number of players
+     * @param purchases the IDs of the cards bought on each turn, indexed from turn 1 at element 0
+     */
+    public ReplayRecord(long offset, long masterSeed, long gameIndex, int numPlayers, int[][] purchases) {
+        this.offset = offset;
+        this.masterSeed = masterSeed;
+        this.gameIndex = gameIndex;
+        this.numPlayers = numPlayers;
+        this.purchases = purchases;
+    }
+
+    /**
+     * Decodes a record payload (everything after the length prefix).
+     *
+     * @param offset the byte offset of the record in its file
+     * @param payload the buffer, positioned at the payload and limited to its end; left just past it
+     * @return the decoded record
+     * @throws IllegalArgumentException if the payload is corrupt or ends before the record does
+     */
+    static ReplayRecord decode(long offset, ByteBuffer payload) {
+        try {
+            long masterSeed = payload.getLong();
+            long gameIndex = ReplayFormat.readVarint(payload);
+            long numPlayers = ReplayFormat.readVarint(payload);
+            long turnCount = ReplayFormat.readVarint(payload);
+            // Every turn takes at least its end marker, so a count beyond the bytes left is corrupt
+            if (numPlayers < 1 || numPlayers > Integer.MAX_VALUE
+                    || turnCount < 0 || turnCount > payload.remaining()) {
+                throw new IllegalArgumentException("Corrupt replay record at offset " + offset);
+            }
+            int[][] purchases = new int[(int) turnCount][];
+            int[] turn = new int[4];
+            for (int t = 0; t < turnCount; t++) {
+                int bought = 0;
+                long code;
+                while ((code = ReplayFormat.readVarint(payload)) != ReplayFormat.END_OF_TURN) {
+                    if (code < 0 || code > CardRegistry.getTemplateCount()) {
+                        throw new IllegalArgumentException("Corrupt replay record at offset " + offset);
+                    }
+                    if (bought == turn.length) {
+                        turn = Arrays.copyOf(turn, bought * 2);
+                    }
+                    turn[bought++] = (int) code - 1;
+                }
+                purchases[t] = Arrays.copyOf(turn, bought);
+            }
+            return new ReplayRecord(offset, masterSeed, gameIndex, (int) numPlayers, purchases);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated replay record at offset " + offset, e);
+        }
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public long getGameIndex() {
+        return gameIndex;
+    }
+
+    public int getPlayerCount() {
+        return numPlayers;
+    }
+
+    public int getTurnCount() {
+        return purchases.length;
+    }
+
+    /**
+     * Gets the cards bought on a turn.
+     *
+     * @param turn the turn number, starting at 1
+     * @return the IDs of the cards bought, in order; empty if nothing was bought
+     */
+    public int[] getPurchases(int turn) {
+        return purchases[turn - 1].clone();
+    }
+
+    /**
+     * Rebuilds the game as it stood at the end of a turn.
+     *
+     * @param turn the number of turns to play; 0 gives the state right after setup
+     * @return the game, ready to inspect or to continue with {@link App#playNextTurn()}
+     * @throws IllegalArgumentException if turn is negative or past the end of the game
+     * @throws IllegalStateException if a recorded purchase is not possible, meaning the
+     *                               record does not match this version of the rules
+     */
+    public App replayTo(int turn) {
+        if (turn < 0 || turn > purchases.length) {
+            throw new IllegalArgumentException("turn must be between 0 and " + purchases.length);
+        }
+        ReplayStrategy strategy = new ReplayStrategy();
+        App game = new App(strategy, RandomStreams.forGame(masterSeed, gameIndex));
+        PurchaseStrategy[] strategies = new PurchaseStrategy[numPlayers];
+        Arrays.fill(strategies, strategy);
+        game.setupGame(strategies);
+        for (int t = 0; t < turn; t++) {
+            if (!game.playNextTurn()) {
+                throw new IllegalStateException("Replay ended early at turn " + t);
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Replays the whole game.
+     *
+     * @return the game's result
+     * @throws IllegalStateException if the replay does not end on the recorded last turn
+     */
+    public GameResult replay() {
+        App game = replayTo(purchases.length);
+        if (game.playNextTurn()) {
+            throw new IllegalStateException("Replay continued past turn " + purchases.length);
+        }
+        return game.playGame();
+    }
+
+    /**
+     * Plays back the recorded purchases for whichever seat is on turn.
+     * It also listens to the game to know which turn that is, and fails fast
+     * if the game refuses a recorded purchase or ends a turn before making them all.
+     */
+    private class ReplayStrategy implements PurchaseStrategy, GameListener {
+        private int[] turnPurchases = new int[0];
+        private int next;
+        private int turnNumber;
+        private boolean offered;
+
+        @Override
+        public void onTurnStart(int turnNumber, Player player) {
+            this.turnNumber = turnNumber;
+            this.turnPurchases = turnNumber <= purchases.length ? purchases[turnNumber - 1] : new int[0];
+            this.next = 0;
+        }
+
+        @Override
+        public int choosePurchase(int coins, long availableMask) {
+            offered = next < turnPurchases.length;
+            return offered ? turnPurchases[next++] : Card.NO_ID;
+        }
+
+        @Override
+        public boolean isStateless() {
+            return false;
+        }
+
+        @Override
+        public void onPurchase(Player player, Card card) {
+            offered = false;
+        }
+
+        @Override
+        public void onNoPurchase(Player player) {
+            if (offered) {
+                throw new IllegalStateException("Recorded purchase refused on turn " + turnNumber);
+            }
+        }
+
+        @Override
+        public void onTurnEnd(int turnNumber, Player player) {
+            if (next < turnPurchases.length) {
+                throw new IllegalStateException("Turn " + turnNumber + " ended before all recorded purchases");
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReplayRecord[seed=%d, game=%d, players=%d, turns=%d]",
+                           masterSeed, gameIndex, numPlayers, purchases.length);
+    }
+}
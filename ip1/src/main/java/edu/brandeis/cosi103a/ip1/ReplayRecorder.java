@@ -0,0 +1,85 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+
+/**
+ * Records one game's purchases for the replay log.
+ * Attach it as the game's {@link GameListener}; when the game ends it encodes
+ * the record and hands it to its {@link ReplayWriter}, which writes it on the
+ * writer's own thread. Get one from {@link ReplayWriter#recorder(long, long)}
+ * for every game, and create that game's App with
+ * {@link RandomStreams#forGame(long, long)} for the same seed and index.
+ */
+public class ReplayRecorder implements GameListener {
+    private final ReplayWriter writer;
+    private final long masterSeed;
+    private final long gameIndex;
+    private byte[] turns;
+    private int length;
+    private int turnCount;
+    private int numPlayers;
+    private final int[] boughtMasks = new int[ReplayIndex.MAX_SEATS];
+
+    ReplayRecorder(ReplayWriter writer, long masterSeed, long gameIndex) {
+        this.writer = writer;
+        this.masterSeed = masterSeed;
+        this.gameIndex = gameIndex;
+        this.turns = new byte[128];
+    }
+
+    private void append(long value) {
+        if (length + 10 > turns.length) {
+            turns = Arrays.copyOf(turns, turns.length * 2);
+        }
+        length = ReplayFormat.writeVarint(turns, length, value);
+    }
+
+    @Override
+    public void onPlayerReady(Player player) {
+        numPlayers++;
+    }
+
+    @Override
+    public void onPurchase(Player player, Card card) {
+        append(card.getId() + 1);
+        int seat = turnCount % Math.max(numPlayers, 1);
+        if (seat < boughtMasks.length) {
+            boughtMasks[seat] |= 1 << card.getId();
+        }
+    }
+
+    @Override
+    public void onTurnEnd(int turnNumber, Player player) {
+        append(ReplayFormat.END_OF_TURN);
+        turnCount++;
+    }
+
+    @Override
+    public void onGameOver(GameResult result, Kingdom kingdom, Player[] players) {
+        byte[] indexEntry = writer.isIndexed()
+            ? ReplayIndex.encodeEntry(gameIndex, result, ReplayIndex.emptyPileMask(kingdom), boughtMasks)
+            : null;
+        writer.submit(encode(players.length), indexEntry);
+    }
+
+    /**
+     * Encodes the game so far as a complete record, length prefix included.
+     */
+    byte[] encode(int numPlayers) {
+        int payload = Long.BYTES
+            + ReplayFormat.varintSize(gameIndex)
+            + ReplayFormat.varintSize(numPlayers)
+            + ReplayFormat.varintSize(turnCount)
+            + length;
+        byte[] record = new byte[ReplayFormat.varintSize(payload) + payload];
+        int position = ReplayFormat.writeVarint(record, 0, payload);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            record[position++] = (byte) (masterSeed >>> shift);
+        }
+        position = ReplayFormat.writeVarint(record, position, gameIndex);
+        position = ReplayFormat.writeVarint(record, position, numPlayers);
+        position = ReplayFormat.writeVarint(record, position, turnCount);
+        System.arraycopy(turns, 0, record, position, length);
+        return record;
+    }
+}
@@ -0,0 +1,268 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Appends game records to a replay file from a background thread, and
+ * optionally a {@link ReplayIndex} entry for each game to an index file.
+ * Game threads only encode their record and put it on a queue; a single
+ * writer thread batches queued records into large sequential writes, so
+ * simulations do not wait on the disk unless the queue fills up.
+ * See {@link ReplayFormat} for the file layout.
+ * <p>
+ * Safe to share between simulation threads. Close it to flush everything
+ * still queued; close reports any I/O error the writer thread hit.
+ */
+public class ReplayWriter implements AutoCloseable {
+
+    /**
+     * Records that may be waiting before game threads have to wait for the writer.
+     */
+    private static final int QUEUE_CAPACITY = 1 << 16;
+    private static final int BUFFER_SIZE = 1 << 20;
+    /**
+     * Longest a buffered record waits for more to arrive before it is written anyway.
+     */
+    private static final long FLUSH_DELAY_MILLIS = 50;
+    private static final Pending END = new Pending(new byte[0], null);
+
+    private final FileChannel channel;
+    private final FileChannel indexChannel;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    // Archive offset the next record will be written at; writer thread only
+    private long position;
+    private final Thread thread;
+    private volatile Throwable failure;
+    private boolean closed;
+
+    /**
+     * Opens a replay file for appending, creating it if needed.
+     *
+     * @param path the file to append to
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the file exists but is not a replay file
+     */
+    public ReplayWriter(Path path) throws IOException {
+        this(path, null);
+    }
+
+    /**
+     * Opens a replay file and its index for appending, creating them if needed.
+     * The index must have been kept alongside this archive from the start,
+     * or be rebuilt afterwards with {@link ReplayIndex#rebuild}.
+     *
+     * @param path the file to append to
+     * @param indexPath the index file to append to, or null for no index
+     * @throws IOException if a file cannot be opened
+     * @throws IllegalArgumentException if a file exists but has the wrong format
+     * @throws IllegalStateException if there is an index but the registered cards do not fit in it
+     */
+    public ReplayWriter(Path path, Path indexPath) throws IOException {
+        if (indexPath != null) {
+            ReplayIndex.checkCardTypes();
+        }
+        this.channel = open(path, ReplayFormat.header(), ReplayFormat::checkHeader);
+        try {
+            this.indexChannel = indexPath == null ? null
+                : open(indexPath, ReplayIndex.header(), ReplayIndex::checkHeader);
+            this.position = channel.position();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        this.thread = new Thread(this::drain, "replay-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Opens a file for appending, writing its header if it is new and checking it otherwise.
+     */
+    private static FileChannel open(Path path, ByteBuffer newHeader,
+                                    Consumer<ByteBuffer> checkHeader) throws IOException {
+        FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (file.size() == 0) {
+                while (newHeader.hasRemaining()) {
+                    file.write(newHeader);
+                }
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(newHeader.remaining());
+                file.read(header, 0);
+                header.flip();
+                checkHeader.accept(header);
+            }
+            file.position(file.size());
+            return file;
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks if an index is written alongside the archive.
+     */
+    boolean isIndexed() {
+        return indexChannel != null;
+    }
+
+    /**
+     * Creates a recorder for one game.
+     *
+     * @param masterSeed the seed the game's random stream is derived from
+     * @param gameIndex the game's index under that seed
+     * @return a listener to attach to the game
+     */
+    public ReplayRecorder recorder(long masterSeed, long gameIndex) {
+        return new ReplayRecorder(this, masterSeed, gameIndex);
+    }
+
+    /**
+     * Queues an encoded record, and its index entry if there is an index, for writing.
+     * Blocks only if the writer thread has fallen a full queue behind.
+     */
+    void submit(byte[] record, byte[] indexEntry) {
+        if (failure != null) {
+            throw new IllegalStateException("Replay writer failed", failure);
+        }
+        try {
+            queue.put(new Pending(record, indexEntry));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a replay record", e);
+        }
+    }
+
+    private void drain() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        ByteBuffer indexBuffer = indexChannel == null ? null
+            : ByteBuffer.allocateDirect(ReplayIndex.ENTRY_SIZE * 4096);
+        try {
+            while (true) {
+                // Wait indefinitely only with nothing buffered, so a quiet spell still gets written
+                Pending pending = buffer.position() == 0
+                    ? queue.take()
+                    : queue.poll(FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                if (pending == null) {
+                    flushAll(buffer, indexBuffer);
+                    continue;
+                }
+                if (pending == END) {
+                    break;
+                }
+                byte[] record = pending.record;
+                if (record.length > buffer.remaining()) {
+                    flush(channel, buffer);
+                }
+                if (record.length > buffer.capacity()) {
+                    write(channel, ByteBuffer.wrap(record));
+                } else {
+                    buffer.put(record);
+                }
+                if (indexBuffer != null) {
+                    ReplayIndex.setOffset(pending.indexEntry, position);
+                    if (indexBuffer.remaining() < ReplayIndex.ENTRY_SIZE) {
+                        flushAll(buffer, indexBuffer);
+                    }
+                    indexBuffer.put(pending.indexEntry);
+                }
+                position += record.length;
+            }
+            flushAll(buffer, indexBuffer);
+        } catch (IOException | RuntimeException | Error e) {
+            fail(e);
+        } catch (InterruptedException e) {
+            fail(new InterruptedIOException("Replay writer thread interrupted"));
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records why the writer thread stopped, and empties the queue so no game
+     * thread stays blocked on it; later submits see the failure and throw.
+     */
+    private void fail(Throwable e) {
+        failure = e;
+        queue.clear();
+    }
+
+    /**
+     * Writes the archive before the index, so an index entry never points past the archive's end.
+     */
+    private void flushAll(ByteBuffer buffer, ByteBuffer indexBuffer) throws IOException {
+        flush(channel, buffer);
+        if (indexBuffer != null) {
+            flush(indexChannel, indexBuffer);
+        }
+    }
+
+    private static void flush(FileChannel file, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        write(file, buffer);
+        buffer.clear();
+    }
+
+    private static void write(FileChannel file, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            file.write(buffer);
+        }
+    }
+
+    /**
+     * Writes every queued record, stops the writer thread and closes the file.
+     *
+     * @throws IOException if any write failed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            // The writer thread may stop at any time, so never wait on a queue it no longer drains
+            boolean ended = false;
+            while (!ended && thread.isAlive()) {
+                ended = queue.offer(END, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+        }
+        if (failure instanceof IOException e) {
+            throw e;
+        } else if (failure != null) {
+            throw new IOException("Replay writer failed", failure);
+        }
+    }
+
+    /**
+     * An encoded record waiting for the writer thread.
+     */
+    private static final class Pending {
+        final byte[] record;
+        final byte[] indexEntry;
+
+        Pending(byte[] record, byte[] indexEntry) {
+            this.record = record;
+            this.indexEntry = indexEntry;
+        }
+    }
+}
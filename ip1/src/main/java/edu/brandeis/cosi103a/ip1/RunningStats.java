@@ -0,0 +1,116 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Count, mean, variance, minimum and maximum of a stream of values, in
+ * constant space. Values are folded in with Welford's update, which stays
+ * accurate where summing squares would cancel, and two accumulators combine
+ * exactly with Chan's parallel formula, so every worker thread can keep its
+ * own and they are merged only when results are reported.
+ * <p>
+ * Not thread-safe: each thread should add to its own instance.
+ */
+public final class RunningStats {
+    private long count;
+    private double mean;
+    private double squaredDeviations;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Adds one value.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds every value recorded in another accumulator to this one.
+     *
+     * @param other the accumulator to fold in
+     * @return this accumulator
+     */
+    public RunningStats merge(RunningStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            squaredDeviations = other.squaredDeviations;
+        } else {
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            squaredDeviations += other.squaredDeviations + delta * delta * ((double) count * other.count / total);
+            count = total;
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Gets an independent copy of this accumulator.
+     *
+     * @return the copy
+     */
+    public RunningStats copy() {
+        return new RunningStats().merge(this);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the values, or 0 if there are none.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the sample variance of the values, or 0 if there are fewer than two.
+     */
+    public double getVariance() {
+        return count < 2 ? 0.0 : squaredDeviations / (count - 1);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Gets the standard error of the mean, or 0 if there are fewer than two values.
+     */
+    public double getStandardError() {
+        return count < 2 ? 0.0 : Math.sqrt(getVariance() / count);
+    }
+
+    /**
+     * Gets the smallest value, or positive infinity if there are none.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest value, or negative infinity if there are none.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RunningStats[count=%d, mean=%.3f, sd=%.3f, min=%s, max=%s]",
+                           count, mean, getStandardDeviation(), min, max);
+    }
+}
@@ -0,0 +1,245 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Decides which of two purchase strategies wins more head-to-head games
+ * with as few games as the evidence allows, by Wald's sequential probability
+ * ratio test (SPRT) on the first strategy's win rate {@code p}.
+ * <p>
+ * The test weighs {@code H0: p = 0.5 - delta} against {@code H1: p = 0.5 + delta}.
+ * After every batch of games it updates the log-likelihood ratio
+ * <pre>
+ *   LLR = wins * ln(p1 / p0) + losses * ln((1 - p1) / (1 - p0))
+ * </pre>
+ * and stops as soon as it crosses {@code ln((1 - beta) / alpha)}, when the
+ * first strategy is better, or {@code ln(beta / (1 - alpha))}, when the second
+ * is. If the strategies are {@code delta} or more apart, the wrong verdict
+ * has probability at most {@code alpha} (or {@code beta}). A clear difference
+ * stops after a few hundred games instead of a fixed million; strategies
+ * closer than {@code delta} may run to the game limit and stay undecided.
+ * <p>
+ * Half the games seat the first strategy first and half seat it second,
+ * because ties go to the last seat. Each half is a {@link SimulationRunner}
+ * batch that continues from the game index the previous batch stopped at, so
+ * a comparison is reproducible from its seed. Checking only between batches
+ * rather than after every game can only make the test more conservative.
+ */
+public class SequentialTest {
+
+    /**
+     * The verdict of a comparison.
+     */
+    public enum Decision {
+        FIRST_BETTER,
+        SECOND_BETTER,
+        UNDECIDED
+    }
+
+    /**
+     * The normal quantile for a two-sided 95% confidence interval.
+     */
+    public static final double Z_95 = 1.959963984540054;
+
+    /**
+     * Games each pool worker plays from each seat between checks.
+     */
+    static final long GAMES_PER_CHECK_PER_WORKER = 128;
+
+    private final double delta;
+    private final double alpha;
+    private final double beta;
+    private final double winWeight;
+    private final double lossWeight;
+    private final double upperBound;
+    private final double lowerBound;
+
+    /**
+     * Creates a test.
+     *
+     * @param delta how far from even the win rate must be to count as a difference, in (0, 0.5)
+     * @param alpha the highest acceptable chance of calling the first strategy better when it is worse
+     * @param beta the highest acceptable chance of calling the second strategy better when it is worse
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public SequentialTest(double delta, double alpha, double beta) {
+        if (!(delta > 0 && delta < 0.5)) {
+            throw new IllegalArgumentException("delta must be between 0 and 0.5: " + delta);
+        }
+        if (!(alpha > 0 && alpha < 0.5) || !(beta > 0 && beta < 0.5)) {
+            throw new IllegalArgumentException("Error rates must be between 0 and 0.5");
+        }
+        this.delta = delta;
+        this.alpha = alpha;
+        this.beta = beta;
+        double p0 = 0.5 - delta;
+        double p1 = 0.5 + delta;
+        this.winWeight = Math.log(p1 / p0);
+        this.lossWeight = Math.log((1 - p1) / (1 - p0));
+        this.upperBound = Math.log((1 - beta) / alpha);
+        this.lowerBound = Math.log(beta / (1 - alpha));
+    }
+
+    /**
+     * Gets the log-likelihood ratio of {@code H1} to {@code H0} after some games.
+     *
+     * @param wins the games the first strategy won
+     * @param games the games played
+     * @return the ratio's natural logarithm
+     */
+    public double getLogLikelihoodRatio(long wins, long games) {
+        return wins * winWeight + (games - wins) * lossWeight;
+    }
+
+    /**
+     * Gets the verdict the evidence so far supports.
+     *
+     * @param wins the games the first strategy won
+     * @param games the games played
+     * @return the decision, or {@link Decision#UNDECIDED} to keep playing
+     */
+    public Decision decide(long wins, long games) {
+        double llr = getLogLikelihoodRatio(wins, games);
+        if (llr >= upperBound) {
+            return Decision.FIRST_BETTER;
+        }
+        if (llr <= lowerBound) {
+            return Decision.SECOND_BETTER;
+        }
+        return Decision.UNDECIDED;
+    }
+
+    /**
+     * Compares two strategies on the common fork-join pool.
+     *
+     * @param first the strategy whose win rate is tested
+     * @param second its opponent
+     * @param maxGames the most games to play before giving up undecided
+     * @param seed the seed every game's random stream is derived from
+     * @return the verdict and the games it took
+     */
+    public Result compare(PurchaseStrategy first, PurchaseStrategy second, long maxGames, long seed) {
+        return compare(first, second, maxGames, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compares two strategies on the given pool.
+     *
+     * @param first the strategy whose win rate is tested
+     * @param second its opponent
+     * @param maxGames the most games to play before giving up undecided; rounded down to an even number
+     * @param seed the seed every game's random stream is derived from
+     * @param pool the work-stealing pool to run games on
+     * @return the verdict and the games it took
+     * @throws IllegalArgumentException if the game limit is negative
+     */
+    public Result compare(PurchaseStrategy first, PurchaseStrategy second, long maxGames, long seed,
+                          ForkJoinPool pool) {
+        if (maxGames < 0) {
+            throw new IllegalArgumentException("maxGames must not be negative");
+        }
+        SimulationRunner firstSeated = new SimulationRunner(new PurchaseStrategy[] {first, second}, seed, pool);
+        SimulationRunner secondSeated = new SimulationRunner(new PurchaseStrategy[] {second, first},
+            RandomStreams.mix64(seed), pool);
+        long perSeat = maxGames / 2;
+        long batch = GAMES_PER_CHECK_PER_WORKER * pool.getParallelism();
+
+        long played = 0;
+        long wins = 0;
+        Decision decision = Decision.UNDECIDED;
+        while (played < perSeat && decision == Decision.UNDECIDED) {
+            long games = Math.min(batch, perSeat - played);
+            wins += firstSeated.run(played, games).getWins(0);
+            wins += secondSeated.run(played, games).getWins(1);
+            played += games;
+            decision = decide(wins, 2 * played);
+        }
+        return new Result(decision, wins, 2 * played, getLogLikelihoodRatio(wins, 2 * played));
+    }
+
+    /**
+     * Gets the Wilson score interval for a win rate, which stays inside
+     * [0, 1] and is accurate for small samples and rates near 0 or 1.
+     *
+     * @param wins the games won
+     * @param games the games played
+     * @param z the normal quantile for the confidence wanted, such as {@link #Z_95}
+     * @return the interval's lower and upper ends; [0, 1] if no games were played
+     */
+    public static double[] wilsonInterval(long wins, long games, double z) {
+        if (games == 0) {
+            return new double[] {0.0, 1.0};
+        }
+        double p = (double) wins / games;
+        double z2 = z * z;
+        double denominator = 1 + z2 / games;
+        double centre = (p + z2 / (2.0 * games)) / denominator;
+        double halfWidth = z * Math.sqrt(p * (1 - p) / games + z2 / (4.0 * games * games)) / denominator;
+        return new double[] {Math.max(0.0, centre - halfWidth), Math.min(1.0, centre + halfWidth)};
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SequentialTest[delta=%.4f, alpha=%.4f, beta=%.4f]", delta, alpha, beta);
+    }
+
+    /**
+     * The outcome of {@link #compare}.
+     */
+    public static final class Result {
+        private final Decision decision;
+        private final long wins;
+        private final long games;
+        private final double logLikelihoodRatio;
+
+        Result(Decision decision, long wins, long games, double logLikelihoodRatio) {
+            this.decision = decision;
+            this.wins = wins;
+            this.games = games;
+            this.logLikelihoodRatio = logLikelihoodRatio;
+        }
+
+        public Decision getDecision() {
+            return decision;
+        }
+
+        /**
+         * Gets the games the first strategy won.
+         */
+        public long getWins() {
+            return wins;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public double getLogLikelihoodRatio() {
+            return logLikelihoodRatio;
+        }
+
+        /**
+         * Gets the fraction of games the first strategy won.
+         */
+        public double getWinRate() {
+            return games == 0 ? 0.0 : (double) wins / games;
+        }
+
+        /**
+         * Gets the 95% Wilson interval for the first strategy's win rate.
+         *
+         * @return the interval's lower and upper ends
+         */
+        public double[] getConfidenceInterval() {
+            return wilsonInterval(wins, games, Z_95);
+        }
+
+        @Override
+        public String toString() {
+            double[] interval = getConfidenceInterval();
+            return String.format("%s after %d games: win rate %.2f%% (95%% CI %.2f%%-%.2f%%), LLR %.3f",
+                decision, games, 100.0 * getWinRate(), 100.0 * interval[0], 100.0 * interval[1],
+                logLikelihoodRatio);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Plays many complete games headless, spread over all cores, and aggregates
+ * the results. Each game runs through the same rules as {@link App}.
+ * Game {@code i} of a batch draws all its shuffles from
+ * {@link RandomStreams#forGame(long, long)}, so it can be replayed alone with {@link #playGame(long)}.
+ */
+public class SimulationRunner {
+
+    /**
+     * Number of games a single fork-join task plays before it stops splitting.
+     */
+    private static final long GAMES_PER_TASK = 256;
+
+    private final int numPlayers;
+    private final PurchaseStrategy[] strategies;
+    private final long masterSeed;
+    private final ForkJoinPool pool;
+    private volatile ReplayWriter replayWriter;
+
+    /**
+     * Constructs a runner with a random master seed that uses the common fork-join pool.
+     *
+     * @param numPlayers the number of players in each game
+     */
+    public SimulationRunner(int numPlayers) {
+        this(numPlayers, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a reproducible runner that uses the common fork-join pool.
+     *
+     * @param numPlayers the number of players in each game
+     * @param masterSeed the seed every game's random stream is derived from
+     */
+    public SimulationRunner(int numPlayers, long masterSeed) {
+        this(numPlayers, masterSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a reproducible runner that uses the given pool.
+     *
+     * @param numPlayers the number of players in each game
+     * @param masterSeed the seed every game's random stream is derived from
+     * @param pool the work-stealing pool to run games on
+     */
+    public SimulationRunner(int numPlayers, long masterSeed, ForkJoinPool pool) {
+        this(defaultStrategies(numPlayers), masterSeed, pool);
+    }
+
+    /**
+     * Constructs a reproducible runner with one player per strategy that uses the common fork-join pool.
+     *
+     * @param strategies the strategy of each seat, in seat order
+     * @param masterSeed the seed every game's random stream is derived from
+     */
+    public SimulationRunner(PurchaseStrategy[] strategies, long masterSeed) {
+        this(strategies, masterSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a reproducible runner with one player per strategy that uses the given pool.
+     *
+     * @param strategies the strategy of each seat, in seat order
+     * @param masterSeed the seed every game's random stream is derived from
+     * @param pool the work-stealing pool to run games on
+     */
+    public SimulationRunner(PurchaseStrategy[] strategies, long masterSeed, ForkJoinPool pool) {
+        if (strategies.length < 1) {
+            throw new IllegalArgumentException("numPlayers must be at least 1");
+        }
+        this.numPlayers = strategies.length;
+        this.strategies = strategies.clone();
+        this.masterSeed = masterSeed;
+        this.pool = pool;
+    }
+
+    private static PurchaseStrategy[] defaultStrategies(int numPlayers) {
+        PurchaseStrategy[] strategies = new PurchaseStrategy[Math.max(numPlayers, 0)];
+        Arrays.fill(strategies, App.DEFAULT_STRATEGY);
+        return strategies;
+    }
+
+    /**
+     * Gets the seed every game's random stream is derived from.
+     *
+     * @return the master seed
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Records every game this runner plays from now on to a replay log.
+     * 
+     * @param replayWriter the log to append to, or null to stop recording
+     */
+    public void setReplayWriter(ReplayWriter replayWriter) {
+        this.replayWriter = replayWriter;
+    }
+
+    /**
+     * Plays a batch of games and returns their aggregate statistics.
+     *
+     * @param games the number of games to play
+     * @return the combined summary of all games
+     */
+    public SimulationSummary run(long games) {
+        return run(0, games);
+    }
+
+    /**
+     * Plays the games of a batch from a given index on. A run that stops and
+     * continues with the next index plays exactly the games one longer run would,
+     * which lets a caller look at the results between runs and decide whether to go on.
+     *
+     * @param firstGame the index of the first game to play
+     * @param games the number of games to play
+     * @return the combined summary of those games
+     */
+    public SimulationSummary run(long firstGame, long games) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative");
+        }
+        if (firstGame < 0) {
+            throw new IllegalArgumentException("firstGame must not be negative");
+        }
+        return pool.invoke(new GameBatch(firstGame, Math.addExact(firstGame, games), null));
+    }
+
+    /**
+     * Plays a batch of games, reporting the statistics so far while it runs.
+     * Workers still fill their own summaries; each finished chunk is also
+     * folded into a running total under a lock, and a copy of that total is
+     * reported roughly once per interval. Reports never overlap, so the
+     * listener need not be thread-safe; one that falls due while the last is
+     * still running is skipped. The final summary is reported as well.
+     *
+     * @param games the number of games to play
+     * @param reportInterval the least time between reports
+     * @param progress receives a copy of the summary so far
+     * @return the combined summary of all games
+     */
+    public SimulationSummary run(long games, Duration reportInterval, Consumer<SimulationSummary> progress) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative");
+        }
+        ProgressReporter<SimulationSummary> reporter = new ProgressReporter<>(new SimulationSummary(numPlayers),
+            SimulationSummary::merge, SimulationSummary::copy, reportInterval, progress);
+        SimulationSummary summary = pool.invoke(new GameBatch(0, games, reporter));
+        progress.accept(summary.copy());
+        return summary;
+    }
+
+    /**
+     * Plays one game of the batch without console output.
+     * The same index always replays the same game, bit for bit.
+     *
+     * @param gameIndex the index of the game within the batch
+     * @return the game's result
+     */
+    public GameResult playGame(long gameIndex) {
+        ReplayWriter writer = replayWriter;
+        GameListener listener = writer == null ? GameListener.NONE : writer.recorder(masterSeed, gameIndex);
+        App game = new App(listener, RandomStreams.forGame(masterSeed, gameIndex));
+        game.setupGame(strategies);
+        return game.playGame();
+    }
+
+    /**
+     * A range of game indices, split in half until it is small enough to play directly.
+     */
+    private class GameBatch extends RecursiveTask<SimulationSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        // Tasks are never serialized; the reporting state stays with this run
+        private final transient ProgressReporter<SimulationSummary> progress;
+
+        GameBatch(long from, long to, ProgressReporter<SimulationSummary> progress) {
+            this.from = from;
+            this.to = to;
+            this.progress = progress;
+        }
+
+        @Override
+        protected SimulationSummary compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationSummary summary = new SimulationSummary(numPlayers);
+                for (long i = from; i < to; i++) {
+                    summary.add(playGame(i));
+                }
+                if (progress != null) {
+                    progress.record(summary);
+                }
+                return summary;
+            }
+
+            long mid = from + (to - from) / 2;
+            GameBatch left = new GameBatch(from, mid, progress);
+            GameBatch right = new GameBatch(mid, to, progress);
+            left.fork();
+            SimulationSummary summary = right.compute();
+            return summary.merge(left.join());
+        }
+    }
+
+    /**
+     * Runs a headless batch: {@code SimulationRunner [games] [players] [seed]}.
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        SimulationRunner runner = args.length > 2
+            ? new SimulationRunner(players, Long.parseLong(args[2]))
+            : new SimulationRunner(players);
+        long start = System.nanoTime();
+        SimulationSummary summary = runner.run(games);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Master seed: " + runner.getMasterSeed());
+        System.out.print(summary.displaySummary());
+        System.out.println(String.format("Elapsed: %.2f s (%.0f games/s)", seconds, games / seconds));
+    }
+}
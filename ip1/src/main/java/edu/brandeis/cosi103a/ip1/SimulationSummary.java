@@ -0,0 +1,276 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+
+/**
+ * Aggregate statistics over a batch of simulated games.
+ * Summaries from different worker threads are combined with {@link #merge}.
+ * <p>
+ * Besides counts it keeps the mean and variance of game length, scores and
+ * deck sizes ({@link RunningStats}), a fixed-bucket histogram of game length
+ * and quantile sketches of deck sizes. All of them merge exactly, so each
+ * worker fills its own summary without sharing anything, and summaries are
+ * combined only when the batch is done or a report is due.
+ */
+public class SimulationSummary {
+
+    /**
+     * Game lengths the turn histogram counts one by one; longer games land in its overflow.
+     */
+    static final int TURN_BUCKETS = 256;
+
+    /**
+     * Relative error of the deck size quantiles.
+     */
+    static final double DECK_SIZE_ACCURACY = 0.01;
+
+    private final int numPlayers;
+    private long games;
+    private long ties;
+    private long totalTurns;
+    private long frameworkEndings;
+    private final long[] wins;
+    private final long[] scoreTotals;
+    private final long[][] scoreCounts;
+    private final RunningStats turnStats = new RunningStats();
+    private final Histogram turnHistogram = new Histogram(0, 1, TURN_BUCKETS);
+    private final RunningStats[] scoreStats;
+    private final RunningStats[] deckSizeStats;
+    private final QuantileSketch[] deckSizeSketches;
+
+    /**
+     * Constructs an empty summary.
+     *
+     * @param numPlayers the number of players in each game
+     */
+    public SimulationSummary(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.wins = new long[numPlayers];
+        this.scoreTotals = new long[numPlayers];
+        this.scoreCounts = new long[numPlayers][64];
+        this.scoreStats = new RunningStats[numPlayers];
+        this.deckSizeStats = new RunningStats[numPlayers];
+        this.deckSizeSketches = new QuantileSketch[numPlayers];
+        for (int seat = 0; seat < numPlayers; seat++) {
+            scoreStats[seat] = new RunningStats();
+            deckSizeStats[seat] = new RunningStats();
+            deckSizeSketches[seat] = new QuantileSketch(DECK_SIZE_ACCURACY);
+        }
+    }
+
+    /**
+     * Records the outcome of one game.
+     *
+     * @param result the finished game
+     */
+    public void add(GameResult result) {
+        games++;
+        totalTurns += result.getTurnCount();
+        turnStats.add(result.getTurnCount());
+        turnHistogram.add(result.getTurnCount());
+        wins[result.getWinner()]++;
+        if (result.isTie()) {
+            ties++;
+        }
+        if (result.isFrameworkEmptied()) {
+            frameworkEndings++;
+        }
+        for (int seat = 0; seat < numPlayers; seat++) {
+            int score = result.getScore(seat);
+            scoreTotals[seat] += score;
+            if (score >= scoreCounts[seat].length) {
+                scoreCounts[seat] = Arrays.copyOf(scoreCounts[seat], Math.max(score + 1, scoreCounts[seat].length * 2));
+            }
+            scoreCounts[seat][score]++;
+            scoreStats[seat].add(score);
+            int deckSize = result.getDeckSize(seat);
+            if (deckSize >= 0) {
+                deckSizeStats[seat].add(deckSize);
+                deckSizeSketches[seat].add(deckSize);
+            }
+        }
+    }
+
+    /**
+     * Adds every game recorded in another summary to this one.
+     *
+     * @param other the summary to fold in
+     * @return this summary
+     */
+    public SimulationSummary merge(SimulationSummary other) {
+        games += other.games;
+        ties += other.ties;
+        totalTurns += other.totalTurns;
+        frameworkEndings += other.frameworkEndings;
+        turnStats.merge(other.turnStats);
+        turnHistogram.merge(other.turnHistogram);
+        for (int seat = 0; seat < numPlayers; seat++) {
+            scoreStats[seat].merge(other.scoreStats[seat]);
+            deckSizeStats[seat].merge(other.deckSizeStats[seat]);
+            deckSizeSketches[seat].merge(other.deckSizeSketches[seat]);
+            wins[seat] += other.wins[seat];
+            scoreTotals[seat] += other.scoreTotals[seat];
+            long[] theirs = other.scoreCounts[seat];
+            if (theirs.length > scoreCounts[seat].length) {
+                scoreCounts[seat] = Arrays.copyOf(scoreCounts[seat], theirs.length);
+            }
+            for (int score = 0; score < theirs.length; score++) {
+                scoreCounts[seat][score] += theirs[score];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gets an independent copy of this summary.
+     *
+     * @return the copy
+     */
+    public SimulationSummary copy() {
+        return new SimulationSummary(numPlayers).merge(this);
+    }
+
+    public int getPlayerCount() {
+        return numPlayers;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * Gets the fraction of games won from a seat. Ties count for the last of
+     * the tied seats, as in {@link App}.
+     *
+     * @param seat the seat index
+     * @return the win rate between 0 and 1
+     */
+    public double getWinRate(int seat) {
+        return games == 0 ? 0.0 : (double) wins[seat] / games;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0.0 : (double) totalTurns / games;
+    }
+
+    public double getAverageScore(int seat) {
+        return games == 0 ? 0.0 : (double) scoreTotals[seat] / games;
+    }
+
+    /**
+     * Gets the fraction of games that ended because the Framework pile ran out.
+     *
+     * @return the Framework ending rate between 0 and 1
+     */
+    public double getFrameworkEndingRate() {
+        return games == 0 ? 0.0 : (double) frameworkEndings / games;
+    }
+
+    /**
+     * Gets the mean, variance and range of game length in turns.
+     *
+     * @return a copy of the accumulator
+     */
+    public RunningStats getTurnStats() {
+        return turnStats.copy();
+    }
+
+    /**
+     * Gets how many games lasted each number of turns, one bucket per turn count.
+     *
+     * @return a copy of the histogram
+     */
+    public Histogram getTurnHistogram() {
+        return turnHistogram.copy();
+    }
+
+    /**
+     * Gets the mean, variance and range of a seat's final score.
+     *
+     * @param seat the seat index
+     * @return a copy of the accumulator
+     */
+    public RunningStats getScoreStats(int seat) {
+        return scoreStats[seat].copy();
+    }
+
+    /**
+     * Gets the mean, variance and range of the number of cards a seat owned at
+     * the end, over the games whose results record it.
+     *
+     * @param seat the seat index
+     * @return a copy of the accumulator
+     */
+    public RunningStats getDeckSizeStats(int seat) {
+        return deckSizeStats[seat].copy();
+    }
+
+    /**
+     * Gets the quantiles of the number of cards a seat owned at the end.
+     *
+     * @param seat the seat index
+     * @return a copy of the sketch
+     */
+    public QuantileSketch getDeckSizeSketch(int seat) {
+        return deckSizeSketches[seat].copy();
+    }
+
+    /**
+     * Gets how often each final score occurred for a seat.
+     *
+     * @param seat the seat index
+     * @return an array where element {@code s} is the number of games that seat finished with score {@code s}
+     */
+    public long[] getScoreDistribution(int seat) {
+        long[] counts = scoreCounts[seat];
+        int length = counts.length;
+        while (length > 0 && counts[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(counts, length);
+    }
+
+    /**
+     * Gets a multi-line report of the summary.
+     */
+    public String displaySummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games played: %d%n", games));
+        // Turn counts are whole numbers in 1-turn buckets, so the bucket holding a rank is exact
+        sb.append(String.format("Average turns: %.2f (sd %.2f, median %.0f, 90th percentile %.0f)%n",
+            getAverageTurns(), turnStats.getStandardDeviation(), turnHistogram.bucketQuantile(0.5),
+            turnHistogram.bucketQuantile(0.9)));
+        sb.append(String.format("Ties: %d (%.2f%%)%n", ties, games == 0 ? 0.0 : 100.0 * ties / games));
+        sb.append(String.format("Ended by Framework: %.2f%%%n", 100.0 * getFrameworkEndingRate()));
+        for (int seat = 0; seat < numPlayers; seat++) {
+            long[] distribution = getScoreDistribution(seat);
+            int low = 0;
+            while (low < distribution.length && distribution[low] == 0) {
+                low++;
+            }
+            sb.append(String.format("Seat %d: win rate %.2f%%, average score %.2f (sd %.2f), score range %d-%d",
+                seat + 1, 100.0 * getWinRate(seat), getAverageScore(seat), scoreStats[seat].getStandardDeviation(),
+                low, Math.max(distribution.length - 1, 0)));
+            if (deckSizeStats[seat].getCount() > 0) {
+                sb.append(String.format(", deck size %.1f (median %.0f)",
+                    deckSizeStats[seat].getMean(), deckSizeSketches[seat].quantile(0.5)));
+            }
+            sb.append(String.format("%n"));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulationSummary[games=%d, players=%d, averageTurns=%.2f]",
+                           games, numPlayers, getAverageTurns());
+    }
+}
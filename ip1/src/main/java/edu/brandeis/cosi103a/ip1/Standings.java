@@ -0,0 +1,197 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Per-entrant results of a {@link Tournament}: games, wins and scores for every
+ * strategy, and how each pair of strategies fared against each other.
+ * Standings from different worker threads are combined with {@link #merge}.
+ * <p>
+ * Wins follow the game's rules, so a tie counts as a win for whoever sat
+ * last; {@link #getTies} counts the games an entrant shared the top score.
+ */
+public class Standings {
+    private final String[] names;
+    private long games;
+    private final long[] played;
+    private final long[] wins;
+    private final long[] ties;
+    private final long[] scoreTotals;
+    private final long[][] meetings;
+    private final long[][] headToHead;
+
+    /**
+     * Constructs empty standings.
+     *
+     * @param names the entrants' names, indexed by entrant
+     */
+    public Standings(String[] names) {
+        this.names = names.clone();
+        int n = names.length;
+        this.played = new long[n];
+        this.wins = new long[n];
+        this.ties = new long[n];
+        this.scoreTotals = new long[n];
+        this.meetings = new long[n][n];
+        this.headToHead = new long[n][n];
+    }
+
+    /**
+     * Records the outcome of one game.
+     *
+     * @param entrants the entrant in each seat, in seat order
+     * @param result the finished game
+     */
+    public void add(int[] entrants, GameResult result) {
+        games++;
+        int winner = entrants[result.getWinner()];
+        wins[winner]++;
+        for (int seat = 0; seat < entrants.length; seat++) {
+            int entrant = entrants[seat];
+            int score = result.getScore(seat);
+            played[entrant]++;
+            scoreTotals[entrant] += score;
+            if (result.isTie() && score == result.getWinningScore()) {
+                ties[entrant]++;
+            }
+            for (int other : entrants) {
+                if (other != entrant) {
+                    meetings[entrant][other]++;
+                }
+            }
+            if (entrant != winner) {
+                headToHead[winner][entrant]++;
+            }
+        }
+    }
+
+    /**
+     * Adds every game recorded in other standings to these.
+     *
+     * @param other standings over the same entrants
+     * @return these standings
+     */
+    public Standings merge(Standings other) {
+        games += other.games;
+        for (int i = 0; i < names.length; i++) {
+            played[i] += other.played[i];
+            wins[i] += other.wins[i];
+            ties[i] += other.ties[i];
+            scoreTotals[i] += other.scoreTotals[i];
+            for (int j = 0; j < names.length; j++) {
+                meetings[i][j] += other.meetings[i][j];
+                headToHead[i][j] += other.headToHead[i][j];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gets an independent copy of these standings.
+     *
+     * @return the copy
+     */
+    public Standings copy() {
+        return new Standings(names).merge(this);
+    }
+
+    public int getEntrantCount() {
+        return names.length;
+    }
+
+    public String getName(int entrant) {
+        return names[entrant];
+    }
+
+    /**
+     * Gets the number of games recorded.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games an entrant played.
+     */
+    public long getGames(int entrant) {
+        return played[entrant];
+    }
+
+    public long getWins(int entrant) {
+        return wins[entrant];
+    }
+
+    /**
+     * Gets the number of games in which an entrant shared the top score.
+     */
+    public long getTies(int entrant) {
+        return ties[entrant];
+    }
+
+    /**
+     * Gets the fraction of its games an entrant won, or 0 if it has not played.
+     */
+    public double getWinRate(int entrant) {
+        return played[entrant] == 0 ? 0.0 : (double) wins[entrant] / played[entrant];
+    }
+
+    /**
+     * Gets an entrant's mean final score, or 0 if it has not played.
+     */
+    public double getAverageScore(int entrant) {
+        return played[entrant] == 0 ? 0.0 : (double) scoreTotals[entrant] / played[entrant];
+    }
+
+    /**
+     * Gets the number of games two entrants played at the same table.
+     */
+    public long getMeetings(int entrant, int opponent) {
+        return meetings[entrant][opponent];
+    }
+
+    /**
+     * Gets the number of games one entrant won at the same table as another.
+     */
+    public long getHeadToHeadWins(int entrant, int opponent) {
+        return headToHead[entrant][opponent];
+    }
+
+    /**
+     * Gets the entrants from the highest win rate to the lowest, higher
+     * average score first among equals.
+     *
+     * @return entrant indices in ranking order
+     */
+    public int[] getRanking() {
+        return IntStream.range(0, names.length).boxed()
+            .sorted(Comparator.comparingDouble((Integer e) -> -getWinRate(e))
+                .thenComparingDouble(e -> -getAverageScore(e)))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    /**
+     * Gets a multi-line table of the entrants in ranking order.
+     */
+    public String displayStandings() {
+        int width = Arrays.stream(names).mapToInt(String::length).max().orElse(0);
+        width = Math.max(width, "Entrant".length());
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games played: %d%n", games));
+        sb.append(String.format("%4s  %-" + width + "s %10s %9s %8s %10s%n",
+            "Rank", "Entrant", "Games", "Win rate", "Ties", "Avg score"));
+        int rank = 1;
+        for (int e : getRanking()) {
+            sb.append(String.format("%4d  %-" + width + "s %10d %8.2f%% %8d %10.2f%n",
+                rank++, names[e], played[e], 100.0 * getWinRate(e), ties[e], getAverageScore(e)));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Standings[games=%d, entrants=%d]", games, names.length);
+    }
+}
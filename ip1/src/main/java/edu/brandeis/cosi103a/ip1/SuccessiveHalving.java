@@ -0,0 +1,298 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Picks the best of many purchase strategies by successive halving: the
+ * games go to the candidates that still look good, instead of the same
+ * fixed number to every candidate.
+ * <p>
+ * In round 1 every candidate plays {@code initialGames} games against a
+ * baseline strategy, half from each seat. Candidates are ranked by their win
+ * rate over all their games so far and the worse half is dropped. Each later
+ * round doubles the games per surviving candidate. When two candidates are
+ * left they play each other head to head under a {@link SequentialTest},
+ * which stops as soon as one is significantly better. So the winner is
+ * backed by a test with known error rates, not just by the highest point estimate.
+ * <p>
+ * With {@code n} candidates the halving rounds cost about
+ * {@code n * initialGames * log2(n)} games, against {@code n} times a fixed
+ * sample large enough to tell the closest pair apart.
+ */
+public class SuccessiveHalving {
+
+    private final PurchaseStrategy baseline;
+    private final long initialGames;
+    private final SequentialTest finalTest;
+    private final long maxFinalGames;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final List<String> names = new ArrayList<>();
+    private final List<PurchaseStrategy> candidates = new ArrayList<>();
+
+    /**
+     * Creates a search that uses the common fork-join pool.
+     *
+     * @param baseline the opponent every candidate plays in the halving rounds
+     * @param initialGames the games per candidate in round 1, rounded down to an even number
+     * @param finalTest decides between the last two candidates
+     * @param maxFinalGames the most games the final test may play
+     * @param seed the seed every game's random stream is derived from
+     */
+    public SuccessiveHalving(PurchaseStrategy baseline, long initialGames, SequentialTest finalTest,
+                             long maxFinalGames, long seed) {
+        this(baseline, initialGames, finalTest, maxFinalGames, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a search that uses the given pool.
+     *
+     * @param baseline the opponent every candidate plays in the halving rounds
+     * @param initialGames the games per candidate in round 1, rounded down to an even number
+     * @param finalTest decides between the last two candidates
+     * @param maxFinalGames the most games the final test may play
+     * @param seed the seed every game's random stream is derived from
+     * @param pool the work-stealing pool to run games on
+     * @throws IllegalArgumentException if round 1 would play fewer than 2 games per candidate
+     */
+    public SuccessiveHalving(PurchaseStrategy baseline, long initialGames, SequentialTest finalTest,
+                             long maxFinalGames, long seed, ForkJoinPool pool) {
+        if (initialGames < 2) {
+            throw new IllegalArgumentException("initialGames must be at least 2");
+        }
+        this.baseline = baseline;
+        this.initialGames = initialGames;
+        this.finalTest = finalTest;
+        this.maxFinalGames = maxFinalGames;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Enters a strategy. The strategy must be safe to share between games on different threads.
+     *
+     * @param name the name the result shows
+     * @param strategy the strategy
+     */
+    public void addCandidate(String name, PurchaseStrategy strategy) {
+        names.add(name);
+        candidates.add(strategy);
+    }
+
+    /**
+     * Runs the search.
+     *
+     * @return every candidate's games and the winner
+     * @throws IllegalStateException if there are no candidates
+     */
+    public Result run() {
+        int n = candidates.size();
+        if (n == 0) {
+            throw new IllegalStateException("No candidates");
+        }
+        SimulationRunner[] firstSeated = new SimulationRunner[n];
+        SimulationRunner[] secondSeated = new SimulationRunner[n];
+        for (int c = 0; c < n; c++) {
+            long candidateSeed = RandomStreams.mix64(seed ^ RandomStreams.mix64(c + 1L));
+            PurchaseStrategy candidate = candidates.get(c);
+            firstSeated[c] = new SimulationRunner(new PurchaseStrategy[] {candidate, baseline}, candidateSeed, pool);
+            secondSeated[c] = new SimulationRunner(new PurchaseStrategy[] {baseline, candidate},
+                RandomStreams.mix64(candidateSeed), pool);
+        }
+
+        long[] wins = new long[n];
+        long[] games = new long[n];
+        int[] eliminatedIn = new int[n];
+        List<Integer> alive = new ArrayList<>();
+        for (int c = 0; c < n; c++) {
+            alive.add(c);
+        }
+
+        int round = 0;
+        long perSeat = initialGames / 2;
+        while (alive.size() > 2) {
+            round++;
+            for (int c : alive) {
+                long played = games[c] / 2;
+                wins[c] += firstSeated[c].run(played, perSeat).getWins(0);
+                wins[c] += secondSeated[c].run(played, perSeat).getWins(1);
+                games[c] += 2 * perSeat;
+            }
+            alive.sort(Comparator.comparingDouble((Integer c) -> -(double) wins[c] / games[c])
+                .thenComparingInt(c -> c));
+            int keep = (alive.size() + 1) / 2;
+            for (int c : alive.subList(keep, alive.size())) {
+                eliminatedIn[c] = round;
+            }
+            alive = new ArrayList<>(alive.subList(0, Math.max(keep, 2)));
+            perSeat *= 2;
+        }
+
+        if (alive.size() == 1) {
+            return new Result(names, wins, games, eliminatedIn, alive.get(0), -1, -1, null);
+        }
+        round++;
+        int first = alive.get(0);
+        int second = alive.get(1);
+        SequentialTest.Result duel = finalTest.compare(candidates.get(first), candidates.get(second),
+            maxFinalGames, RandomStreams.mix64(seed ^ 0x5DEECE66DL), pool);
+        boolean firstWins = duel.getDecision() == SequentialTest.Decision.FIRST_BETTER
+            || (duel.getDecision() == SequentialTest.Decision.UNDECIDED && 2 * duel.getWins() >= duel.getGames());
+        int winner = firstWins ? first : second;
+        int runnerUp = firstWins ? second : first;
+        eliminatedIn[runnerUp] = round;
+        return new Result(names, wins, games, eliminatedIn, winner, runnerUp, first, duel);
+    }
+
+    /**
+     * Picks the best of a family of priority strategies against the original AI:
+     * {@code SuccessiveHalving [initial games] [seed]}.
+     */
+    public static void main(String[] args) {
+        long initialGames = args.length > 0 ? Long.parseLong(args[0]) : 2_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+
+        SuccessiveHalving search = new SuccessiveHalving(PriorityPurchaseStrategy.FRAMEWORK_FIRST, initialGames,
+            new SequentialTest(0.01, 0.05, 0.05), 1_000_000, seed);
+        String[][] priorities = {
+            {"Framework", "Dogecoin", "Ethereum", "Bitcoin"},
+            {"Framework", "Dogecoin", "Ethereum"},
+            {"Framework", "Dogecoin", "Module", "Ethereum"},
+            {"Framework", "Module", "Dogecoin", "Ethereum"},
+            {"Framework", "Module", "Ethereum", "Method"},
+            {"Dogecoin", "Framework", "Ethereum"},
+            {"Framework", "Ethereum", "Bitcoin"},
+            {"Framework", "Module", "Method"},
+        };
+        for (String[] priority : priorities) {
+            search.addCandidate(String.join(" > ", priority), new PriorityPurchaseStrategy(priority));
+        }
+
+        long start = System.nanoTime();
+        Result result = search.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Seed: " + seed);
+        System.out.print(result.displayResult());
+        System.out.println(String.format("Elapsed: %.2f s", seconds));
+    }
+
+    /**
+     * The outcome of a search.
+     */
+    public static final class Result {
+        private final String[] names;
+        private final long[] wins;
+        private final long[] games;
+        private final int[] eliminatedIn;
+        private final int winner;
+        private final int runnerUp;
+        // The finalist the final test's win rate is for
+        private final int finalFirst;
+        private final SequentialTest.Result finalResult;
+
+        Result(List<String> names, long[] wins, long[] games, int[] eliminatedIn, int winner, int runnerUp,
+               int finalFirst, SequentialTest.Result finalResult) {
+            this.names = names.toArray(new String[0]);
+            this.wins = wins;
+            this.games = games;
+            this.eliminatedIn = eliminatedIn;
+            this.winner = winner;
+            this.runnerUp = runnerUp;
+            this.finalFirst = finalFirst;
+            this.finalResult = finalResult;
+        }
+
+        public int getWinner() {
+            return winner;
+        }
+
+        /**
+         * Gets the candidate that lost the final, or -1 if there was only one candidate.
+         */
+        public int getRunnerUp() {
+            return runnerUp;
+        }
+
+        public String getName(int candidate) {
+            return names[candidate];
+        }
+
+        /**
+         * Gets the head-to-head test between the last two candidates, whose first
+         * strategy is the one that did better against the baseline; null if there
+         * was only one candidate.
+         */
+        public SequentialTest.Result getFinalResult() {
+            return finalResult;
+        }
+
+        /**
+         * Gets whether the final test found the winner significantly better
+         * than the runner-up, rather than stopping undecided at its game limit.
+         */
+        public boolean isSignificant() {
+            return finalResult != null && finalResult.getDecision() != SequentialTest.Decision.UNDECIDED;
+        }
+
+        /**
+         * Gets the games a candidate played against the baseline.
+         */
+        public long getGames(int candidate) {
+            return games[candidate];
+        }
+
+        /**
+         * Gets the fraction of its games against the baseline a candidate won.
+         */
+        public double getWinRate(int candidate) {
+            return games[candidate] == 0 ? 0.0 : (double) wins[candidate] / games[candidate];
+        }
+
+        /**
+         * Gets the round a candidate was dropped in, counting the final as the
+         * last round; 0 for the winner.
+         */
+        public int getEliminatedIn(int candidate) {
+            return eliminatedIn[candidate];
+        }
+
+        /**
+         * Gets the games played in all rounds, including the final.
+         */
+        public long getTotalGames() {
+            long total = Arrays.stream(games).sum();
+            return finalResult == null ? total : total + finalResult.getGames();
+        }
+
+        /**
+         * Gets a multi-line report of every candidate and the final.
+         */
+        public String displayResult() {
+            StringBuilder sb = new StringBuilder();
+            for (int c = 0; c < names.length; c++) {
+                double[] interval = SequentialTest.wilsonInterval(wins[c], games[c], SequentialTest.Z_95);
+                sb.append(String.format("%s: %d games vs baseline, win rate %.2f%% (95%% CI %.2f%%-%.2f%%), %s%n",
+                    names[c], games[c], 100.0 * getWinRate(c), 100.0 * interval[0], 100.0 * interval[1],
+                    c == winner ? "winner" : "dropped in round " + eliminatedIn[c]));
+            }
+            if (finalResult != null) {
+                // Name the finalists in test order, as the win rate is the first one's
+                int finalSecond = finalFirst == winner ? runnerUp : winner;
+                sb.append(String.format("Final %s vs %s: %s%n", names[finalFirst], names[finalSecond], finalResult));
+            }
+            sb.append(String.format("Total games: %d%n", getTotalGames()));
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SuccessiveHalving.Result[winner=%s, games=%d, significant=%b]",
+                names[winner], getTotalGames(), isSignificant());
+        }
+    }
+}
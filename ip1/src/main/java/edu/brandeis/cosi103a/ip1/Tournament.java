@@ -0,0 +1,306 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Plays a round-robin tournament between purchase strategies: every table of
+ * {@code tableSize} distinct entrants plays the same number of games.
+ * <p>
+ * Ties go to the last of the tied seats, so a table's games rotate its
+ * entrants through the seats: game {@code g} seats entrant {@code (s + g) mod tableSize} of
+ * the table in seat {@code s}. Games per table are rounded up to a whole
+ * number of rotations, so every entrant sits in every seat equally often.
+ * <p>
+ * All games of all tables form one range of indices that is split in half
+ * on a work-stealing pool down to small chunks, as in {@link SimulationRunner}.
+ * An idle worker steals the largest piece of work left anywhere, and the
+ * last pieces are only {@link #GAMES_PER_TASK} games, so cores stay busy to
+ * the end. Each chunk folds its results into the shared standings under a
+ * lock held for a few microseconds. Game {@code g} of table {@code t} draws
+ * its shuffles from {@link RandomStreams#forGame} of a seed derived from
+ * the master seed and {@code t}, so it can be replayed with {@link #playGame}.
+ */
+public class Tournament {
+
+    /**
+     * Number of games a single fork-join task plays before it stops splitting.
+     * Smaller than in SimulationRunner because entrants may be slow searches.
+     */
+    static final long GAMES_PER_TASK = 64;
+
+    private final int tableSize;
+    private final long masterSeed;
+    private final ForkJoinPool pool;
+    private final List<String> names = new ArrayList<>();
+    private final List<PurchaseStrategy> strategies = new ArrayList<>();
+
+    /**
+     * Constructs a tournament with a random master seed that uses the common fork-join pool.
+     *
+     * @param tableSize the number of players in each game
+     */
+    public Tournament(int tableSize) {
+        this(tableSize, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a reproducible tournament that uses the common fork-join pool.
+     *
+     * @param tableSize the number of players in each game
+     * @param masterSeed the seed every game's random stream is derived from
+     */
+    public Tournament(int tableSize, long masterSeed) {
+        this(tableSize, masterSeed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a reproducible tournament that uses the given pool.
+     *
+     * @param tableSize the number of players in each game
+     * @param masterSeed the seed every game's random stream is derived from
+     * @param pool the work-stealing pool to run games on
+     * @throws IllegalArgumentException if the table size is less than 2
+     */
+    public Tournament(int tableSize, long masterSeed, ForkJoinPool pool) {
+        if (tableSize < 2) {
+            throw new IllegalArgumentException("tableSize must be at least 2");
+        }
+        this.tableSize = tableSize;
+        this.masterSeed = masterSeed;
+        this.pool = pool;
+    }
+
+    /**
+     * Enters a strategy. The strategy must be safe to share between games on different threads.
+     *
+     * @param name the name the standings show
+     * @param strategy the strategy
+     */
+    public void addEntrant(String name, PurchaseStrategy strategy) {
+        names.add(name);
+        strategies.add(strategy);
+    }
+
+    public int getEntrantCount() {
+        return names.size();
+    }
+
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    /**
+     * Gets the seed every game's random stream is derived from.
+     *
+     * @return the master seed
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Gets every table: each set of {@code tableSize} distinct entrants, in
+     * lexicographic order.
+     *
+     * @return the entrants at each table, in ascending order
+     */
+    public int[][] getTables() {
+        List<int[]> tables = new ArrayList<>();
+        int[] table = new int[tableSize];
+        for (int i = 0; i < tableSize; i++) {
+            table[i] = i;
+        }
+        int n = names.size();
+        while (tableSize <= n) {
+            tables.add(table.clone());
+            int i = tableSize - 1;
+            while (i >= 0 && table[i] == n - tableSize + i) {
+                i--;
+            }
+            if (i < 0) {
+                break;
+            }
+            table[i]++;
+            for (int j = i + 1; j < tableSize; j++) {
+                table[j] = table[j - 1] + 1;
+            }
+        }
+        return tables.toArray(new int[0][]);
+    }
+
+    /**
+     * Plays the tournament.
+     *
+     * @param gamesPerTable the number of games each table plays, rounded up to
+     *                      a multiple of the table size
+     * @return the final standings
+     */
+    public Standings run(long gamesPerTable) {
+        return run(gamesPerTable, Duration.ZERO, null);
+    }
+
+    /**
+     * Plays the tournament, reporting standings so far while it runs.
+     * Reports come from worker threads, roughly once per interval and never
+     * two at once, so the listener need not be thread-safe; a report that
+     * falls due while the last one is still running is skipped. The final
+     * standings are reported as well.
+     *
+     * @param gamesPerTable the number of games each table plays, rounded up to
+     *                      a multiple of the table size
+     * @param reportInterval the least time between reports
+     * @param progress receives a copy of the standings so far, or null for no reports
+     * @return the final standings
+     * @throws IllegalArgumentException if games per table is negative
+     * @throws IllegalStateException if there are fewer entrants than seats at a table
+     */
+    public Standings run(long gamesPerTable, Duration reportInterval, Consumer<Standings> progress) {
+        if (gamesPerTable < 0) {
+            throw new IllegalArgumentException("gamesPerTable must not be negative");
+        }
+        if (names.size() < tableSize) {
+            throw new IllegalStateException("Need at least " + tableSize + " entrants, have " + names.size());
+        }
+        long perTable = (gamesPerTable + tableSize - 1) / tableSize * tableSize;
+        int[][] tables = getTables();
+        Run run = new Run(tables, perTable, reportInterval, progress);
+        pool.invoke(run.new Chunk(0, Math.multiplyExact(tables.length, perTable)));
+        if (progress != null) {
+            progress.accept(run.standings.copy());
+        }
+        return run.standings;
+    }
+
+    /**
+     * Plays one game of the tournament without console output.
+     * The same table and index always replay the same game, bit for bit.
+     *
+     * @param table the entrants at the table, in ascending order, as from {@link #getTables()}
+     * @param tableIndex the table's position in {@link #getTables()}
+     * @param gameIndex the index of the game within the table
+     * @return the game's result, in seat order
+     */
+    public GameResult playGame(int[] table, int tableIndex, long gameIndex) {
+        return playGame(table, tableIndex, gameIndex, seating(table, gameIndex));
+    }
+
+    private GameResult playGame(int[] table, int tableIndex, long gameIndex, int[] seats) {
+        PurchaseStrategy[] seated = new PurchaseStrategy[seats.length];
+        for (int seat = 0; seat < seats.length; seat++) {
+            seated[seat] = strategies.get(seats[seat]);
+        }
+        long tableSeed = RandomStreams.mix64(masterSeed ^ RandomStreams.mix64(tableIndex + 1L));
+        App game = new App(GameListener.NONE, RandomStreams.forGame(tableSeed, gameIndex));
+        game.setupGame(seated);
+        return game.playGame();
+    }
+
+    /**
+     * Gets the entrant in each seat for one game of a table.
+     *
+     * @param table the entrants at the table
+     * @param gameIndex the index of the game within the table
+     * @return the entrant in each seat, in seat order
+     */
+    static int[] seating(int[] table, long gameIndex) {
+        int rotation = (int) (gameIndex % table.length);
+        int[] seats = new int[table.length];
+        for (int seat = 0; seat < table.length; seat++) {
+            seats[seat] = table[(seat + rotation) % table.length];
+        }
+        return seats;
+    }
+
+    /**
+     * The shared state of one call to {@link #run}.
+     */
+    private class Run {
+        final int[][] tables;
+        final long perTable;
+        final String[] entrantNames;
+        final Standings standings;
+        final ProgressReporter<Standings> reporter;
+
+        Run(int[][] tables, long perTable, Duration reportInterval, Consumer<Standings> progress) {
+            this.tables = tables;
+            this.perTable = perTable;
+            this.entrantNames = names.toArray(new String[0]);
+            this.standings = new Standings(entrantNames);
+            this.reporter = new ProgressReporter<>(standings, Standings::merge, Standings::copy,
+                reportInterval, progress);
+        }
+
+        /**
+         * A range of global game indices, split in half until it is small
+         * enough to play directly. Global index {@code i} is game
+         * {@code i mod perTable} of table {@code i / perTable}.
+         */
+        private class Chunk extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final long from;
+            private final long to;
+
+            Chunk(long from, long to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= GAMES_PER_TASK) {
+                    Standings chunk = new Standings(entrantNames);
+                    for (long i = from; i < to; i++) {
+                        int t = (int) (i / perTable);
+                        long g = i % perTable;
+                        int[] seats = seating(tables[t], g);
+                        chunk.add(seats, playGame(tables[t], t, g, seats));
+                    }
+                    reporter.record(chunk);
+                    return;
+                }
+
+                long mid = from + (to - from) / 2;
+                Chunk left = new Chunk(from, mid);
+                left.fork();
+                new Chunk(mid, to).compute();
+                left.join();
+            }
+        }
+    }
+
+    /**
+     * Runs a round robin of a few fixed priority strategies:
+     * {@code Tournament [games per table] [table size] [seed]}.
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 10_000;
+        int tableSize = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+        Tournament tournament = args.length > 2
+            ? new Tournament(tableSize, Long.parseLong(args[2]))
+            : new Tournament(tableSize);
+        tournament.addEntrant("Framework first", PriorityPurchaseStrategy.FRAMEWORK_FIRST);
+        tournament.addEntrant("Big money", new PriorityPurchaseStrategy("Framework", "Dogecoin", "Ethereum"));
+        tournament.addEntrant("Modules", new PriorityPurchaseStrategy("Framework", "Module", "Ethereum", "Method"));
+        tournament.addEntrant("Points only", new PriorityPurchaseStrategy("Framework", "Module", "Method"));
+        tournament.addEntrant("Coins only", new PriorityPurchaseStrategy("Dogecoin", "Ethereum", "Bitcoin"));
+
+        long start = System.nanoTime();
+        Standings standings = tournament.run(games, Duration.ofSeconds(1), partial ->
+            System.out.printf("... %d games, leader %s%n",
+                partial.getGames(), partial.getName(partial.getRanking()[0])));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Master seed: " + tournament.getMasterSeed());
+        System.out.print(standings.displayStandings());
+        System.out.println(String.format("Elapsed: %.2f s (%.0f games/s)",
+            seconds, standings.getGames() / seconds));
+    }
+}
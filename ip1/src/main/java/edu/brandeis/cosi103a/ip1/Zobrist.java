@@ -0,0 +1,103 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Keys for Zobrist hashing of game states, so search code can recognise a
+ * position it has already evaluated. A state's hash is the XOR of one key per
+ * (zone, card, count) it contains: changing a count from {@code a} to
+ * {@code b} XORs out the key for {@code a} and XORs in the key for {@code b},
+ * which is how {@link CardList}, {@link Kingdom} and {@link Player} keep their
+ * hashes up to date in O(1).
+ * <p>
+ * Keys are SplitMix64 scrambles of the packed (zone, index, count), so they
+ * are the same in every run and distinct for every triple. The common ones are
+ * precomputed.
+ */
+public final class Zobrist {
+
+    /**
+     * Zone of a {@link CardList} that does not belong to a player or deck.
+     */
+    public static final int LIST = 0;
+    public static final int KINGDOM = 1;
+    public static final int DRAW_PILE = 2;
+    public static final int DISCARD_PILE = 3;
+    public static final int HAND = 4;
+    public static final int PLAYED = 5;
+    public static final int COINS = 6;
+    public static final int BUYS = 7;
+    public static final int SEAT = 8;
+
+    private static final int ZONES = 9;
+    private static final int TABLE_COUNTS = 64;
+    private static final int CARDS = CardRegistry.getTemplateCount();
+    private static final long SEED = 0x2545f4914f6cdd1dL;
+    private static final long[] TABLE;
+    // STEP[i] = countKey(count) ^ countKey(count + 1), laid out like TABLE
+    private static final long[] STEP;
+
+    static {
+        TABLE = new long[ZONES * CARDS * TABLE_COUNTS];
+        STEP = new long[TABLE.length];
+        for (int zone = 0; zone < ZONES; zone++) {
+            for (int id = 0; id < CARDS; id++) {
+                for (int count = 0; count < TABLE_COUNTS; count++) {
+                    TABLE[(zone * CARDS + id) * TABLE_COUNTS + count] = compute(zone, id, count);
+                }
+                for (int count = 0; count < TABLE_COUNTS; count++) {
+                    STEP[(zone * CARDS + id) * TABLE_COUNTS + count] =
+                        countKey(zone, id, count) ^ countKey(zone, id, count + 1);
+                }
+            }
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    private static long compute(int zone, int index, int count) {
+        long packed = (long) zone << 56 ^ (long) (index & 0xFFFFFF) << 32 ^ (count & 0xFFFFFFFFL);
+        return RandomStreams.mix64(packed * 0x9e3779b97f4a7c15L + SEED);
+    }
+
+    /**
+     * Gets the key for a zone holding a given count of something.
+     *
+     * @param zone one of the zone constants
+     * @param index the card ID or pile slot; 0 for coins, buys and seats
+     * @param count how many there are
+     * @return the key
+     */
+    public static long key(int zone, int index, int count) {
+        if (index >= 0 && index < CARDS && count >= 0 && count < TABLE_COUNTS) {
+            return TABLE[(zone * CARDS + index) * TABLE_COUNTS + count];
+        }
+        return compute(zone, index, count);
+    }
+
+    /**
+     * Gets the key for a card count in a multiset zone, where holding none
+     * of a card contributes nothing.
+     */
+    static long countKey(int zone, int cardId, int count) {
+        return count == 0 ? 0 : key(zone, cardId, count);
+    }
+
+    /**
+     * Gets the XOR that moves a multiset hash between {@code count} and
+     * {@code count + 1} copies of a card, in either direction. A single table
+     * read for the counts that occur in practice.
+     */
+    static long step(int zone, int cardId, int count) {
+        if (count >= 0 && count < TABLE_COUNTS) {
+            return STEP[(zone * CARDS + cardId) * TABLE_COUNTS + count];
+        }
+        return countKey(zone, cardId, count) ^ countKey(zone, cardId, count + 1);
+    }
+
+    /**
+     * Gets the XOR that moves a hash from one count to another.
+     */
+    static long change(int zone, int index, int from, int to) {
+        return countKey(zone, index, from) ^ countKey(zone, index, to);
+    }
+}
@@ -0,0 +1,107 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the AntitheticRandom class.
+ */
+public class AntitheticRandomTest {
+
+    @Test
+    public void testNextInt_MirrorsBoundedDraws() {
+        SplittableRandom source = new SplittableRandom(5);
+        AntitheticRandom mirror = new AntitheticRandom(new SplittableRandom(5));
+
+        for (int i = 0; i < 1000; i++) {
+            int bound = 1 + i % 40;
+            assertEquals(bound - 1 - source.nextInt(bound), mirror.nextInt(bound));
+        }
+    }
+
+    @Test
+    public void testNextInt_MirrorsRanges() {
+        SplittableRandom source = new SplittableRandom(6);
+        AntitheticRandom mirror = new AntitheticRandom(new SplittableRandom(6));
+
+        for (int i = 0; i < 100; i++) {
+            int x = source.nextInt(10, 20);
+            int y = mirror.nextInt(10, 20);
+            assertEquals(29, x + y);
+        }
+        assertEquals(~source.nextLong(), mirror.nextLong());
+        assertEquals(!source.nextBoolean(), mirror.nextBoolean());
+        assertEquals(6 - source.nextLong(7), mirror.nextLong(7));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(-1L, source.nextLong(-50, 50) + mirror.nextLong(-50, 50));
+        }
+    }
+
+    @Test
+    public void testNextDouble_MirrorsBoundedDraws() {
+        SplittableRandom source = new SplittableRandom(9);
+        AntitheticRandom mirror = new AntitheticRandom(new SplittableRandom(9));
+
+        for (int i = 0; i < 1000; i++) {
+            double x = source.nextDouble(5.0);
+            double y = mirror.nextDouble(5.0);
+            assertTrue(y >= 0.0 && y < 5.0);
+            assertEquals(5.0, x + y, 1e-12);
+
+            x = source.nextDouble(-2.0, 3.0);
+            y = mirror.nextDouble(-2.0, 3.0);
+            assertTrue(y >= -2.0 && y < 3.0);
+            assertEquals(1.0, x + y, 1e-12);
+        }
+    }
+
+    @Test
+    public void testNextDouble_StaysInUnitInterval() {
+        SplittableRandom source = new SplittableRandom(7);
+        AntitheticRandom mirror = new AntitheticRandom(new SplittableRandom(7));
+
+        for (int i = 0; i < 1000; i++) {
+            double x = source.nextDouble();
+            double y = mirror.nextDouble();
+            assertTrue(y >= 0.0 && y < 1.0);
+            assertEquals(1.0 - 0x1.0p-53, x + y, 0.0);
+        }
+    }
+
+    @Test
+    public void testSplit_MirrorsSourceSplit() {
+        RandomGenerator.SplittableGenerator child = new SplittableRandom(8).split();
+        RandomGenerator.SplittableGenerator mirrored = new AntitheticRandom(new SplittableRandom(8)).split();
+
+        assertTrue(mirrored instanceof AntitheticRandom);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(9 - child.nextInt(10), mirrored.nextInt(10));
+        }
+        assertEquals(3, new AntitheticRandom(new SplittableRandom(8)).splits(3).count());
+    }
+
+    @Test
+    public void testSetRandom_ShufflesDeckOtherWay() {
+        PlayerDeck deck = new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck()));
+        PlayerDeck mirrored = new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck()));
+        deck.setRandom(new SplittableRandom(9));
+        mirrored.setRandom(new AntitheticRandom(new SplittableRandom(9)));
+        deck.shuffle();
+        mirrored.shuffle();
+
+        // Same cards, drawn in a different order
+        int differences = 0;
+        for (int i = 0; i < 10; i++) {
+            if (deck.drawOne().getId() != mirrored.drawOne().getId()) {
+                differences++;
+            }
+        }
+        assertTrue(differences > 0);
+        assertEquals(0, deck.size());
+        assertEquals(0, mirrored.size());
+    }
+}
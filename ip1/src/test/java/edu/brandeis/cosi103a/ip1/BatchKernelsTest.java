@@ -0,0 +1,68 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the BatchKernels interface.
+ */
+public class BatchKernelsTest {
+
+    @Test
+    public void testSumRows_Scalar() {
+        int[] rows = {1, 2, 3,
+                      4, 5, 6};
+        int[] out = new int[3];
+
+        BatchKernels.SCALAR.sumRows(rows, 2, 3, out);
+
+        assertArrayEquals(new int[] {5, 7, 9}, out);
+    }
+
+    @Test
+    public void testSumRows_IgnoresRowsPastCount() {
+        int[] rows = {1, 2,
+                      9, 9};
+        int[] out = new int[2];
+
+        BatchKernels.SCALAR.sumRows(rows, 1, 2, out);
+
+        assertArrayEquals(new int[] {1, 2}, out);
+    }
+
+    @Test
+    public void testWeightedSumRows_Scalar() {
+        int[] rows = {1, 0,
+                      2, 3};
+        int[] out = new int[2];
+
+        BatchKernels.SCALAR.weightedSumRows(rows, new int[] {10, 1}, 2, out);
+
+        assertArrayEquals(new int[] {12, 3}, out);
+    }
+
+    @Test
+    public void testBest_MatchesScalar() {
+        // Odd lane count so a vector implementation also runs its scalar tail
+        int lanes = 1003;
+        SplittableRandom random = new SplittableRandom(3);
+        int[] rows = new int[6 * lanes];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = random.nextInt(20);
+        }
+        int[] weights = {0, 1, 3, 6, 1, 2};
+        int[] expected = new int[lanes];
+        int[] actual = new int[lanes];
+        BatchKernels best = BatchKernels.best();
+
+        BatchKernels.SCALAR.sumRows(rows, 5, lanes, expected);
+        best.sumRows(rows, 5, lanes, actual);
+        assertArrayEquals(expected, actual);
+
+        BatchKernels.SCALAR.weightedSumRows(rows, weights, lanes, expected);
+        best.weightedSumRows(rows, weights, lanes, actual);
+        assertArrayEquals(expected, actual);
+    }
+}
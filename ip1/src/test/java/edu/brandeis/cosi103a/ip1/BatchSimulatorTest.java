@@ -0,0 +1,98 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the BatchSimulator class.
+ */
+public class BatchSimulatorTest {
+
+    private static void assertSameResult(GameResult expected, GameResult actual) {
+        assertEquals(expected.getTurnCount(), actual.getTurnCount());
+        assertEquals(expected.getWinner(), actual.getWinner());
+        assertEquals(expected.isTie(), actual.isTie());
+        assertEquals(expected.isFrameworkEmptied(), actual.isFrameworkEmptied());
+        for (int seat = 0; seat < expected.getPlayerCount(); seat++) {
+            assertEquals(expected.getScore(seat), actual.getScore(seat));
+            assertEquals(expected.getDeckSize(seat), actual.getDeckSize(seat));
+        }
+    }
+
+    @Test
+    public void testRun_MatchesObjectEngine() {
+        SimulationRunner runner = new SimulationRunner(2, 42L);
+        BatchSimulator simulator = new BatchSimulator(64, App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+
+        GameResult[] results = simulator.run(42L, 0);
+
+        assertEquals(64, results.length);
+        for (int i = 0; i < results.length; i++) {
+            assertSameResult(runner.playGame(i), results[i]);
+        }
+    }
+
+    @Test
+    public void testRun_MatchesObjectEngineWithMixedStrategies() {
+        PurchaseStrategy[] strategies = {
+            App.DEFAULT_STRATEGY,
+            new PriorityPurchaseStrategy("Bitcoin", "Module"),
+            new PriorityPurchaseStrategy("Ethereum", "Framework", "Method")
+        };
+        SimulationRunner runner = new SimulationRunner(strategies, 7L);
+        BatchSimulator simulator = new BatchSimulator(32, strategies);
+
+        GameResult[] results = simulator.run(7L, 100);
+
+        for (int i = 0; i < results.length; i++) {
+            assertSameResult(runner.playGame(100 + i), results[i]);
+        }
+    }
+
+    @Test
+    public void testRun_ReusesArraysAcrossBatches() {
+        BatchSimulator simulator = new BatchSimulator(16, App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+
+        GameResult[] first = simulator.run(5L, 0);
+        simulator.run(6L, 16);
+        GameResult[] again = simulator.run(5L, 0);
+
+        for (int i = 0; i < first.length; i++) {
+            assertSameResult(first[i], again[i]);
+        }
+    }
+
+    @Test
+    public void testRun_ScalarKernelsMatchBest() {
+        BatchSimulator scalar = new BatchSimulator(40, BatchKernels.SCALAR, App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+        BatchSimulator best = new BatchSimulator(40, App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+
+        GameResult[] expected = scalar.run(11L, 0);
+        GameResult[] actual = best.run(11L, 0);
+
+        for (int i = 0; i < expected.length; i++) {
+            assertSameResult(expected[i], actual[i]);
+        }
+    }
+
+    @Test
+    public void testGetBatchSize() {
+        assertEquals(8, new BatchSimulator(8, App.DEFAULT_STRATEGY).getBatchSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_EmptyBatch() {
+        new BatchSimulator(0, App.DEFAULT_STRATEGY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NoPlayers() {
+        new BatchSimulator(8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsStrategyNeedingGame() {
+        PurchaseStrategy search = new MonteCarloPurchaseStrategy(10, 1, App.DEFAULT_STRATEGY, 1L);
+        new BatchSimulator(8, search, App.DEFAULT_STRATEGY);
+    }
+}
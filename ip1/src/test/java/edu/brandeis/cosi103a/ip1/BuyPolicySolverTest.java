@@ -0,0 +1,78 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Unit tests for the BuyPolicySolver class.
+ */
+public class BuyPolicySolverTest {
+
+    private static final int FRAMEWORK = CardRegistry.getId("Framework");
+    private static final int MODULE = CardRegistry.getId("Module");
+    private static final int ETHEREUM = CardRegistry.getId("Ethereum");
+    private static final int BITCOIN = CardRegistry.getId("Bitcoin");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BuyPolicy solve(int horizon) throws IOException {
+        Path path = folder.getRoot().toPath().resolve("policy-" + horizon + ".rpol");
+        new BuyPolicySolver(horizon).solve(path);
+        return new BuyPolicy(path);
+    }
+
+    @Test
+    public void testSolve_OneTurnBuysMostPoints() throws IOException {
+        int[] bought = new int[CardRegistry.getTemplateCount()];
+        try (BuyPolicy policy = solve(1)) {
+            assertEquals(BITCOIN, policy.choose(1, bought, 0));
+            assertEquals(ETHEREUM, policy.choose(1, bought, 4));
+            assertEquals(MODULE, policy.choose(1, bought, 5));
+            assertEquals(FRAMEWORK, policy.choose(1, bought, 8));
+        }
+    }
+
+    @Test
+    public void testSolve_OneTurnScoreIsExpectedValue() throws IOException {
+        // Starter deck scores 10; one turn adds 1 point for 2 coins, 2 for 3-4 coins, 3 for 5 coins
+        HandCoinDistribution hand = HandCoinDistribution.of(new int[] {3, 0, 0, 7, 0, 0});
+        double expected = 10 + hand.probability(2) + hand.probability(3) * 2
+            + hand.probability(4) * 2 + hand.probability(5) * 3;
+
+        double value = new BuyPolicySolver(1).solve(folder.getRoot().toPath().resolve("one.rpol"));
+
+        assertEquals(expected, value, 1e-9);
+    }
+
+    @Test
+    public void testSolve_LastTurnMatchesOneTurnPolicy() throws IOException {
+        int[] bought = new int[CardRegistry.getTemplateCount()];
+        bought[ETHEREUM] = 2;
+        bought[MODULE] = 1;
+        try (BuyPolicy oneTurn = solve(1); BuyPolicy longer = solve(6)) {
+            for (int coins = 0; coins <= 15; coins++) {
+                assertEquals(oneTurn.choose(1, new int[bought.length], coins), longer.choose(1, bought, coins));
+            }
+        }
+    }
+
+    @Test
+    public void testSolve_EarlyTurnsInvest() throws IOException {
+        int[] bought = new int[CardRegistry.getTemplateCount()];
+        try (BuyPolicy policy = solve(12)) {
+            // With many turns left, 6 coins buy Dogecoin's coins rather than Module's points
+            assertEquals(CardRegistry.getId("Dogecoin"), policy.choose(12, bought, 6));
+            assertEquals(MODULE, policy.choose(1, bought, 6));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NoHorizon() {
+        new BuyPolicySolver(0);
+    }
+}
@@ -0,0 +1,114 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Unit tests for the BuyPolicy class.
+ */
+public class BuyPolicyTest {
+
+    private static final int HORIZON = 6;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path policyPath;
+
+    @Before
+    public void setUp() throws IOException {
+        policyPath = folder.getRoot().toPath().resolve("policy.rpol");
+        new BuyPolicySolver(HORIZON).solve(policyPath);
+    }
+
+    private static void collect(int type, int cardsLeft, int[] counts, long[][] binomial, Set<Long> ranks) {
+        if (type == counts.length) {
+            assertTrue(ranks.add(BuyPolicy.rank(binomial, counts)));
+            return;
+        }
+        for (int n = 0; n <= cardsLeft; n++) {
+            counts[type] = n;
+            collect(type + 1, cardsLeft - n, counts, binomial, ranks);
+        }
+        counts[type] = 0;
+    }
+
+    @Test
+    public void testRank_IsDenseAndUnique() {
+        int types = 4;
+        int maxCards = 5;
+        long[][] binomial = BuyPolicy.binomials(maxCards + types + 1);
+        Set<Long> ranks = new HashSet<>();
+
+        collect(0, maxCards, new int[types], binomial, ranks);
+
+        long expected = BuyPolicy.compositionsUpTo(binomial, types, maxCards);
+        assertEquals(expected, ranks.size());
+        for (long rank = 0; rank < expected; rank++) {
+            assertTrue(ranks.contains(rank));
+        }
+    }
+
+    @Test
+    public void testRank_SmallerTotalsFirst() {
+        long[][] binomial = BuyPolicy.binomials(10);
+
+        assertEquals(0, BuyPolicy.rank(binomial, new int[] {0, 0, 0}));
+        assertTrue(BuyPolicy.rank(binomial, new int[] {0, 0, 2}) > BuyPolicy.rank(binomial, new int[] {1, 0, 0}));
+    }
+
+    @Test
+    public void testOpen_ReadsHeader() throws IOException {
+        try (BuyPolicy policy = new BuyPolicy(policyPath)) {
+            assertEquals(HORIZON, policy.getHorizon());
+            assertEquals(15, policy.getMaxCoins());
+            assertEquals(7, policy.getStarterCount(CardRegistry.getId("Bitcoin")));
+            assertEquals(3, policy.getStarterCount(CardRegistry.getId("Method")));
+        }
+    }
+
+    @Test
+    public void testChoose_OutsideTable() throws IOException {
+        int[] bought = new int[CardRegistry.getTemplateCount()];
+        try (BuyPolicy policy = new BuyPolicy(policyPath)) {
+            assertEquals(BuyPolicy.OUTSIDE, policy.choose(0, bought, 5));
+            assertEquals(BuyPolicy.OUTSIDE, policy.choose(HORIZON + 1, bought, 5));
+            bought[0] = HORIZON;
+            assertEquals(BuyPolicy.OUTSIDE, policy.choose(1, bought, 5));
+        }
+    }
+
+    @Test
+    public void testChoose_ClampsCoins() throws IOException {
+        int[] bought = new int[CardRegistry.getTemplateCount()];
+        try (BuyPolicy policy = new BuyPolicy(policyPath)) {
+            assertEquals(policy.choose(1, bought, 15), policy.choose(1, bought, 40));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpen_NotAPolicy() throws IOException {
+        Path other = folder.newFile("other.bin").toPath();
+        Files.write(other, new byte[64]);
+
+        new BuyPolicy(other).close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpen_Truncated() throws IOException {
+        byte[] bytes = Files.readAllBytes(policyPath);
+        Path truncated = folder.newFile("truncated.rpol").toPath();
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+
+        new BuyPolicy(truncated).close();
+    }
+}
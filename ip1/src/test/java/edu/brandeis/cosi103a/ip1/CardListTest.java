@@ -0,0 +1,152 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Unit tests for the CardList class.
+ */
+public class CardListTest {
+    
+    private static final Card BITCOIN = new Card(CardType.CRYPTOCURRENCY, "Bitcoin", 0, 1);
+    private static final Card ETHEREUM = new Card(CardType.CRYPTOCURRENCY, "Ethereum", 3, 2);
+    private static final Card FRAMEWORK = new Card(CardType.AUTOMATION, "Framework", 8, 6);
+    
+    @Test
+    public void testConstructor_Empty() {
+        CardList cards = new CardList();
+        assertEquals(0, cards.getTotalValue());
+    }
+    
+    @Test
+    public void testConstructor_CopiesValue() {
+        CardList cards = new CardList(Arrays.asList(BITCOIN, ETHEREUM, FRAMEWORK));
+        assertEquals(9, cards.getTotalValue());
+    }
+    
+    @Test
+    public void testAddAndRemove() {
+        CardList cards = new CardList();
+        cards.add(BITCOIN);
+        cards.add(0, FRAMEWORK);
+        assertEquals(7, cards.getTotalValue());
+        
+        cards.remove(0);
+        assertEquals(1, cards.getTotalValue());
+        
+        assertTrue(cards.remove(BITCOIN));
+        assertFalse(cards.remove(ETHEREUM));
+        assertEquals(0, cards.getTotalValue());
+    }
+    
+    @Test
+    public void testSet() {
+        CardList cards = new CardList(Arrays.asList(BITCOIN, BITCOIN));
+        
+        Card old = cards.set(1, FRAMEWORK);
+        
+        assertEquals(BITCOIN, old);
+        assertEquals(7, cards.getTotalValue());
+    }
+    
+    @Test
+    public void testAddAllAndClear() {
+        CardList cards = new CardList();
+        cards.addAll(Arrays.asList(BITCOIN, ETHEREUM));
+        cards.addAll(1, Arrays.asList(FRAMEWORK));
+        assertEquals(9, cards.getTotalValue());
+        
+        cards.clear();
+        assertEquals(0, cards.getTotalValue());
+    }
+    
+    @Test
+    public void testBulkRemovals() {
+        CardList cards = new CardList(Arrays.asList(BITCOIN, ETHEREUM, FRAMEWORK, BITCOIN));
+        
+        cards.removeIf(card -> card.getValue() == 1);
+        assertEquals(8, cards.getTotalValue());
+        
+        cards.removeAll(Arrays.asList(ETHEREUM));
+        assertEquals(6, cards.getTotalValue());
+        
+        cards.retainAll(Arrays.asList(BITCOIN));
+        assertEquals(0, cards.getTotalValue());
+    }
+    
+    @Test
+    public void testIteratorRemove() {
+        CardList cards = new CardList(Arrays.asList(ETHEREUM, FRAMEWORK));
+        
+        Iterator<Card> it = cards.iterator();
+        it.next();
+        it.remove();
+        
+        assertEquals(6, cards.getTotalValue());
+    }
+    
+    @Test
+    public void testNullCountsAsZero() {
+        CardList cards = new CardList();
+        cards.add(null);
+        cards.add(ETHEREUM);
+        
+        assertEquals(2, cards.getTotalValue());
+        assertEquals(2, cards.recountTotalValue());
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSubList_ReadOnly() {
+        CardList cards = new CardList(Arrays.asList(BITCOIN, ETHEREUM));
+        cards.subList(0, 1).clear();
+    }
+
+    @Test
+    public void testGetHash_IndependentOfOrder() {
+        CardList first = new CardList(Arrays.asList(BITCOIN, ETHEREUM, BITCOIN));
+        CardList second = new CardList(Arrays.asList(ETHEREUM, BITCOIN, BITCOIN));
+
+        assertEquals(first.getHash(), second.getHash());
+        assertNotEquals(first.getHash(), new CardList(Arrays.asList(BITCOIN, ETHEREUM)).getHash());
+    }
+
+    @Test
+    public void testGetHash_TracksMutations() {
+        CardList cards = new CardList();
+        assertEquals(0L, cards.getHash());
+
+        cards.add(BITCOIN);
+        cards.add(FRAMEWORK);
+        cards.set(0, ETHEREUM);
+        cards.swapRemove(1);
+        assertEquals(cards.recountHash(), cards.getHash());
+
+        cards.remove(0);
+        assertEquals(0L, cards.getHash());
+    }
+
+    @Test
+    public void testTransferFrom_MovesHash() {
+        CardList source = new CardList(Arrays.asList(BITCOIN, FRAMEWORK, BITCOIN));
+        CardList target = new CardList(Arrays.asList(BITCOIN));
+
+        target.transferFrom(source);
+
+        assertEquals(4, target.size());
+        assertEquals(target.recountHash(), target.getHash());
+        assertEquals(0L, source.getHash());
+        assertEquals(2 + 1, target.getCount(CardRegistry.getId("Bitcoin")));
+    }
+
+    @Test
+    public void testGetHash_DependsOnZone() {
+        CardList hand = new CardList(Zobrist.HAND, 4);
+        CardList played = new CardList(Zobrist.PLAYED, 4);
+        hand.add(BITCOIN);
+        played.add(BITCOIN);
+
+        assertNotEquals(hand.getHash(), played.getHash());
+    }
+}
@@ -84,6 +84,54 @@ public class CardRegistryTest {
         assertNull(template);
     }
     
+    @Test
+    public void testTemplateIds_Dense() {
+        List<CardTemplate> templates = CardRegistry.getAllTemplates();
+        for (int i = 0; i < templates.size(); i++) {
+            assertEquals(i, templates.get(i).getId());
+            assertEquals(i, templates.get(i).getCard().getId());
+        }
+    }
+    
+    @Test
+    public void testGetTemplate_MixedCase() {
+        assertSame(CardRegistry.getTemplate("Framework"), CardRegistry.getTemplate("fRaMeWoRk"));
+    }
+    
+    @Test
+    public void testGetTemplate_Null() {
+        assertNull(CardRegistry.getTemplate((String) null));
+    }
+    
+    @Test
+    public void testGetTemplate_ById() {
+        CardTemplate dogecoin = CardRegistry.getTemplate("Dogecoin");
+        assertSame(dogecoin, CardRegistry.getTemplate(dogecoin.getId()));
+        assertNull(CardRegistry.getTemplate(-1));
+        assertNull(CardRegistry.getTemplate(CardRegistry.getTemplateCount()));
+    }
+    
+    @Test
+    public void testGetId() {
+        assertEquals(CardRegistry.getTemplate("Bitcoin").getId(), CardRegistry.getId("bitcoin"));
+        assertEquals(Card.NO_ID, CardRegistry.getId("NonExistent"));
+        assertEquals(6, CardRegistry.getTemplateCount());
+    }
+    
+    @Test
+    public void testGetAllTemplates_SharedAndUnmodifiable() {
+        List<CardTemplate> templates = CardRegistry.getAllTemplates();
+        assertSame(templates, CardRegistry.getAllTemplates());
+        assertSame(CardRegistry.getTemplatesByType(CardType.AUTOMATION),
+                   CardRegistry.getTemplatesByType(CardType.AUTOMATION));
+        try {
+            templates.clear();
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            assertEquals(6, CardRegistry.getAllTemplates().size());
+        }
+    }
+    
     @Test
     public void testGetTemplatesByType_Cryptocurrency() {
         List<CardTemplate> templates = CardRegistry.getTemplatesByType(CardType.CRYPTOCURRENCY);
@@ -154,6 +202,18 @@ public class CardRegistryTest {
         assertEquals(3, methodCount);
     }
     
+    @Test
+    public void testCreateStarterDeck_SharesCards() {
+        List<Card> deck = CardRegistry.createStarterDeck();
+        Card bitcoin = CardRegistry.getTemplate("Bitcoin").getCard();
+        
+        for (Card card : deck) {
+            if (card.getName().equals("Bitcoin")) {
+                assertSame(bitcoin, card);
+            }
+        }
+    }
+    
     @Test
     public void testCreateCustomDeck() {
         String[][] config = {
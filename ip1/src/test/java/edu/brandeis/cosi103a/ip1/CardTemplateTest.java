@@ -74,6 +74,23 @@ public class CardTemplateTest {
         assertEquals(card1, card2); // Should be equal but different objects
     }
     
+    @Test
+    public void testGetCard_SharedInstance() {
+        Card card1 = bitcoinTemplate.getCard();
+        Card card2 = bitcoinTemplate.getCard();
+        assertSame(card1, card2);
+        assertEquals("Bitcoin", card1.getName());
+        assertEquals(Card.NO_ID, card1.getId());
+    }
+    
+    @Test
+    public void testGetCard_CarriesId() {
+        CardTemplate template = new CardTemplate(4, CardType.CRYPTOCURRENCY, "Ethereum", 3, 2, 40);
+        assertEquals(4, template.getId());
+        assertEquals(4, template.getCard().getId());
+        assertEquals(4, template.createCard().getId());
+    }
+    
     @Test
     public void testAddCardsToList() {
         List<Card> list = new ArrayList<>();
@@ -53,6 +53,13 @@ public class CardTest {
         assertEquals(6, frameworkCard.getValue());
     }
     
+    @Test
+    public void testGetId() {
+        assertEquals(Card.NO_ID, bitcoinCard.getId());
+        Card registered = new Card(3, CardType.CRYPTOCURRENCY, "Bitcoin", 0, 1);
+        assertEquals(3, registered.getId());
+    }
+    
     @Test
     public void testEquals_SameObject() {
         assertTrue(bitcoinCard.equals(bitcoinCard));
@@ -0,0 +1,128 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import org.junit.Before;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the CompactDeck class.
+ */
+public class CompactDeckTest {
+    
+    private int bitcoin;
+    private int method;
+    private int framework;
+    private CompactDeck starterDeck;
+    
+    @Before
+    public void setUp() {
+        bitcoin = CardRegistry.getId("Bitcoin");
+        method = CardRegistry.getId("Method");
+        framework = CardRegistry.getId("Framework");
+        
+        int[] starter = new int[10];
+        for (int i = 0; i < 10; i++) {
+            starter[i] = i < 7 ? bitcoin : method;
+        }
+        starterDeck = new CompactDeck(starter, 20);
+    }
+    
+    @Test
+    public void testConstructor_Empty() {
+        CompactDeck deck = new CompactDeck(10);
+        assertEquals(0, deck.size());
+        assertEquals(0, deck.discardSize());
+        assertEquals(CompactDeck.NO_CARD, deck.drawOne());
+    }
+    
+    @Test
+    public void testConstructor_WithCards() {
+        assertEquals(10, starterDeck.size());
+        assertEquals(7, starterDeck.getCount(bitcoin));
+        assertEquals(3, starterDeck.getCount(method));
+        assertEquals(10, starterDeck.calculateTotalValue());
+    }
+    
+    @Test
+    public void testDrawOne_TopOfPile() {
+        starterDeck.addToDrawPile(framework);
+        
+        assertEquals(framework, starterDeck.drawOne());
+        assertEquals(10, starterDeck.size());
+        assertEquals(0, starterDeck.getCount(framework));
+    }
+    
+    @Test
+    public void testDrawOne_UpdatesCountsAndValue() {
+        int card = starterDeck.drawOne();
+        
+        assertEquals(method, card); // Method cards were added last
+        assertEquals(2, starterDeck.getDrawCount(method));
+        assertEquals(9, starterDeck.calculateTotalValue());
+    }
+    
+    @Test
+    public void testDiscard() {
+        starterDeck.discard(framework);
+        
+        assertEquals(1, starterDeck.discardSize());
+        assertEquals(1, starterDeck.getCount(framework));
+        assertEquals(0, starterDeck.getDrawCount(framework));
+        assertEquals(16, starterDeck.calculateTotalValue());
+    }
+    
+    @Test
+    public void testDrawOne_AutoReshuffle() {
+        for (int i = 0; i < 10; i++) {
+            starterDeck.discard(starterDeck.drawOne());
+        }
+        assertEquals(0, starterDeck.size());
+        assertEquals(10, starterDeck.discardSize());
+        
+        assertNotEquals(CompactDeck.NO_CARD, starterDeck.drawOne());
+        assertEquals(9, starterDeck.size());
+        assertEquals(0, starterDeck.discardSize());
+        assertEquals(9, starterDeck.getDrawCount(bitcoin) + starterDeck.getDrawCount(method));
+        assertEquals(9, starterDeck.calculateTotalValue());
+    }
+    
+    @Test
+    public void testGrowsPastCapacity() {
+        CompactDeck deck = new CompactDeck(2);
+        for (int i = 0; i < 50; i++) {
+            deck.discard(bitcoin);
+            deck.addToDrawPile(method);
+        }
+        deck.reshuffleDiscardIntoDraw();
+        
+        assertEquals(100, deck.size());
+        assertEquals(100, deck.totalCards());
+        assertEquals(100, deck.calculateTotalValue());
+    }
+    
+    @Test
+    public void testMatchesPlayerDeckWithSameSeed() {
+        ArrayList<Card> cards = new ArrayList<>(CardRegistry.createStarterDeck());
+        PlayerDeck reference = new PlayerDeck(cards);
+        reference.setRandom(new SplittableRandom(7));
+        
+        int[] ids = new int[cards.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cards.get(i).getId();
+        }
+        CompactDeck deck = new CompactDeck(ids, 20);
+        deck.setRandom(new SplittableRandom(7));
+        
+        reference.shuffle();
+        deck.shuffle();
+        for (int i = 0; i < 40; i++) {
+            Card expected = reference.drawOne();
+            int actual = deck.drawOne();
+            assertEquals(expected.getId(), actual);
+            reference.discard(expected);
+            deck.discard(actual);
+        }
+    }
+}
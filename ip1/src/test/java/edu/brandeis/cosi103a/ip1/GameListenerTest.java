@@ -0,0 +1,117 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+/**
+ * Unit tests for the GameListener events and the ConsoleGameListener class.
+ */
+public class GameListenerTest {
+    
+    /**
+     * Counts the events it receives.
+     */
+    private static class CountingListener implements GameListener {
+        int playersReady;
+        int turnsStarted;
+        int turnsEnded;
+        int cardsPlayed;
+        int purchases;
+        int cleanups;
+        int gamesOver;
+        GameResult result;
+        
+        @Override
+        public void onPlayerReady(Player player) {
+            playersReady++;
+        }
+        
+        @Override
+        public void onTurnStart(int turn, Player player) {
+            turnsStarted++;
+            assertEquals(turnsStarted, turn);
+        }
+        
+        @Override
+        public void onCardPlayed(Player player, Card card) {
+            cardsPlayed++;
+            assertEquals(CardType.CRYPTOCURRENCY, card.getType());
+        }
+        
+        @Override
+        public void onPurchase(Player player, Card card) {
+            purchases++;
+        }
+        
+        @Override
+        public void onCleanup(Player player, int cardsDrawn) {
+            cleanups++;
+        }
+        
+        @Override
+        public void onTurnEnd(int turn, Player player) {
+            turnsEnded++;
+        }
+        
+        @Override
+        public void onGameOver(GameResult result, Kingdom kingdom, Player[] players) {
+            gamesOver++;
+            this.result = result;
+        }
+    }
+    
+    @Test
+    public void testEvents_FullGame() {
+        CountingListener listener = new CountingListener();
+        App game = new App(listener, RandomStreams.forGame(1L, 0L));
+        game.setupGame(2);
+        GameResult result = game.playGame();
+        
+        assertEquals(2, listener.playersReady);
+        assertEquals(result.getTurnCount(), listener.turnsStarted);
+        assertEquals(result.getTurnCount(), listener.turnsEnded);
+        assertEquals(result.getTurnCount(), listener.cleanups);
+        assertTrue(listener.cardsPlayed > 0);
+        assertTrue(listener.purchases > 0);
+        assertEquals(1, listener.gamesOver);
+        assertSame(result, listener.result);
+    }
+    
+    @Test
+    public void testNone_SameGameAsConsole() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        App console = new App(new ConsoleGameListener(new PrintStream(buffer)), RandomStreams.forGame(3L, 9L));
+        console.setupGame(2);
+        GameResult printed = console.playGame();
+        
+        App headless = new App(GameListener.NONE, RandomStreams.forGame(3L, 9L));
+        headless.setupGame(2);
+        GameResult quiet = headless.playGame();
+        
+        assertEquals(printed.getTurnCount(), quiet.getTurnCount());
+        assertEquals(printed.getScore(0), quiet.getScore(0));
+        assertEquals(printed.getScore(1), quiet.getScore(1));
+    }
+    
+    @Test
+    public void testConsole_Output() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        App game = new App(new ConsoleGameListener(new PrintStream(buffer)), RandomStreams.forGame(3L, 9L));
+        game.setupGame(2);
+        GameResult result = game.playGame();
+        String output = buffer.toString();
+        
+        assertTrue(output.contains("DOMINION-STYLE CARD GAME"));
+        assertTrue(output.contains("AI Player 1 created with starter deck (7 Bitcoin, 3 Method)"));
+        assertTrue(output.contains("TURN 1 - AI Player 1"));
+        assertTrue(output.contains("  Playing Bitcoin for 1 coin(s)"));
+        assertTrue(output.contains("--- Buy Phase ---"));
+        assertTrue(output.contains("buys Framework (8 coins, 6 value)"));
+        assertTrue(output.contains("Drew 5 new cards for next turn"));
+        assertTrue(output.contains("GAME OVER!"));
+        assertTrue(output.contains("AI Player 1: " + result.getScore(0) + " points"));
+        assertTrue(output.contains("Total turns played: " + result.getTurnCount()));
+    }
+}
@@ -0,0 +1,68 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the GameResult class.
+ */
+public class GameResultTest {
+    
+    @Test
+    public void testWinner_HighestScore() {
+        GameResult result = new GameResult(new int[] {30, 25}, 40, true);
+        
+        assertEquals(0, result.getWinner());
+        assertEquals(30, result.getWinningScore());
+        assertFalse(result.isTie());
+    }
+    
+    @Test
+    public void testWinner_TieGoesToLastPlayer() {
+        GameResult result = new GameResult(new int[] {30, 30}, 40, true);
+        
+        assertTrue(result.isTie());
+        assertEquals(1, result.getWinner());
+    }
+    
+    @Test
+    public void testWinner_LaterHigherScoreClearsTie() {
+        GameResult result = new GameResult(new int[] {20, 20, 35}, 40, false);
+        
+        assertFalse(result.isTie());
+        assertEquals(2, result.getWinner());
+    }
+    
+    @Test
+    public void testWinner_TieAmongTopScoresGoesToLastTiedSeat() {
+        GameResult result = new GameResult(new int[] {7, 7, 3}, 40, false);
+        
+        assertTrue(result.isTie());
+        assertEquals(1, result.getWinner());
+        assertEquals(7, result.getWinningScore());
+    }
+    
+    @Test
+    public void testGetters() {
+        int[] scores = {12, 18};
+        GameResult result = new GameResult(scores, 52, false);
+        scores[0] = 99; // Result keeps its own copy
+        
+        assertEquals(2, result.getPlayerCount());
+        assertEquals(12, result.getScore(0));
+        assertEquals(18, result.getScore(1));
+        assertEquals(52, result.getTurnCount());
+        assertFalse(result.isFrameworkEmptied());
+    }
+    
+    @Test
+    public void testGetDeckSize() {
+        int[] deckSizes = {14, 17};
+        GameResult result = new GameResult(new int[] {12, 18}, deckSizes, 52, false);
+        deckSizes[0] = 99; // Result keeps its own copy
+        
+        assertEquals(14, result.getDeckSize(0));
+        assertEquals(17, result.getDeckSize(1));
+        assertEquals(-1, new GameResult(new int[] {12, 18}, 52, false).getDeckSize(0));
+    }
+}
@@ -0,0 +1,183 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Unit tests for the GameSnapshot class.
+ */
+public class GameSnapshotTest {
+
+    private static App newGame(long gameIndex) {
+        App game = new App(GameListener.NONE, RandomStreams.forGame(42L, gameIndex));
+        game.setupGame(2);
+        return game;
+    }
+
+    private static RandomGenerator[] deckRandoms(App game) {
+        Player[] players = game.getPlayers();
+        RandomGenerator[] random = new RandomGenerator[players.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            random[seat] = players[seat].getDeck().getRandom();
+        }
+        return random;
+    }
+
+    @Test
+    public void testPlayOut_MatchesRealGame() {
+        for (int i = 0; i < 20; i++) {
+            App captured = newGame(i);
+            GameSnapshot snapshot = new GameSnapshot();
+            snapshot.capture(captured);
+
+            int winner = snapshot.playOut(deckRandoms(captured), App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+            GameResult expected = newGame(i).playGame();
+
+            assertEquals(expected.getWinner(), winner);
+            assertEquals(expected.getTurnCount(), snapshot.getTurnCount());
+            assertEquals(expected.isFrameworkEmptied(), snapshot.isFrameworkEmptied());
+            assertEquals(expected.getScore(0), snapshot.getScore(0));
+            assertEquals(expected.getScore(1), snapshot.getScore(1));
+        }
+    }
+
+    @Test
+    public void testPlayOut_MatchesRealGameFromMidGame() {
+        App captured = newGame(3);
+        App reference = newGame(3);
+        for (int turn = 0; turn < 9; turn++) {
+            captured.playNextTurn();
+            reference.playNextTurn();
+        }
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(captured);
+
+        snapshot.playOut(deckRandoms(captured), App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+        GameResult expected = reference.playGame();
+
+        assertEquals(expected.getTurnCount(), snapshot.getTurnCount());
+        assertEquals(expected.getScore(0), snapshot.getScore(0));
+        assertEquals(expected.getScore(1), snapshot.getScore(1));
+    }
+
+    @Test
+    public void testRestore_RoundTrip() {
+        App game = newGame(5);
+        for (int turn = 0; turn < 6; turn++) {
+            game.playNextTurn();
+        }
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(game);
+        long hash = game.getStateHash();
+        int score = game.getPlayers()[0].calculateScore();
+
+        for (int turn = 0; turn < 6; turn++) {
+            game.playNextTurn();
+        }
+        assertNotEquals(hash, game.getStateHash());
+
+        snapshot.restore(game);
+        assertEquals(hash, game.getStateHash());
+        assertEquals(6, game.getTurnCount());
+        assertEquals(score, game.getPlayers()[0].calculateScore());
+    }
+
+    @Test
+    public void testCopyFrom_LeavesOriginalUnchanged() {
+        GameSnapshot original = new GameSnapshot();
+        original.capture(newGame(1));
+        GameSnapshot copy = new GameSnapshot();
+
+        for (int rollout = 0; rollout < 3; rollout++) {
+            copy.copyFrom(original);
+            copy.playOut(new SplittableRandom(rollout), App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+            assertTrue(copy.isGameOver());
+        }
+
+        assertEquals(0, original.getTurnCount());
+        assertFalse(original.isGameOver());
+        assertEquals(10, original.getScore(0));
+        assertEquals(60, original.getRemainingQuantity(CardRegistry.getId("Bitcoin")));
+    }
+
+    @Test
+    public void testPlayOut_SameSeedSameResult() {
+        GameSnapshot original = new GameSnapshot();
+        original.capture(newGame(2));
+        GameSnapshot first = new GameSnapshot();
+        GameSnapshot second = new GameSnapshot();
+        first.copyFrom(original);
+        second.copyFrom(original);
+
+        int firstWinner = first.playOut(new SplittableRandom(9), App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+        int secondWinner = second.playOut(new SplittableRandom(9), App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY);
+
+        assertEquals(firstWinner, secondWinner);
+        assertEquals(first.getTurnCount(), second.getTurnCount());
+        assertEquals(first.getScore(0), second.getScore(0));
+    }
+
+    @Test
+    public void testStartTurnAndBuy() {
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(newGame(0));
+        int method = CardRegistry.getId("Method");
+        int framework = CardRegistry.getId("Framework");
+
+        snapshot.startTurn();
+        int coins = snapshot.getCoins(0);
+
+        assertTrue(snapshot.isInBuyPhase());
+        assertEquals(1, snapshot.getTurnCount());
+        assertFalse(snapshot.buy(framework));
+        assertTrue(snapshot.buy(method));
+        assertEquals(coins - 2, snapshot.getCoins(0));
+        assertEquals(0, snapshot.getBuys(0));
+        assertEquals(4, snapshot.getOwnedCount(0, method));
+        assertEquals(13, snapshot.getRemainingQuantity(method));
+        assertFalse(snapshot.buy(method));
+
+        snapshot.endTurn(new SplittableRandom(1));
+        assertFalse(snapshot.isInBuyPhase());
+        assertEquals(1, snapshot.getCurrentSeat());
+    }
+
+    @Test
+    public void testCapture_BuyPhaseMatchesStartTurn() {
+        App game = newGame(4);
+        Player player = game.getPlayers()[0];
+        GameSnapshot started = new GameSnapshot();
+        started.capture(game);
+        started.startTurn();
+
+        player.startTurn();
+        player.playAllCryptoCards();
+        GameSnapshot captured = new GameSnapshot();
+        captured.capture(game.getKingdom(), game.getPlayers(), 0, 1, true);
+
+        assertTrue(captured.isInBuyPhase());
+        assertEquals(started.getCoins(0), captured.getCoins(0));
+        assertEquals(started.getBuys(0), captured.getBuys(0));
+        assertEquals(started.getScore(0), captured.getScore(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRestore_BuyPhase() {
+        App game = newGame(0);
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(game);
+        snapshot.startTurn();
+
+        snapshot.restore(game);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapture_UnregisteredCard() {
+        App game = newGame(0);
+        game.getPlayers()[0].getHand().add(new Card(CardType.AUTOMATION, "Prototype", 1, 1));
+
+        new GameSnapshot().capture(game);
+    }
+}
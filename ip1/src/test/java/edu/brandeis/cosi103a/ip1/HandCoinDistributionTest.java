@@ -0,0 +1,141 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the HandCoinDistribution class.
+ */
+public class HandCoinDistributionTest {
+
+    private static final double EPSILON = 1e-12;
+    private static final int METHOD = CardRegistry.getId("Method");
+    private static final int MODULE = CardRegistry.getId("Module");
+    private static final int BITCOIN = CardRegistry.getId("Bitcoin");
+    private static final int ETHEREUM = CardRegistry.getId("Ethereum");
+    private static final int DOGECOIN = CardRegistry.getId("Dogecoin");
+
+    private static int[] counts(int... idAndCount) {
+        int[] counts = new int[CardRegistry.getTemplateCount()];
+        for (int i = 0; i < idAndCount.length; i += 2) {
+            counts[idAndCount[i]] += idAndCount[i + 1];
+        }
+        return counts;
+    }
+
+    @Test
+    public void testOf_StarterDeck() {
+        HandCoinDistribution dist = HandCoinDistribution.of(counts(BITCOIN, 7, METHOD, 3));
+
+        // Hypergeometric: P(k Bitcoin) = C(7, k) C(3, 5 - k) / C(10, 5)
+        assertEquals(21.0 / 252, dist.probability(5), EPSILON);
+        assertEquals(105.0 / 252, dist.probability(4), EPSILON);
+        assertEquals(105.0 / 252, dist.probability(3), EPSILON);
+        assertEquals(21.0 / 252, dist.probability(2), EPSILON);
+        assertEquals(0.0, dist.probability(1), EPSILON);
+        assertEquals(3.5, dist.getMean(), EPSILON);
+        assertEquals(126.0 / 252, dist.probabilityAtLeast(4), EPSILON);
+    }
+
+    @Test
+    public void testOf_SumsToOneWithMeanFromLinearity() {
+        int[] deck = counts(BITCOIN, 9, ETHEREUM, 4, DOGECOIN, 2, METHOD, 3, MODULE, 2);
+        HandCoinDistribution dist = HandCoinDistribution.of(deck);
+
+        assertEquals(1.0, dist.probabilityAtLeast(0), EPSILON);
+        // Each card is in the hand with probability 5/20
+        assertEquals(5.0 / 20 * (9 * 1 + 4 * 2 + 2 * 3), dist.getMean(), EPSILON);
+        assertEquals(15, dist.getMaxCoins());
+    }
+
+    @Test
+    public void testOf_MatchesSampledHands() {
+        int[] deck = counts(BITCOIN, 6, ETHEREUM, 3, DOGECOIN, 1, METHOD, 4);
+        HandCoinDistribution dist = HandCoinDistribution.of(deck);
+        int[] ids = new int[14];
+        int n = 0;
+        for (int id = 0; id < deck.length; id++) {
+            for (int i = 0; i < deck[id]; i++) {
+                ids[n++] = id;
+            }
+        }
+        int[] coinsOf = new int[deck.length];
+        coinsOf[BITCOIN] = 1;
+        coinsOf[ETHEREUM] = 2;
+        coinsOf[DOGECOIN] = 3;
+
+        SplittableRandom random = new SplittableRandom(3);
+        int samples = 200_000;
+        int[] seen = new int[dist.getMaxCoins() + 1];
+        for (int s = 0; s < samples; s++) {
+            int coins = 0;
+            for (int i = 0; i < 5; i++) {
+                int j = i + random.nextInt(ids.length - i);
+                int card = ids[j];
+                ids[j] = ids[i];
+                ids[i] = card;
+                coins += coinsOf[card];
+            }
+            seen[coins]++;
+        }
+        for (int coins = 0; coins < seen.length; coins++) {
+            assertEquals(dist.probability(coins), (double) seen[coins] / samples, 0.005);
+        }
+    }
+
+    @Test
+    public void testOf_SmallDeckDealsEverything() {
+        HandCoinDistribution dist = HandCoinDistribution.of(counts(DOGECOIN, 1, ETHEREUM, 1, METHOD, 1));
+
+        assertEquals(3, dist.getHandSize());
+        assertEquals(1.0, dist.probability(5), EPSILON);
+    }
+
+    @Test
+    public void testOf_EmptyDeck() {
+        HandCoinDistribution dist = HandCoinDistribution.of(counts());
+
+        assertEquals(0, dist.getHandSize());
+        assertEquals(1.0, dist.probability(0), EPSILON);
+        assertEquals(0.0, dist.getMean(), EPSILON);
+    }
+
+    @Test
+    public void testOf_CachesByCoinValue() {
+        HandCoinDistribution.clearCache();
+        HandCoinDistribution first = HandCoinDistribution.of(counts(BITCOIN, 7, METHOD, 3));
+        // Module is worth no coins either, so this deck shares the entry
+        HandCoinDistribution second = HandCoinDistribution.of(counts(BITCOIN, 7, MODULE, 3));
+
+        assertSame(first, second);
+        assertEquals(1, HandCoinDistribution.cacheSize());
+        assertNotSame(first, HandCoinDistribution.of(counts(BITCOIN, 7, METHOD, 3), 4));
+    }
+
+    @Test
+    public void testOf_CacheIsBounded() {
+        HandCoinDistribution.clearCache();
+        for (int bitcoins = 0; bitcoins <= HandCoinDistribution.CACHE_CAPACITY; bitcoins++) {
+            HandCoinDistribution.of(counts(BITCOIN, bitcoins, METHOD, 3));
+        }
+
+        assertEquals(HandCoinDistribution.CACHE_CAPACITY, HandCoinDistribution.cacheSize());
+    }
+
+    @Test
+    public void testOf_Player() {
+        Player player = new Player("A", new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck())));
+        player.drawCards(5);
+
+        HandCoinDistribution dist = HandCoinDistribution.of(player);
+
+        assertEquals(3.5, dist.getMean(), EPSILON);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOf_NegativeCount() {
+        HandCoinDistribution.of(counts(BITCOIN, -1));
+    }
+}
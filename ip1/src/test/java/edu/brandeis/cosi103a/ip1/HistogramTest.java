@@ -0,0 +1,92 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the Histogram class.
+ */
+public class HistogramTest {
+
+    @Test
+    public void testAdd_Buckets() {
+        Histogram histogram = new Histogram(10, 5, 4);
+        histogram.add(9.9);
+        histogram.add(10);
+        histogram.add(14.9);
+        histogram.add(25);
+        histogram.add(30);
+
+        assertEquals(1, histogram.getUnderflow());
+        assertEquals(2, histogram.getCount(0));
+        assertEquals(1, histogram.getCount(3));
+        assertEquals(1, histogram.getOverflow());
+        assertEquals(5, histogram.getTotalCount());
+        assertEquals(25.0, histogram.getBucketLow(3), 0.0);
+    }
+
+    @Test
+    public void testQuantile_Interpolates() {
+        Histogram histogram = new Histogram(0, 1, 100);
+        for (int i = 0; i < 100; i++) {
+            histogram.add(i);
+        }
+
+        assertEquals(50.0, histogram.quantile(0.5), 0.0);
+        assertEquals(90.0, histogram.quantile(0.9), 0.0);
+        assertEquals(0.0, histogram.quantile(0.0), 0.0);
+        assertEquals(100.0, histogram.quantile(1.0), 0.0);
+    }
+
+    @Test
+    public void testQuantile_OutOfRange() {
+        Histogram histogram = new Histogram(0, 1, 10);
+        histogram.add(-5);
+        histogram.add(50);
+
+        assertEquals(0.0, histogram.quantile(0.25), 0.0);
+        assertEquals(10.0, histogram.quantile(0.75), 0.0);
+        assertTrue(Double.isNaN(new Histogram(0, 1, 10).quantile(0.5)));
+    }
+
+    @Test
+    public void testBucketQuantile_ExactForIntegers() {
+        Histogram histogram = new Histogram(0, 1, 100);
+        for (int i = 1; i <= 10; i++) {
+            histogram.add(i);
+        }
+
+        assertEquals(5.0, histogram.bucketQuantile(0.5), 0.0);
+        assertEquals(9.0, histogram.bucketQuantile(0.9), 0.0);
+        assertEquals(1.0, histogram.bucketQuantile(0.0), 0.0);
+        assertEquals(10.0, histogram.bucketQuantile(1.0), 0.0);
+        histogram.add(500);
+        assertEquals(100.0, histogram.bucketQuantile(1.0), 0.0);
+        assertTrue(Double.isNaN(new Histogram(0, 1, 10).bucketQuantile(0.5)));
+    }
+
+    @Test
+    public void testMerge_AddsCounts() {
+        Histogram first = new Histogram(0, 2, 5);
+        Histogram second = new Histogram(0, 2, 5);
+        first.add(1);
+        second.add(1.5);
+        second.add(11);
+
+        Histogram merged = first.copy().merge(second);
+
+        assertEquals(2, merged.getCount(0));
+        assertEquals(1, merged.getOverflow());
+        assertEquals(1, first.getTotalCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentBuckets() {
+        new Histogram(0, 1, 10).merge(new Histogram(0, 2, 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NoBuckets() {
+        new Histogram(0, 1, 0);
+    }
+}
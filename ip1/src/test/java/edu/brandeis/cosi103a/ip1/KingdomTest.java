@@ -53,6 +53,18 @@ public class KingdomTest {
         assertEquals(4, kingdom.getRemainingQuantity("Bitcoin"));
     }
     
+    @Test
+    public void testTakeCard_ReturnsSharedCard() {
+        CardTemplate template = new CardTemplate(CardType.CRYPTOCURRENCY, "Bitcoin", 0, 1, 60);
+        kingdom.addPile(template, 5);
+        
+        Card first = kingdom.takeCard("Bitcoin");
+        Card second = kingdom.takeCard("Bitcoin");
+        
+        assertSame(first, second);
+        assertSame(template.getCard(), first);
+    }
+    
     @Test
     public void testTakeCard_NotAvailable() {
         Card card = kingdom.takeCard("NonExistent");
@@ -196,6 +208,95 @@ public class KingdomTest {
         assertTrue(kingdom.isGameOver());
     }
     
+    @Test
+    public void testIsGameOver_PileAddedEmpty() {
+        kingdom.addPile(new CardTemplate(CardType.CRYPTOCURRENCY, "Card1", 0, 1, 0), 0);
+        kingdom.addPile(new CardTemplate(CardType.CRYPTOCURRENCY, "Card2", 0, 1, 0), 0);
+        kingdom.addPile(new CardTemplate(CardType.CRYPTOCURRENCY, "Card3", 0, 1, 0), 0);
+        
+        assertEquals(3, kingdom.getEmptyPileCount());
+        assertTrue(kingdom.isGameOver());
+    }
+    
+    @Test
+    public void testAddPile_ReplacesExistingPile() {
+        CardTemplate template = new CardTemplate(CardType.CRYPTOCURRENCY, "Card1", 0, 1, 1);
+        kingdom.addPile(template, 1);
+        kingdom.takeCard("Card1");
+        assertEquals(1, kingdom.getEmptyPileCount());
+        
+        kingdom.addPile(template, 4);
+        
+        assertEquals(0, kingdom.getEmptyPileCount());
+        assertEquals(4, kingdom.getRemainingQuantity("Card1"));
+        assertEquals(1, kingdom.getAllPiles().size());
+    }
+    
+    @Test
+    public void testTakeCard_ById() {
+        Kingdom standard = Kingdom.createStandardKingdom();
+        CardTemplate ethereum = CardRegistry.getTemplate("Ethereum");
+        
+        Card card = standard.takeCard(ethereum.getId());
+        
+        assertSame(ethereum.getCard(), card);
+        assertEquals(39, standard.getRemainingQuantity(ethereum.getId()));
+        assertEquals(39, standard.getRemainingQuantity("Ethereum"));
+        assertTrue(standard.isAvailable(ethereum.getId()));
+    }
+    
+    @Test
+    public void testTakeCard_ById_NotInKingdom() {
+        int frameworkId = CardRegistry.getId("Framework");
+        
+        assertFalse(kingdom.isAvailable(frameworkId));
+        assertNull(kingdom.takeCard(frameworkId));
+        assertFalse(kingdom.isAvailable(-1));
+        assertEquals(0, kingdom.getRemainingQuantity(99));
+    }
+    
+    @Test
+    public void testIsGameOver_StandardFrameworkEmptied() {
+        Kingdom standard = Kingdom.createStandardKingdom();
+        int frameworkId = CardRegistry.getId("Framework");
+        
+        for (int i = 0; i < 8; i++) {
+            assertFalse(standard.isGameOver());
+            standard.takeCard(frameworkId);
+        }
+        
+        assertTrue(standard.isGameOver());
+        assertEquals(1, standard.getEmptyPileCount());
+    }
+    
+    @Test
+    public void testGetAvailableMask() {
+        Kingdom standard = Kingdom.createStandardKingdom();
+        int frameworkId = CardRegistry.getId("Framework");
+        long all = (1L << CardRegistry.getTemplateCount()) - 1;
+        
+        assertEquals(all, standard.getAvailableMask());
+        for (int i = 0; i < 8; i++) {
+            standard.takeCard(frameworkId);
+        }
+        assertEquals(all & ~(1L << frameworkId), standard.getAvailableMask());
+        assertEquals(0L, kingdom.getAvailableMask());
+    }
+    
+    @Test
+    public void testGetAllPiles_TracksKingdomCounts() {
+        CardTemplate template = new CardTemplate(CardType.CRYPTOCURRENCY, "Card1", 0, 1, 2);
+        kingdom.addPile(template, 2);
+        Kingdom.KingdomPile pile = kingdom.getAllPiles().get("Card1");
+        
+        kingdom.takeCard("Card1");
+        assertEquals(1, pile.getRemainingQuantity());
+        
+        pile.decrementQuantity();
+        assertEquals(0, kingdom.getRemainingQuantity("Card1"));
+        assertEquals(1, kingdom.getEmptyPileCount());
+    }
+    
     @Test
     public void testDisplayKingdom() {
         CardTemplate bitcoin = new CardTemplate(CardType.CRYPTOCURRENCY, "Bitcoin", 0, 1, 60);
@@ -272,4 +373,17 @@ public class KingdomTest {
         pile.decrementQuantity();
         assertEquals(0, pile.getRemainingQuantity());
     }
+
+    @Test
+    public void testGetHash_TracksPileCounts() {
+        Kingdom first = Kingdom.createStandardKingdom();
+        Kingdom second = Kingdom.createStandardKingdom();
+        assertEquals(first.getHash(), second.getHash());
+
+        first.takeCard("Bitcoin");
+        assertNotEquals(first.getHash(), second.getHash());
+
+        second.takeCard("Bitcoin");
+        assertEquals(first.getHash(), second.getHash());
+    }
 }
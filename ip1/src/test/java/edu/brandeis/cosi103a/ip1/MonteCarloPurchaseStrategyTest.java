@@ -0,0 +1,157 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.time.Duration;
+
+/**
+ * Unit tests for the MonteCarloPurchaseStrategy class.
+ */
+public class MonteCarloPurchaseStrategyTest {
+
+    private static final int BITCOIN = CardRegistry.getId("Bitcoin");
+    private static final int FRAMEWORK = CardRegistry.getId("Framework");
+
+    private static MonteCarloPurchaseStrategy search(long millis, int workers) {
+        return new MonteCarloPurchaseStrategy(Duration.ofMillis(millis), workers, App.DEFAULT_STRATEGY, 1L);
+    }
+
+    /**
+     * Sets up a two-player game and starts seat 0's turn, as App does before asking for a purchase.
+     */
+    private static App gameInBuyPhase(long gameIndex) {
+        App game = new App(GameListener.NONE, RandomStreams.forGame(7L, gameIndex));
+        game.setupGame(2);
+        Player player = game.getPlayers()[0];
+        player.startTurn();
+        player.playAllCryptoCards();
+        return game;
+    }
+
+    @Test
+    public void testChoosePurchase_ReturnsLegalMove() {
+        MonteCarloPurchaseStrategy strategy = search(20, 2);
+        App game = gameInBuyPhase(0);
+        Player player = game.getPlayers()[0];
+
+        int cardId = strategy.choosePurchase(game, player);
+
+        assertTrue(strategy.getLastRolloutCount() > 0);
+        if (cardId != Card.NO_ID) {
+            assertTrue(game.getKingdom().isAvailable(cardId));
+            assertTrue(CardRegistry.getTemplate(cardId).getCost() <= player.getCoins());
+        }
+    }
+
+    @Test
+    public void testChoosePurchase_StaysWithinBudget() {
+        MonteCarloPurchaseStrategy strategy = search(30, 4);
+        App game = gameInBuyPhase(1);
+
+        long start = System.nanoTime();
+        strategy.choosePurchase(game, game.getPlayers()[0]);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Only catches a search that ignores its budget; timing is measured by the benchmarks
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis < 5000);
+    }
+
+    @Test
+    public void testChoosePurchase_PlaysRolloutBudget() {
+        MonteCarloPurchaseStrategy strategy = new MonteCarloPurchaseStrategy(101, 4, App.DEFAULT_STRATEGY, 1L);
+        App game = gameInBuyPhase(1);
+        Player player = game.getPlayers()[0];
+
+        strategy.choosePurchase(game, player);
+
+        assertEquals(101, strategy.getLastRolloutCount());
+    }
+
+    @Test
+    public void testChoosePurchase_SamePositionSameChoice() {
+        // An even position, so the choice hangs on which rollouts were played
+        MonteCarloPurchaseStrategy strategy = new MonteCarloPurchaseStrategy(40, 2, App.DEFAULT_STRATEGY, 1L);
+        App game = gameInBuyPhase(1);
+        Player player = game.getPlayers()[0];
+        player.setTurnState(6, 1);
+
+        int[] choices = new int[20];
+        for (int i = 0; i < choices.length; i++) {
+            choices[i] = strategy.choosePurchase(game, player);
+        }
+
+        for (int choice : choices) {
+            assertEquals(choices[0], choice);
+        }
+    }
+
+    @Test
+    public void testChoosePurchase_OnlyMoveSkipsSearch() {
+        MonteCarloPurchaseStrategy strategy = search(1000, 1);
+        App game = gameInBuyPhase(2);
+        Player player = game.getPlayers()[0];
+        player.setTurnState(0, 1);
+        game.getKingdom().setRemainingQuantity(BITCOIN, 0);
+
+        assertEquals(Card.NO_ID, strategy.choosePurchase(game, player));
+        assertEquals(0, strategy.getLastRolloutCount());
+    }
+
+    @Test
+    public void testChoosePurchase_TakesGameWinningFramework() {
+        MonteCarloPurchaseStrategy strategy = new MonteCarloPurchaseStrategy(2000, 2, App.DEFAULT_STRATEGY, 1L);
+        App game = gameInBuyPhase(3);
+        Player player = game.getPlayers()[0];
+        Player opponent = game.getPlayers()[1];
+        // One Framework left: buying it ends the game, and its 6 points turn a 5-point deficit into a win
+        game.getKingdom().setRemainingQuantity(FRAMEWORK, 1);
+        Card bitcoin = CardRegistry.getTemplate(BITCOIN).getCard();
+        while (opponent.calculateScore() < player.calculateScore() + 5) {
+            opponent.getDeck().discard(bitcoin);
+        }
+        player.setTurnState(8, 1);
+
+        assertEquals(FRAMEWORK, strategy.choosePurchase(game, player));
+    }
+
+    @Test
+    public void testChoosePurchase_WithoutGameUsesRolloutStrategy() {
+        MonteCarloPurchaseStrategy strategy = search(10, 1);
+        long mask = Kingdom.createStandardKingdom().getAvailableMask();
+
+        assertEquals(App.DEFAULT_STRATEGY.choosePurchase(8, mask), strategy.choosePurchase(8, mask));
+    }
+
+    @Test
+    public void testPlayGame_CompletesAgainstDefault() {
+        App game = new App(GameListener.NONE, RandomStreams.forGame(7L, 9));
+        game.setupGame(search(1, 1), App.DEFAULT_STRATEGY);
+
+        GameResult result = game.playGame();
+
+        assertTrue(game.getKingdom().isGameOver());
+        assertTrue(result.getTurnCount() > 0);
+    }
+
+    @Test
+    public void testLegalMoves() {
+        int[] moves = MonteCarloPurchaseStrategy.legalMoves(0, Kingdom.createStandardKingdom().getAvailableMask());
+
+        assertArrayEquals(new int[] {Card.NO_ID, BITCOIN}, moves);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NoWorkers() {
+        new MonteCarloPurchaseStrategy(Duration.ofMillis(1), 0, App.DEFAULT_STRATEGY, 1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NegativeBudget() {
+        new MonteCarloPurchaseStrategy(Duration.ofMillis(-1), 1, App.DEFAULT_STRATEGY, 1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NoRollouts() {
+        new MonteCarloPurchaseStrategy(0, 1, App.DEFAULT_STRATEGY, 1L);
+    }
+}
@@ -0,0 +1,89 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the PairedComparison class.
+ */
+public class PairedComparisonTest {
+
+    private static final PurchaseStrategy BIG_MONEY = new PriorityPurchaseStrategy("Framework", "Dogecoin", "Ethereum");
+
+    @Test
+    public void testPlayPair_SameStrategySameResult() {
+        PairedComparison comparison = new PairedComparison(App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY,
+            BIG_MONEY, true, 12L);
+
+        for (long i = 0; i < 50; i++) {
+            int[] wins = comparison.playPair(i);
+            assertEquals(wins[0], wins[1]);
+        }
+    }
+
+    @Test
+    public void testRun_SameStrategyHasNoVariance() {
+        PairedComparison.Result result = new PairedComparison(App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY,
+            BIG_MONEY, false, 13L).run(300);
+
+        assertEquals(300, result.getPairs());
+        assertEquals(600, result.getGames());
+        assertEquals(0.0, result.getDifference(), 0.0);
+        assertEquals(0.0, result.getStandardError(), 0.0);
+        assertTrue(result.getIndependentStandardError() > 0);
+    }
+
+    @Test
+    public void testRun_PairingReducesVariance() {
+        PairedComparison.Result result = new PairedComparison(PriorityPurchaseStrategy.FRAMEWORK_FIRST, BIG_MONEY,
+            App.DEFAULT_STRATEGY, false, 14L).run(2_000);
+
+        assertTrue(result.getStandardError() < result.getIndependentStandardError());
+        assertTrue(result.getVarianceReduction() > 2);
+        double[] interval = result.getConfidenceInterval();
+        assertTrue(interval[0] <= result.getDifference() && result.getDifference() <= interval[1]);
+    }
+
+    @Test
+    public void testRun_AntitheticPlaysFourGamesPerIndex() {
+        PairedComparison.Result result = new PairedComparison(PriorityPurchaseStrategy.FRAMEWORK_FIRST, BIG_MONEY,
+            App.DEFAULT_STRATEGY, true, 15L).run(100);
+
+        assertEquals(400, result.getGames());
+        assertTrue(result.getFirstWinRate() >= 0 && result.getFirstWinRate() <= 1);
+        assertTrue(result.toString().contains("pairs=100"));
+    }
+
+    @Test
+    public void testRun_SameSeedSameResult() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            PairedComparison.Result first = new PairedComparison(PriorityPurchaseStrategy.FRAMEWORK_FIRST,
+                BIG_MONEY, App.DEFAULT_STRATEGY, true, 16L).run(500);
+            PairedComparison.Result second = new PairedComparison(PriorityPurchaseStrategy.FRAMEWORK_FIRST,
+                BIG_MONEY, App.DEFAULT_STRATEGY, true, 16L, pool).run(500);
+
+            assertEquals(first.getFirstWinRate(), second.getFirstWinRate(), 0.0);
+            assertEquals(first.getSecondWinRate(), second.getSecondWinRate(), 0.0);
+            assertEquals(first.getStandardError(), second.getStandardError(), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRun_NoGames() {
+        PairedComparison.Result result = new PairedComparison(App.DEFAULT_STRATEGY, BIG_MONEY,
+            App.DEFAULT_STRATEGY, false, 1L).run(0);
+
+        assertEquals(0, result.getGames());
+        assertTrue(Double.isNaN(result.getStandardError()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRun_NegativeGames() {
+        new PairedComparison(App.DEFAULT_STRATEGY, BIG_MONEY, App.DEFAULT_STRATEGY, false, 1L).run(-1);
+    }
+}
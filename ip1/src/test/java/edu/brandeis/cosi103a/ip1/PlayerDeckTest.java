@@ -4,7 +4,9 @@ import org.junit.Test;
 import org.junit.Before;
 import static org.junit.Assert.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Unit tests for the PlayerDeck class.
@@ -57,6 +59,34 @@ public class PlayerDeckTest {
         assertEquals(10, starterDeck.size()); // Size should remain the same
     }
     
+    @Test
+    public void testShuffle_DrawsInCollectionsShuffleOrder() {
+        ArrayList<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            cards.add(new Card(CardType.AUTOMATION, "Card" + i, i, i));
+        }
+        ArrayList<Card> expected = new ArrayList<>(cards);
+        Collections.shuffle(expected, new SplittableRandom(7));
+        PlayerDeck deck = new PlayerDeck(cards);
+        deck.setRandom(new SplittableRandom(7));
+        
+        deck.shuffle();
+        
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            assertSame(expected.get(i), deck.drawOne());
+        }
+    }
+    
+    @Test
+    public void testShuffle_CardAddedAfterwardsIsOnTop() {
+        Card framework = new Card(CardType.AUTOMATION, "Framework", 8, 6);
+        starterDeck.shuffle();
+        starterDeck.addToDrawPile(framework);
+        
+        assertSame(framework, starterDeck.drawOne());
+        assertEquals(10, starterDeck.size());
+    }
+    
     @Test
     public void testDrawOne_FromNonEmptyDeck() {
         Card card = starterDeck.drawOne();
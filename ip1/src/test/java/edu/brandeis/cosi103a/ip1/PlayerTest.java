@@ -190,6 +190,33 @@ public class PlayerTest {
         assertEquals(3, player.getCoins());
     }
     
+    @Test
+    public void testPlayAllCryptoCards_KeepsOrder() {
+        Card bitcoin = new Card(CardType.CRYPTOCURRENCY, "Bitcoin", 0, 1);
+        Card method = new Card(CardType.AUTOMATION, "Method", 2, 1);
+        Card dogecoin = new Card(CardType.CRYPTOCURRENCY, "Dogecoin", 6, 3);
+        Card module = new Card(CardType.AUTOMATION, "Module", 5, 3);
+        Card ethereum = new Card(CardType.CRYPTOCURRENCY, "Ethereum", 3, 2);
+        Card alreadyPlayed = new Card(CardType.AUTOMATION, "Framework", 8, 6);
+        player.getPlayedCards().add(alreadyPlayed);
+        player.getHand().add(bitcoin);
+        player.getHand().add(method);
+        player.getHand().add(dogecoin);
+        player.getHand().add(module);
+        player.getHand().add(ethereum);
+        
+        assertEquals(6, player.playAllCryptoCards());
+        
+        assertEquals(2, player.handSize());
+        assertSame(method, player.getHand().get(0));
+        assertSame(module, player.getHand().get(1));
+        assertEquals(4, player.getPlayedCards().size());
+        assertSame(alreadyPlayed, player.getPlayedCards().get(0));
+        assertSame(bitcoin, player.getPlayedCards().get(1));
+        assertSame(dogecoin, player.getPlayedCards().get(2));
+        assertSame(ethereum, player.getPlayedCards().get(3));
+    }
+    
     @Test
     public void testPlayAllCryptoCards_NoCoins() {
         player.getHand().add(new Card(CardType.AUTOMATION, "Method", 2, 1));
@@ -213,6 +240,33 @@ public class PlayerTest {
         assertEquals(39, kingdom.getRemainingQuantity("Ethereum"));
     }
     
+    @Test
+    public void testBuyCard_ById() {
+        int frameworkId = CardRegistry.getId("Framework");
+        player.startTurn();
+        player.addCoins(9);
+        
+        assertTrue(player.buyCard(kingdom, frameworkId));
+        assertEquals(1, player.getCoins());
+        assertEquals(0, player.getBuys());
+        assertEquals(7, kingdom.getRemainingQuantity(frameworkId));
+        assertEquals(1, player.getDeck().discardSize());
+        
+        // No buys left
+        player.addCoins(8);
+        assertFalse(player.buyCard(kingdom, frameworkId));
+    }
+    
+    @Test
+    public void testBuyCard_ById_InsufficientCoins() {
+        player.startTurn();
+        player.addCoins(7);
+        
+        assertFalse(player.buyCard(kingdom, CardRegistry.getId("Framework")));
+        assertEquals(7, player.getCoins());
+        assertEquals(8, kingdom.getRemainingQuantity("Framework"));
+    }
+    
     @Test
     public void testBuyCard_InsufficientCoins() {
         player.startTurn();
@@ -331,10 +385,82 @@ public class PlayerTest {
         assertEquals(0, score);
     }
     
+    @Test
+    public void testCalculateScore_TracksWholeTurn() {
+        PlayerDeck deck = new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck()));
+        Player p = new Player("Alice", deck);
+        p.drawCards(5);
+        assertEquals(10, p.calculateScore());
+        
+        p.startTurn();
+        p.playAllCryptoCards();
+        p.addCoins(8);
+        assertTrue(p.buyCard(kingdom, "Framework"));
+        assertEquals(16, p.calculateScore());
+        
+        p.endTurn();
+        p.drawCards(5);
+        assertEquals(16, p.calculateScore());
+        assertEquals(p.recountScore(), p.calculateScore());
+    }
+    
+    @Test
+    public void testGetDeckSize_CountsEveryZone() {
+        PlayerDeck deck = new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck()));
+        Player p = new Player("Alice", deck);
+        p.drawCards(5);
+        assertEquals(10, p.getDeckSize());
+        
+        p.startTurn();
+        p.playAllCryptoCards();
+        p.addCoins(8);
+        assertTrue(p.buyCard(kingdom, "Framework"));
+        assertEquals(11, p.getDeckSize());
+        
+        p.endTurn();
+        assertEquals(11, p.getDeckSize());
+    }
+    
+    @Test
+    public void testCalculateScore_TracksHandChanges() {
+        player.getHand().add(new Card(CardType.AUTOMATION, "Module", 5, 3));
+        player.getHand().add(new Card(CardType.AUTOMATION, "Method", 2, 1));
+        player.getHand().remove(0);
+        player.getHand().set(0, new Card(CardType.AUTOMATION, "Framework", 8, 6));
+        
+        assertEquals(6, player.calculateScore());
+        assertEquals(6, player.recountScore());
+    }
+    
     @Test
     public void testToString() {
         String result = player.toString();
         assertTrue(result.contains("Test Player"));
         assertTrue(result.contains("hand"));
     }
+
+    @Test
+    public void testGetHash_EqualStatesHashEqual() {
+        Player first = new Player("A", new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck())));
+        Player second = new Player("B", new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck())));
+        first.drawCards(5);
+        second.drawCards(5);
+        assertEquals(first.getHash(), second.getHash());
+
+        first.playAllCryptoCards();
+        assertNotEquals(first.getHash(), second.getHash());
+
+        second.playAllCryptoCards();
+        assertEquals(first.getHash(), second.getHash());
+    }
+
+    @Test
+    public void testGetHash_ChangesWhenCardsMoveBetweenZones() {
+        player.getHand().add(new Card(CardType.CRYPTOCURRENCY, "Bitcoin", 0, 1));
+        long inHand = player.getHash();
+
+        player.endTurn();
+
+        assertNotEquals(inHand, player.getHash());
+    }
 }
@@ -0,0 +1,96 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * Unit tests for the PolicyPurchaseStrategy class.
+ */
+public class PolicyPurchaseStrategyTest {
+
+    private static final int FRAMEWORK = CardRegistry.getId("Framework");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BuyPolicy policy;
+    private PolicyPurchaseStrategy strategy;
+
+    @Before
+    public void setUp() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("policy.rpol");
+        new BuyPolicySolver(8).solve(path);
+        policy = new BuyPolicy(path);
+        strategy = new PolicyPurchaseStrategy(policy, App.DEFAULT_STRATEGY);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        policy.close();
+    }
+
+    private static Player starterPlayer() {
+        Player player = new Player("A", new PlayerDeck(new ArrayList<>(CardRegistry.createStarterDeck())));
+        player.startTurn();
+        return player;
+    }
+
+    @Test
+    public void testChoosePurchase_FollowsPolicy() {
+        Player player = starterPlayer();
+        player.addCoins(5);
+        Kingdom kingdom = Kingdom.createStandardKingdom();
+
+        int expected = policy.choose(8, new int[CardRegistry.getTemplateCount()], 5);
+
+        assertEquals(expected, strategy.choosePurchase(player, kingdom));
+    }
+
+    @Test
+    public void testChoosePurchase_FallsBackWhenPileIsEmpty() {
+        Player player = starterPlayer();
+        player.addCoins(8);
+        Kingdom kingdom = Kingdom.createStandardKingdom();
+        int[] bought = new int[CardRegistry.getTemplateCount()];
+        assertEquals(FRAMEWORK, policy.choose(1, bought, 8));
+        // Seven cards bought leaves one turn, where 8 coins buy Framework
+        Card bitcoin = CardRegistry.getTemplate("Bitcoin").getCard();
+        for (int i = 0; i < 7; i++) {
+            player.getDeck().discard(bitcoin);
+        }
+        assertEquals(FRAMEWORK, strategy.choosePurchase(player, kingdom));
+
+        kingdom.setRemainingQuantity(FRAMEWORK, 0);
+
+        assertEquals(App.DEFAULT_STRATEGY.choosePurchase(player, kingdom), strategy.choosePurchase(player, kingdom));
+    }
+
+    @Test
+    public void testChoosePurchase_FallsBackWithoutStarterDeck() {
+        Player player = new Player("Empty");
+        player.startTurn();
+        player.addCoins(3);
+        Kingdom kingdom = Kingdom.createStandardKingdom();
+
+        assertEquals(App.DEFAULT_STRATEGY.choosePurchase(3, kingdom.getAvailableMask()),
+            strategy.choosePurchase(player, kingdom));
+    }
+
+    @Test
+    public void testPlayGame_CompletesAgainstDefault() {
+        App game = new App(GameListener.NONE, RandomStreams.forGame(3L, 0));
+        game.setupGame(strategy, App.DEFAULT_STRATEGY);
+
+        GameResult result = game.playGame();
+
+        assertTrue(game.getKingdom().isGameOver());
+        assertTrue(result.getTurnCount() > 16);
+    }
+}
@@ -0,0 +1,98 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the ProgressReporter class.
+ */
+public class ProgressReporterTest {
+
+    private static ProgressReporter<RunningStats> reporter(Duration interval, List<RunningStats> reports) {
+        return new ProgressReporter<>(new RunningStats(), RunningStats::merge, RunningStats::copy,
+            interval, reports == null ? null : reports::add);
+    }
+
+    private static RunningStats chunk(double... values) {
+        RunningStats stats = new RunningStats();
+        for (double value : values) {
+            stats.add(value);
+        }
+        return stats;
+    }
+
+    @Test
+    public void testRecord_ReportsCopiesWhenDue() {
+        List<RunningStats> reports = new ArrayList<>();
+        ProgressReporter<RunningStats> reporter = reporter(Duration.ZERO, reports);
+
+        reporter.record(chunk(1, 2));
+        reporter.record(chunk(3));
+
+        assertEquals(2, reports.size());
+        assertEquals(2, reports.get(0).getCount());
+        assertEquals(3, reports.get(1).getCount());
+        assertNotSame(reports.get(0), reports.get(1));
+        assertEquals(2.0, reporter.snapshot().getMean(), 1e-12);
+    }
+
+    @Test
+    public void testRecord_WaitsForInterval() {
+        List<RunningStats> reports = new ArrayList<>();
+        ProgressReporter<RunningStats> reporter = reporter(Duration.ofHours(1), reports);
+
+        reporter.record(chunk(1, 2));
+
+        assertTrue(reports.isEmpty());
+        assertEquals(2, reporter.snapshot().getCount());
+    }
+
+    @Test
+    public void testRecord_SlowListenerNeverOverlaps() throws InterruptedException {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger mostInside = new AtomicInteger();
+        AtomicInteger reports = new AtomicInteger();
+        ProgressReporter<RunningStats> reporter = new ProgressReporter<>(new RunningStats(), RunningStats::merge,
+            RunningStats::copy, Duration.ZERO, snapshot -> {
+                mostInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inside.decrementAndGet();
+                reports.incrementAndGet();
+            });
+
+        Thread[] workers = new Thread[4];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    reporter.record(chunk(1));
+                }
+            });
+            workers[w].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(1, mostInside.get());
+        assertTrue(reports.get() > 0);
+        assertEquals(200, reporter.snapshot().getCount());
+    }
+
+    @Test
+    public void testRecord_NoListener() {
+        ProgressReporter<RunningStats> reporter = reporter(Duration.ZERO, null);
+
+        reporter.record(chunk(5));
+
+        assertEquals(1, reporter.snapshot().getCount());
+    }
+}
@@ -0,0 +1,105 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the PriorityPurchaseStrategy and CompiledPurchaseStrategy classes.
+ */
+public class PurchaseStrategyTest {
+    
+    private static final long ALL_AVAILABLE = (1L << CardRegistry.getTemplateCount()) - 1;
+    
+    private final int bitcoin = CardRegistry.getId("Bitcoin");
+    private final int ethereum = CardRegistry.getId("Ethereum");
+    private final int dogecoin = CardRegistry.getId("Dogecoin");
+    private final int framework = CardRegistry.getId("Framework");
+    
+    @Test
+    public void testFrameworkFirst_BuysBestAffordable() {
+        PurchaseStrategy strategy = PriorityPurchaseStrategy.FRAMEWORK_FIRST;
+        
+        assertEquals(framework, strategy.choosePurchase(8, ALL_AVAILABLE));
+        assertEquals(dogecoin, strategy.choosePurchase(7, ALL_AVAILABLE));
+        assertEquals(ethereum, strategy.choosePurchase(3, ALL_AVAILABLE));
+        assertEquals(bitcoin, strategy.choosePurchase(0, ALL_AVAILABLE));
+    }
+    
+    @Test
+    public void testFrameworkFirst_SkipsEmptyPiles() {
+        PurchaseStrategy strategy = PriorityPurchaseStrategy.FRAMEWORK_FIRST;
+        long noFramework = ALL_AVAILABLE & ~(1L << framework);
+        
+        assertEquals(dogecoin, strategy.choosePurchase(9, noFramework));
+        assertEquals(Card.NO_ID, strategy.choosePurchase(2, 1L << framework));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testPriority_UnknownCard() {
+        new PriorityPurchaseStrategy("Bitcoin", "NonExistent");
+    }
+    
+    @Test
+    public void testCompile_MatchesSourceEverywhere() {
+        PurchaseStrategy source = new PriorityPurchaseStrategy("Module", "Ethereum", "Method");
+        CompiledPurchaseStrategy compiled = CompiledPurchaseStrategy.compile(source);
+        
+        for (int coins = 0; coins <= 15; coins++) {
+            for (long mask = 0; mask <= ALL_AVAILABLE; mask++) {
+                assertEquals(source.choosePurchase(coins, mask), compiled.choosePurchase(coins, mask));
+            }
+        }
+        assertSame(source, compiled.getSource());
+    }
+    
+    @Test
+    public void testCompile_Idempotent() {
+        CompiledPurchaseStrategy compiled = CompiledPurchaseStrategy.compile(PriorityPurchaseStrategy.FRAMEWORK_FIRST);
+        assertSame(compiled, CompiledPurchaseStrategy.compile(compiled));
+    }
+    
+    @Test
+    public void testCompile_RejectsStrategyNeedingPlayer() {
+        PurchaseStrategy needsPlayer = new PurchaseStrategy() {
+            @Override
+            public int choosePurchase(int coins, long availableMask) {
+                return Card.NO_ID;
+            }
+            
+            @Override
+            public boolean isStateless() {
+                return false;
+            }
+        };
+        assertTrue(App.DEFAULT_STRATEGY.isStateless());
+        
+        try {
+            CompiledPurchaseStrategy.compile(needsPlayer);
+            fail("Expected a strategy that needs the player to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Cannot compile"));
+        }
+    }
+    
+    @Test
+    public void testChoosePurchase_FromPlayerAndKingdom() {
+        Kingdom kingdom = Kingdom.createStandardKingdom();
+        Player player = new Player("Test Player");
+        player.startTurn();
+        player.addCoins(6);
+        
+        assertEquals(dogecoin, PriorityPurchaseStrategy.FRAMEWORK_FIRST.choosePurchase(player, kingdom));
+    }
+    
+    @Test
+    public void testSetupGame_WithStrategies() {
+        PurchaseStrategy bitcoinOnly = new PriorityPurchaseStrategy("Bitcoin");
+        App game = new App(GameListener.NONE, RandomStreams.forGame(8L, 0L));
+        game.setupGame(bitcoinOnly, App.DEFAULT_STRATEGY);
+        
+        GameResult result = game.playGame();
+        
+        assertEquals(2, result.getPlayerCount());
+        assertEquals(1, result.getWinner());
+    }
+}
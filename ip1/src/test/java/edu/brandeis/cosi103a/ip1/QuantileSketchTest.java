@@ -0,0 +1,89 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the QuantileSketch class.
+ */
+public class QuantileSketchTest {
+
+    @Test
+    public void testQuantile_WithinRelativeAccuracy() {
+        SplittableRandom random = new SplittableRandom(2);
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2 + 3);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] {0.0, 0.01, 0.25, 0.5, 0.9, 0.99, 1.0}) {
+            double exact = values[(int) (q * (values.length - 1))];
+            assertEquals(exact, sketch.quantile(q), exact * 0.01 + 1e-12);
+        }
+        assertEquals(10_000, sketch.getCount());
+    }
+
+    @Test
+    public void testAdd_Zeros() {
+        QuantileSketch sketch = new QuantileSketch(0.02);
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(100);
+
+        assertEquals(0.0, sketch.quantile(0.5), 0.0);
+        assertEquals(100.0, sketch.quantile(1.0), 2.0);
+        assertTrue(Double.isNaN(new QuantileSketch(0.02).quantile(0.5)));
+    }
+
+    @Test
+    public void testMerge_MatchesSingleSketch() {
+        SplittableRandom random = new SplittableRandom(3);
+        QuantileSketch whole = new QuantileSketch(0.01);
+        QuantileSketch low = new QuantileSketch(0.01);
+        QuantileSketch high = new QuantileSketch(0.01);
+        for (int i = 0; i < 2000; i++) {
+            double x = random.nextDouble(0.001, 1e6);
+            whole.add(x);
+            (x < 1000 ? low : high).add(x);
+        }
+
+        QuantileSketch merged = high.copy().merge(low);
+
+        for (double q = 0; q <= 1.0; q += 0.05) {
+            assertEquals(whole.quantile(q), merged.quantile(q), 0.0);
+        }
+        assertEquals(whole.getCount(), merged.getCount());
+    }
+
+    @Test
+    public void testAdd_SpaceGrowsWithRangeNotCount() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(10 + i % 50);
+        }
+
+        // 10..59 spans about 80 buckets at 1% accuracy
+        assertTrue(sketch.getBucketCapacity() < 200);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentAccuracy() {
+        new QuantileSketch(0.01).merge(new QuantileSketch(0.02));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAdd_Negative() {
+        new QuantileSketch(0.01).add(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuantile_OutOfRange() {
+        new QuantileSketch(0.01).quantile(1.5);
+    }
+}
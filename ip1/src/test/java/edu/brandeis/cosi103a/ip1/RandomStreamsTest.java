@@ -0,0 +1,46 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the RandomStreams class.
+ */
+public class RandomStreamsTest {
+    
+    @Test
+    public void testForGame_SameInputsSameStream() {
+        SplittableRandom first = RandomStreams.forGame(42L, 7L);
+        SplittableRandom second = RandomStreams.forGame(42L, 7L);
+        
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+    }
+    
+    @Test
+    public void testForGame_DifferentGamesDiffer() {
+        SplittableRandom first = RandomStreams.forGame(42L, 7L);
+        SplittableRandom second = RandomStreams.forGame(42L, 8L);
+        
+        assertNotEquals(first.nextLong(), second.nextLong());
+    }
+    
+    @Test
+    public void testForGame_DifferentSeedsDiffer() {
+        SplittableRandom first = RandomStreams.forGame(1L, 0L);
+        SplittableRandom second = RandomStreams.forGame(2L, 0L);
+        
+        assertNotEquals(first.nextLong(), second.nextLong());
+    }
+    
+    @Test
+    public void testForGame_SplitsAreReproducible() {
+        SplittableRandom first = RandomStreams.forGame(42L, 3L);
+        SplittableRandom second = RandomStreams.forGame(42L, 3L);
+        
+        assertEquals(first.split().nextLong(), second.split().nextLong());
+        assertEquals(first.split().nextLong(), second.split().nextLong());
+    }
+}
@@ -0,0 +1,52 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Unit tests for the ReplayFormat class.
+ */
+public class ReplayFormatTest {
+    
+    @Test
+    public void testVarint_RoundTrip() {
+        long[] values = {0, 1, 127, 128, 300, 16383, 16384, Integer.MAX_VALUE, Long.MAX_VALUE, -1L};
+        byte[] buffer = new byte[values.length * 10];
+        int position = 0;
+        for (long value : values) {
+            int end = ReplayFormat.writeVarint(buffer, position, value);
+            assertEquals(ReplayFormat.varintSize(value), end - position);
+            position = end;
+        }
+        
+        ByteBuffer in = ByteBuffer.wrap(buffer, 0, position);
+        for (long value : values) {
+            assertEquals(value, ReplayFormat.readVarint(in));
+        }
+        assertFalse(in.hasRemaining());
+    }
+    
+    @Test
+    public void testVarintSize_SmallValuesTakeOneByte() {
+        assertEquals(1, ReplayFormat.varintSize(0));
+        assertEquals(1, ReplayFormat.varintSize(127));
+        assertEquals(2, ReplayFormat.varintSize(128));
+        assertEquals(10, ReplayFormat.varintSize(-1L));
+    }
+    
+    @Test
+    public void testCheckHeader_Valid() {
+        ReplayFormat.checkHeader(ReplayFormat.header());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckHeader_WrongMagic() {
+        ReplayFormat.checkHeader(ByteBuffer.wrap(new byte[] {'N', 'O', 'P', 'E', 1}));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckHeader_WrongVersion() {
+        ReplayFormat.checkHeader(ByteBuffer.wrap(new byte[] {'R', 'P', 'L', 'Y', 99}));
+    }
+}
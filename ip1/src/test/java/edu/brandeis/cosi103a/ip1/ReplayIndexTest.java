@@ -0,0 +1,138 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Unit tests for the ReplayIndex class.
+ */
+public class ReplayIndexTest {
+    
+    private static final int GAMES = 200;
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path archive;
+    private Path indexPath;
+    private SimulationRunner runner;
+    
+    @Before
+    public void setUp() throws IOException {
+        archive = folder.getRoot().toPath().resolve("games.rply");
+        indexPath = folder.getRoot().toPath().resolve("games.rplx");
+        runner = new SimulationRunner(2, 13L);
+        try (ReplayWriter writer = new ReplayWriter(archive, indexPath)) {
+            runner.setReplayWriter(writer);
+            for (int i = 0; i < GAMES; i++) {
+                runner.playGame(i);
+            }
+        }
+        runner.setReplayWriter(null);
+    }
+    
+    @Test
+    public void testEntries_MatchResults() throws IOException {
+        try (ReplayIndex index = new ReplayIndex(indexPath)) {
+            assertEquals(GAMES, index.size());
+            for (long entry = 0; entry < GAMES; entry++) {
+                GameResult result = runner.playGame(entry);
+                assertEquals(entry, index.getGameIndex(entry));
+                assertEquals(result.getTurnCount(), index.getTurnCount(entry));
+                assertEquals(2, index.getPlayerCount(entry));
+                assertEquals(result.getWinner(), index.getWinner(entry));
+                assertEquals(result.isTie(), index.isTie(entry));
+                assertEquals(result.isFrameworkEmptied(), index.isFrameworkEmptied(entry));
+                assertEquals(result.getScore(0), index.getScore(entry, 0));
+                assertEquals(result.getScore(1), index.getScore(entry, 1));
+            }
+        }
+    }
+    
+    @Test
+    public void testEmptyPileMask_FrameworkEnding() throws IOException {
+        int framework = CardRegistry.getId("Framework");
+        try (ReplayIndex index = new ReplayIndex(indexPath)) {
+            for (long entry = 0; entry < index.size(); entry++) {
+                boolean frameworkEmpty = (index.getEmptyPileMask(entry) & (1 << framework)) != 0;
+                assertEquals(index.isFrameworkEmptied(entry), frameworkEmpty);
+            }
+        }
+    }
+    
+    @Test
+    public void testFind_ByTurnCountAndPurchases() throws IOException {
+        int framework = CardRegistry.getId("Framework");
+        try (ReplayIndex index = new ReplayIndex(indexPath);
+             ReplayReader reader = new ReplayReader(archive)) {
+            long[] longGames = index.find(i -> index.getTurnCount(i) > 40);
+            for (long entry : longGames) {
+                assertTrue(index.getTurnCount(entry) > 40);
+            }
+            
+            long[] noFramework = index.find(i -> !index.hasBought(i, 0, framework));
+            for (long entry : noFramework) {
+                ReplayRecord record = index.readRecord(reader, entry);
+                assertEquals(index.getGameIndex(entry), record.getGameIndex());
+                for (int turn = 1; turn <= record.getTurnCount(); turn += 2) {
+                    for (int id : record.getPurchases(turn)) {
+                        assertNotEquals(framework, id);
+                    }
+                }
+            }
+            assertEquals(GAMES, index.entries().parallel().count());
+        }
+    }
+    
+    @Test
+    public void testReadRecord_PointsAtGame() throws IOException {
+        try (ReplayIndex index = new ReplayIndex(indexPath);
+             ReplayReader reader = new ReplayReader(archive)) {
+            ReplayRecord record = index.readRecord(reader, 57);
+            
+            assertEquals(57L, record.getGameIndex());
+            assertEquals(index.getTurnCount(57), record.getTurnCount());
+        }
+    }
+    
+    @Test
+    public void testRebuild_MatchesWrittenIndex() throws IOException {
+        Path rebuilt = folder.getRoot().toPath().resolve("rebuilt.rplx");
+        
+        long games = ReplayIndex.rebuild(archive, rebuilt);
+        
+        assertEquals(GAMES, games);
+        assertArrayEquals(Files.readAllBytes(indexPath), Files.readAllBytes(rebuilt));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetScore_SeatNotIndexed() throws IOException {
+        try (ReplayIndex index = new ReplayIndex(indexPath)) {
+            index.getScore(0, ReplayIndex.MAX_SEATS);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testHasBought_CardNotIndexed() throws IOException {
+        try (ReplayIndex index = new ReplayIndex(indexPath)) {
+            index.hasBought(0, 0, ReplayIndex.MAX_CARD_TYPES);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodeEntry_ScoreTooLarge() {
+        GameResult result = new GameResult(new int[] {40_000, 12}, 30, true);
+        ReplayIndex.encodeEntry(0, result, 0, new int[ReplayIndex.MAX_SEATS]);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_RejectsArchive() throws IOException {
+        new ReplayIndex(archive).close();
+    }
+}
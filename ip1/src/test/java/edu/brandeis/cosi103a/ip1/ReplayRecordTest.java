@@ -0,0 +1,96 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Unit tests for the ReplayRecord class.
+ */
+public class ReplayRecordTest {
+    
+    /**
+     * Records one game of a runner in memory and decodes it again.
+     */
+    private static ReplayRecord record(long seed, long gameIndex) {
+        ReplayRecorder recorder = new ReplayRecorder(null, seed, gameIndex);
+        App game = new App(recorder, RandomStreams.forGame(seed, gameIndex));
+        game.setupGame(2);
+        while (game.playNextTurn()) {
+            // Stop before onGameOver, which would hand the record to a writer
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(recorder.encode(2));
+        ReplayFormat.readVarint(buffer); // Length prefix
+        return ReplayRecord.decode(0, buffer);
+    }
+    
+    @Test
+    public void testReplay_MatchesOriginalGame() {
+        GameResult original = new SimulationRunner(2, 77L).playGame(4);
+        
+        GameResult replayed = record(77L, 4).replay();
+        
+        assertEquals(original.getTurnCount(), replayed.getTurnCount());
+        assertEquals(original.getScore(0), replayed.getScore(0));
+        assertEquals(original.getScore(1), replayed.getScore(1));
+        assertEquals(original.getWinner(), replayed.getWinner());
+    }
+    
+    @Test
+    public void testReplayTo_ReconstructsTurnState() {
+        ReplayRecord record = record(3L, 9);
+        App reference = new App(GameListener.NONE, RandomStreams.forGame(3L, 9));
+        reference.setupGame(2);
+        for (int t = 0; t < 10; t++) {
+            reference.playNextTurn();
+        }
+        
+        App replayed = record.replayTo(10);
+        
+        assertEquals(10, replayed.getTurnCount());
+        for (int seat = 0; seat < 2; seat++) {
+            Player expected = reference.getPlayers()[seat];
+            Player actual = replayed.getPlayers()[seat];
+            assertEquals(expected.getHand(), actual.getHand());
+            assertEquals(expected.calculateScore(), actual.calculateScore());
+            assertEquals(expected.getDeck().size(), actual.getDeck().size());
+            assertEquals(expected.getDeck().discardSize(), actual.getDeck().discardSize());
+        }
+        for (CardTemplate template : CardRegistry.getAllTemplates()) {
+            assertEquals(reference.getKingdom().getRemainingQuantity(template.getId()),
+                         replayed.getKingdom().getRemainingQuantity(template.getId()));
+        }
+    }
+    
+    @Test
+    public void testReplayTo_SetupOnly() {
+        App game = record(3L, 9).replayTo(0);
+        
+        assertEquals(0, game.getTurnCount());
+        assertEquals(5, game.getPlayers()[0].handSize());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testReplayTo_PastEnd() {
+        ReplayRecord record = record(3L, 9);
+        record.replayTo(record.getTurnCount() + 1);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testReplay_RefusedPurchase() {
+        // Nobody can afford a Framework on turn 1
+        int[][] purchases = {{CardRegistry.getId("Framework")}};
+        new ReplayRecord(0, 1L, 0, 2, purchases).replayTo(1);
+    }
+    
+    @Test
+    public void testGetPurchases() {
+        int[][] purchases = {{3}, {}, {4, 5}};
+        ReplayRecord record = new ReplayRecord(0, 1L, 0, 2, purchases);
+        
+        assertEquals(3, record.getTurnCount());
+        assertArrayEquals(new int[] {4, 5}, record.getPurchases(3));
+        assertEquals(0, record.getPurchases(2).length);
+    }
+}
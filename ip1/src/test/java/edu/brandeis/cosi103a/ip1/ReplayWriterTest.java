@@ -0,0 +1,185 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for the ReplayWriter, ReplayRecorder and ReplayReader classes.
+ */
+public class ReplayWriterTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Map<Long, ReplayRecord> readAll(Path path) throws IOException {
+        Map<Long, ReplayRecord> records = new HashMap<>();
+        try (ReplayReader reader = new ReplayReader(path)) {
+            ReplayRecord record;
+            while ((record = reader.next()) != null) {
+                records.put(record.getGameIndex(), record);
+            }
+        }
+        return records;
+    }
+    
+    @Test
+    public void testRecordAndRead_ParallelRun() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("games.rply");
+        SimulationRunner runner = new SimulationRunner(2, 21L);
+        
+        try (ReplayWriter writer = new ReplayWriter(path)) {
+            runner.setReplayWriter(writer);
+            runner.run(500);
+        }
+        
+        Map<Long, ReplayRecord> records = readAll(path);
+        assertEquals(500, records.size());
+        ReplayRecord record = records.get(123L);
+        GameResult expected = new SimulationRunner(2, 21L).playGame(123);
+        assertEquals(21L, record.getMasterSeed());
+        assertEquals(2, record.getPlayerCount());
+        assertEquals(expected.getTurnCount(), record.getTurnCount());
+    }
+    
+    @Test
+    public void testRecord_IsCompact() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("games.rply");
+        SimulationRunner runner = new SimulationRunner(2, 5L);
+        
+        try (ReplayWriter writer = new ReplayWriter(path)) {
+            runner.setReplayWriter(writer);
+            runner.run(1000);
+        }
+        
+        // A few bytes per turn: millions of games in a few hundred MB
+        assertTrue(Files.size(path) < 1000 * 200);
+    }
+    
+    @Test
+    public void testWriter_AppendsToExistingFile() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("games.rply");
+        SimulationRunner first = new SimulationRunner(2, 1L);
+        SimulationRunner second = new SimulationRunner(2, 1L);
+        
+        try (ReplayWriter writer = new ReplayWriter(path)) {
+            first.setReplayWriter(writer);
+            first.playGame(0);
+        }
+        try (ReplayWriter writer = new ReplayWriter(path)) {
+            second.setReplayWriter(writer);
+            second.playGame(1);
+        }
+        
+        Map<Long, ReplayRecord> records = readAll(path);
+        assertEquals(2, records.size());
+        assertTrue(records.containsKey(0L));
+        assertTrue(records.containsKey(1L));
+    }
+    
+    @Test
+    public void testReadAt_Offset() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("games.rply");
+        SimulationRunner runner = new SimulationRunner(2, 8L);
+        try (ReplayWriter writer = new ReplayWriter(path)) {
+            runner.setReplayWriter(writer);
+            for (int i = 0; i < 5; i++) {
+                runner.playGame(i);
+            }
+        }
+        ReplayRecord third = readAll(path).get(2L);
+        
+        try (ReplayReader reader = new ReplayReader(path)) {
+            ReplayRecord record = reader.readAt(third.getOffset());
+            assertEquals(2L, record.getGameIndex());
+            assertEquals(3L, reader.next().getGameIndex());
+        }
+    }
+    
+    @Test
+    public void testClose_ReportsUncheckedWriterFailure() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("games.rply");
+        ReplayWriter writer = new ReplayWriter(path, folder.getRoot().toPath().resolve("games.ridx"));
+        writer.submit(new byte[] {1}, null); // No index entry for an indexed writer
+        
+        try {
+            writer.close();
+            fail("Expected the writer thread's failure");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+        }
+        try {
+            writer.submit(new byte[] {1}, new byte[ReplayIndex.ENTRY_SIZE]);
+            fail("Expected submit to fail after the writer thread stopped");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriter_RejectsOtherFiles() throws IOException {
+        Path path = folder.newFile("notes.txt").toPath();
+        Files.write(path, "hello world".getBytes());
+        new ReplayWriter(path).close();
+    }
+    
+    /**
+     * Writes a replay file holding a header and then the given bytes, and
+     * returns the message of the exception reading its first record throws.
+     */
+    private String readCorrupt(int... record) throws IOException {
+        Path path = folder.getRoot().toPath().resolve("corrupt.rply");
+        ByteBuffer header = ReplayFormat.header();
+        byte[] bytes = new byte[header.remaining() + record.length];
+        header.get(bytes, 0, header.remaining());
+        for (int i = 0; i < record.length; i++) {
+            bytes[bytes.length - record.length + i] = (byte) record[i];
+        }
+        Files.write(path, bytes);
+        
+        try (ReplayReader reader = new ReplayReader(path)) {
+            reader.next();
+            fail("Expected a corrupt record");
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+    
+    @Test
+    public void testReader_TruncatedInsideLength() throws IOException {
+        // A length varint that continues past the end
+        assertTrue(readCorrupt(0x80).startsWith("Truncated replay record"));
+    }
+    
+    @Test
+    public void testReader_CorruptLength() throws IOException {
+        // Lengths far beyond the file, and a 10-byte varint that decodes negative
+        assertTrue(readCorrupt(0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 1, 2, 3).startsWith("Truncated replay record"));
+        assertTrue(readCorrupt(0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x01, 0)
+            .startsWith("Corrupt replay record length"));
+    }
+    
+    @Test
+    public void testReader_CorruptPayload() throws IOException {
+        // Seed, game index 0, 2 players, then a turn count far beyond the payload
+        assertTrue(readCorrupt(12, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 0xFF, 0x7F).startsWith("Corrupt replay record"));
+        // A payload that ends inside its own fields, though more bytes follow it in the file
+        assertTrue(readCorrupt(9, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 1, 0).startsWith("Truncated replay record"));
+        // One turn, then a byte the length covers but the record does not use
+        assertTrue(readCorrupt(13, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 1, 0, 0).startsWith("Corrupt replay record"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testReader_RejectsOtherFiles() throws IOException {
+        Path path = folder.newFile("empty.rply").toPath();
+        new ReplayReader(path).close();
+    }
+}
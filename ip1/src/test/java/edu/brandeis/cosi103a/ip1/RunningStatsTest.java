@@ -0,0 +1,83 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the RunningStats class.
+ */
+public class RunningStatsTest {
+
+    @Test
+    public void testAdd_MeanAndVariance() {
+        RunningStats stats = new RunningStats();
+        for (double x : new double[] {2, 4, 4, 4, 5, 5, 7, 9}) {
+            stats.add(x);
+        }
+
+        assertEquals(8, stats.getCount());
+        assertEquals(5.0, stats.getMean(), 1e-12);
+        assertEquals(32.0 / 7, stats.getVariance(), 1e-12);
+        assertEquals(2.0, stats.getMin(), 0.0);
+        assertEquals(9.0, stats.getMax(), 0.0);
+        assertEquals(Math.sqrt(32.0 / 7 / 8), stats.getStandardError(), 1e-12);
+    }
+
+    @Test
+    public void testAdd_StableForLargeOffsets() {
+        RunningStats stats = new RunningStats();
+        for (int i = 0; i < 1000; i++) {
+            stats.add(1e9 + (i % 2));
+        }
+
+        // Summing squares would lose these digits entirely
+        assertEquals(0.25 * 1000 / 999, stats.getVariance(), 1e-9);
+    }
+
+    @Test
+    public void testMerge_MatchesSingleAccumulator() {
+        SplittableRandom random = new SplittableRandom(1);
+        RunningStats whole = new RunningStats();
+        RunningStats[] parts = {new RunningStats(), new RunningStats(), new RunningStats()};
+        for (int i = 0; i < 3000; i++) {
+            double x = random.nextGaussian() * 7 + 40;
+            whole.add(x);
+            parts[random.nextInt(3)].add(x);
+        }
+
+        RunningStats merged = parts[0].copy().merge(parts[1]).merge(parts[2]);
+
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getMean(), merged.getMean(), 1e-9);
+        assertEquals(whole.getVariance(), merged.getVariance(), 1e-9);
+        assertEquals(whole.getMin(), merged.getMin(), 0.0);
+        assertEquals(whole.getMax(), merged.getMax(), 0.0);
+    }
+
+    @Test
+    public void testMerge_EmptySides() {
+        RunningStats stats = new RunningStats();
+        stats.add(3);
+        stats.add(5);
+
+        RunningStats fromEmpty = new RunningStats().merge(stats);
+        stats.merge(new RunningStats());
+
+        assertEquals(2, fromEmpty.getCount());
+        assertEquals(4.0, fromEmpty.getMean(), 0.0);
+        assertEquals(2.0, fromEmpty.getVariance(), 0.0);
+        assertEquals(2, stats.getCount());
+    }
+
+    @Test
+    public void testEmpty() {
+        RunningStats stats = new RunningStats();
+
+        assertEquals(0, stats.getCount());
+        assertEquals(0.0, stats.getMean(), 0.0);
+        assertEquals(0.0, stats.getVariance(), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, stats.getMin(), 0.0);
+    }
+}
@@ -0,0 +1,95 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the SequentialTest class.
+ */
+public class SequentialTestTest {
+
+    private static final PurchaseStrategy POINTS_ONLY = new PriorityPurchaseStrategy("Framework", "Module", "Method");
+
+    @Test
+    public void testDecide_Bounds() {
+        SequentialTest test = new SequentialTest(0.05, 0.05, 0.05);
+
+        assertEquals(SequentialTest.Decision.UNDECIDED, test.decide(0, 0));
+        assertEquals(SequentialTest.Decision.UNDECIDED, test.decide(50, 100));
+        assertEquals(SequentialTest.Decision.FIRST_BETTER, test.decide(80, 100));
+        assertEquals(SequentialTest.Decision.SECOND_BETTER, test.decide(20, 100));
+    }
+
+    @Test
+    public void testGetLogLikelihoodRatio_EvenRecordIsZero() {
+        SequentialTest test = new SequentialTest(0.1, 0.05, 0.05);
+
+        // ln(0.6 / 0.4) and ln(0.4 / 0.6) cancel
+        assertEquals(0.0, test.getLogLikelihoodRatio(500, 1000), 1e-9);
+        assertEquals(Math.log(1.5), test.getLogLikelihoodRatio(1, 1), 1e-12);
+    }
+
+    @Test
+    public void testWilsonInterval_ContainsRate() {
+        double[] interval = SequentialTest.wilsonInterval(520, 1000, SequentialTest.Z_95);
+
+        assertTrue(interval[0] < 0.52 && 0.52 < interval[1]);
+        assertEquals(0.489, interval[0], 0.001);
+        assertEquals(0.551, interval[1], 0.001);
+        assertArrayEquals(new double[] {0.0, 1.0}, SequentialTest.wilsonInterval(0, 0, SequentialTest.Z_95), 0.0);
+        assertEquals(0.0, SequentialTest.wilsonInterval(0, 10, SequentialTest.Z_95)[0], 0.0);
+    }
+
+    @Test
+    public void testCompare_StopsEarlyOnClearDifference() {
+        SequentialTest test = new SequentialTest(0.02, 0.01, 0.01);
+
+        SequentialTest.Result result = test.compare(App.DEFAULT_STRATEGY, POINTS_ONLY, 100_000, 4L);
+
+        assertEquals(SequentialTest.Decision.FIRST_BETTER, result.getDecision());
+        assertTrue(result.getGames() < 5_000);
+        assertTrue(result.getConfidenceInterval()[0] > 0.5);
+        assertTrue(result.toString().startsWith("FIRST_BETTER"));
+    }
+
+    @Test
+    public void testCompare_SecondBetter() {
+        SequentialTest test = new SequentialTest(0.02, 0.01, 0.01);
+
+        SequentialTest.Result result = test.compare(POINTS_ONLY, App.DEFAULT_STRATEGY, 100_000, 4L);
+
+        assertEquals(SequentialTest.Decision.SECOND_BETTER, result.getDecision());
+        assertTrue(result.getWinRate() < 0.5);
+    }
+
+    @Test
+    public void testCompare_IdenticalStrategiesRunToLimit() {
+        SequentialTest test = new SequentialTest(0.05, 0.05, 0.05);
+
+        SequentialTest.Result result = test.compare(App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY, 300, 8L);
+
+        assertEquals(300, result.getGames());
+        assertEquals(test.getLogLikelihoodRatio(result.getWins(), 300), result.getLogLikelihoodRatio(), 0.0);
+    }
+
+    @Test
+    public void testCompare_SameSeedSameResult() {
+        SequentialTest test = new SequentialTest(0.01, 0.05, 0.05);
+
+        SequentialTest.Result first = test.compare(App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY, 2_000, 21L);
+        SequentialTest.Result second = test.compare(App.DEFAULT_STRATEGY, App.DEFAULT_STRATEGY, 2_000, 21L);
+
+        assertEquals(first.getGames(), second.getGames());
+        assertEquals(first.getWins(), second.getWins());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_DeltaOutOfRange() {
+        new SequentialTest(0.5, 0.05, 0.05);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_ErrorRateOutOfRange() {
+        new SequentialTest(0.05, 0.0, 0.05);
+    }
+}
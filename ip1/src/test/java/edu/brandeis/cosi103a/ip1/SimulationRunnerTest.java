@@ -0,0 +1,190 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the SimulationRunner and SimulationSummary classes.
+ */
+public class SimulationRunnerTest {
+    
+    @Test
+    public void testRun_PlaysEveryGame() {
+        SimulationRunner runner = new SimulationRunner(2);
+        
+        SimulationSummary summary = runner.run(600);
+        
+        assertEquals(600, summary.getGames());
+        assertEquals(600, summary.getWins(0) + summary.getWins(1));
+        assertEquals(1.0, summary.getWinRate(0) + summary.getWinRate(1), 1e-9);
+        assertTrue(summary.getAverageTurns() > 0);
+        assertTrue(summary.getAverageScore(0) >= 10); // Never below the starter deck
+    }
+    
+    @Test
+    public void testRun_SameSeedSameResults() {
+        SimulationSummary first = new SimulationRunner(2, 1234L).run(300);
+        SimulationSummary second = new SimulationRunner(2, 1234L).run(300);
+        
+        assertEquals(first.getWins(0), second.getWins(0));
+        assertEquals(first.getTies(), second.getTies());
+        assertEquals(first.getAverageTurns(), second.getAverageTurns(), 0.0);
+        assertArrayEquals(first.getScoreDistribution(1), second.getScoreDistribution(1));
+    }
+    
+    @Test
+    public void testPlayGame_Replayable() {
+        SimulationRunner runner = new SimulationRunner(2, 99L);
+        
+        GameResult first = runner.playGame(17);
+        GameResult replay = new SimulationRunner(2, 99L).playGame(17);
+        
+        assertEquals(first.getTurnCount(), replay.getTurnCount());
+        assertEquals(first.getScore(0), replay.getScore(0));
+        assertEquals(first.getScore(1), replay.getScore(1));
+        assertEquals(99L, runner.getMasterSeed());
+    }
+    
+    @Test
+    public void testRun_ContinuesFromFirstGame() {
+        SimulationSummary whole = new SimulationRunner(2, 55L).run(500);
+        SimulationRunner runner = new SimulationRunner(2, 55L);
+        
+        SimulationSummary parts = runner.run(0, 200).merge(runner.run(200, 300));
+        
+        assertEquals(whole.getGames(), parts.getGames());
+        assertEquals(whole.getWins(0), parts.getWins(0));
+        assertEquals(whole.getAverageTurns(), parts.getAverageTurns(), 0.0);
+        assertArrayEquals(whole.getScoreDistribution(0), parts.getScoreDistribution(0));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRun_NegativeFirstGame() {
+        new SimulationRunner(2).run(-1, 10);
+    }
+    
+    @Test
+    public void testRun_ReportsProgress() {
+        List<SimulationSummary> reports = new ArrayList<>();
+        SimulationSummary summary = new SimulationRunner(2, 8L).run(2_000, Duration.ZERO, partial -> {
+            synchronized (reports) {
+                reports.add(partial);
+            }
+        });
+        
+        assertTrue(reports.size() > 1);
+        SimulationSummary last = reports.get(reports.size() - 1);
+        assertEquals(2_000, last.getGames());
+        assertEquals(summary.getWins(0), last.getWins(0));
+        assertEquals(summary.getTurnStats().getMean(), last.getTurnStats().getMean(), 1e-9);
+        for (SimulationSummary partial : reports) {
+            assertTrue(partial.getGames() <= 2_000);
+        }
+    }
+    
+    @Test
+    public void testRun_RecordsDistributions() {
+        SimulationSummary summary = new SimulationRunner(2, 31L).run(1_000);
+        
+        RunningStats turns = summary.getTurnStats();
+        assertEquals(1_000, turns.getCount());
+        assertEquals(summary.getAverageTurns(), turns.getMean(), 1e-9);
+        assertTrue(turns.getStandardDeviation() > 0);
+        assertEquals(1_000, summary.getTurnHistogram().getTotalCount());
+        assertEquals(summary.getAverageScore(1), summary.getScoreStats(1).getMean(), 1e-9);
+        
+        RunningStats decks = summary.getDeckSizeStats(0);
+        assertEquals(1_000, decks.getCount());
+        assertTrue(decks.getMin() >= 10); // Never fewer than the starter deck
+        double median = summary.getDeckSizeSketch(0).quantile(0.5);
+        assertTrue(median >= decks.getMin() * 0.99 && median <= decks.getMax() * 1.01);
+        assertTrue(summary.displaySummary().contains("deck size"));
+    }
+    
+    @Test
+    public void testDisplaySummary_ConstantLengthTurnQuantiles() {
+        SimulationSummary summary = new SimulationSummary(2);
+        for (int i = 0; i < 5; i++) {
+            summary.add(new GameResult(new int[] {10, 5}, 40, true));
+        }
+        
+        assertTrue(summary.displaySummary().contains("median 40, 90th percentile 40)"));
+    }
+    
+    @Test
+    public void testSummary_StatisticsMergeLikeOneSummary() {
+        SimulationSummary whole = new SimulationSummary(2);
+        SimulationSummary first = new SimulationSummary(2);
+        SimulationSummary second = new SimulationSummary(2);
+        GameResult[] results = {
+            new GameResult(new int[] {30, 25}, new int[] {20, 21}, 40, true),
+            new GameResult(new int[] {20, 200}, new int[] {18, 40}, 60, false),
+            new GameResult(new int[] {25, 25}, new int[] {19, 19}, 50, true),
+        };
+        for (int i = 0; i < results.length; i++) {
+            whole.add(results[i]);
+            (i == 0 ? first : second).add(results[i]);
+        }
+        
+        SimulationSummary merged = first.copy().merge(second);
+        
+        assertEquals(whole.getTurnStats().getVariance(), merged.getTurnStats().getVariance(), 1e-9);
+        assertEquals(whole.getScoreStats(1).getVariance(), merged.getScoreStats(1).getVariance(), 1e-9);
+        assertEquals(40.0, merged.getDeckSizeStats(1).getMax(), 0.0);
+        assertEquals(1, merged.getTurnHistogram().getCount(60));
+        assertEquals(1, first.getGames()); // copy() left it alone
+    }
+    
+    @Test
+    public void testRun_ZeroGames() {
+        SimulationSummary summary = new SimulationRunner(2).run(0);
+        
+        assertEquals(0, summary.getGames());
+        assertEquals(0.0, summary.getWinRate(0), 0.0);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_NoPlayers() {
+        new SimulationRunner(0);
+    }
+    
+    @Test
+    public void testSummary_ScoreDistribution() {
+        SimulationSummary summary = new SimulationSummary(2);
+        summary.add(new GameResult(new int[] {30, 25}, 40, true));
+        summary.add(new GameResult(new int[] {30, 100}, 44, false));
+        
+        long[] seat0 = summary.getScoreDistribution(0);
+        assertEquals(31, seat0.length);
+        assertEquals(2, seat0[30]);
+        
+        long[] seat1 = summary.getScoreDistribution(1);
+        assertEquals(1, seat1[25]);
+        assertEquals(1, seat1[100]);
+        assertEquals(42.0, summary.getAverageTurns(), 1e-9);
+        assertEquals(0.5, summary.getFrameworkEndingRate(), 1e-9);
+    }
+    
+    @Test
+    public void testSummary_Merge() {
+        SimulationSummary first = new SimulationSummary(2);
+        first.add(new GameResult(new int[] {30, 25}, 40, true));
+        
+        SimulationSummary second = new SimulationSummary(2);
+        second.add(new GameResult(new int[] {20, 200}, 60, false));
+        second.add(new GameResult(new int[] {25, 25}, 50, true));
+        
+        first.merge(second);
+        
+        assertEquals(3, first.getGames());
+        assertEquals(1, first.getWins(0));
+        assertEquals(2, first.getWins(1));
+        assertEquals(1, first.getTies());
+        assertEquals(1, first.getScoreDistribution(1)[200]);
+        assertEquals(50.0, first.getAverageTurns(), 1e-9);
+    }
+}
@@ -0,0 +1,106 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the SuccessiveHalving class.
+ */
+public class SuccessiveHalvingTest {
+
+    private static SuccessiveHalving search(long seed) {
+        return new SuccessiveHalving(App.DEFAULT_STRATEGY, 200, new SequentialTest(0.02, 0.05, 0.05), 20_000, seed);
+    }
+
+    @Test
+    public void testRun_FindsStrongestCandidate() {
+        SuccessiveHalving search = search(6L);
+        search.addCandidate("Points only", new PriorityPurchaseStrategy("Framework", "Module", "Method"));
+        search.addCandidate("Coins only", new PriorityPurchaseStrategy("Dogecoin", "Ethereum", "Bitcoin"));
+        search.addCandidate("Framework first", PriorityPurchaseStrategy.FRAMEWORK_FIRST);
+        search.addCandidate("Cheap coins", new PriorityPurchaseStrategy("Framework", "Ethereum", "Bitcoin"));
+        search.addCandidate("Modules", new PriorityPurchaseStrategy("Framework", "Module", "Ethereum", "Method"));
+
+        SuccessiveHalving.Result result = search.run();
+
+        assertEquals(2, result.getWinner());
+        assertEquals("Framework first", result.getName(result.getWinner()));
+        assertEquals(0, result.getEliminatedIn(2));
+        assertTrue(result.getEliminatedIn(0) > 0);
+        assertTrue(result.isSignificant());
+    }
+
+    @Test
+    public void testDisplayResult_NamesFinalistsInTestOrder() {
+        // "b" won the final as the second strategy: "a" won only 40 of 100 games
+        SequentialTest.Result duel = new SequentialTest.Result(SequentialTest.Decision.UNDECIDED, 40, 100, 0.0);
+        SuccessiveHalving.Result result = new SuccessiveHalving.Result(Arrays.asList("a", "b"),
+            new long[] {60, 50}, new long[] {100, 100}, new int[] {1, 0}, 1, 0, 0, duel);
+
+        assertTrue(result.displayResult().contains("Final a vs b: UNDECIDED after 100 games: win rate 40.00%"));
+    }
+
+    @Test
+    public void testRun_HalvesCandidatesThenPlaysFinal() {
+        SuccessiveHalving search = search(9L);
+        for (int i = 0; i < 4; i++) {
+            search.addCandidate("Default " + i, App.DEFAULT_STRATEGY);
+        }
+
+        SuccessiveHalving.Result result = search.run();
+
+        int dropped = 0;
+        for (int c = 0; c < 4; c++) {
+            assertEquals(200, result.getGames(c));
+            if (result.getEliminatedIn(c) == 1) {
+                dropped++;
+            }
+        }
+        assertEquals(2, dropped);
+        assertEquals(2, result.getEliminatedIn(result.getRunnerUp()));
+        assertEquals(800 + result.getFinalResult().getGames(), result.getTotalGames());
+        assertNotEquals(result.getWinner(), result.getRunnerUp());
+        assertTrue(result.displayResult().contains("Total games"));
+    }
+
+    @Test
+    public void testRun_DoublesGamesEachRound() {
+        SuccessiveHalving search = search(3L);
+        for (int i = 0; i < 8; i++) {
+            search.addCandidate("Default " + i, App.DEFAULT_STRATEGY);
+        }
+
+        SuccessiveHalving.Result result = search.run();
+
+        // 200 games in round 1, then 400 more for the 4 survivors of round 2
+        for (int c = 0; c < 8; c++) {
+            assertEquals(result.getEliminatedIn(c) == 1 ? 200 : 600, result.getGames(c));
+        }
+    }
+
+    @Test
+    public void testRun_SingleCandidate() {
+        SuccessiveHalving search = search(1L);
+        search.addCandidate("Only", App.DEFAULT_STRATEGY);
+
+        SuccessiveHalving.Result result = search.run();
+
+        assertEquals(0, result.getWinner());
+        assertEquals(-1, result.getRunnerUp());
+        assertNull(result.getFinalResult());
+        assertFalse(result.isSignificant());
+        assertEquals(0, result.getTotalGames());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRun_NoCandidates() {
+        search(1L).run();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_TooFewInitialGames() {
+        new SuccessiveHalving(App.DEFAULT_STRATEGY, 1, new SequentialTest(0.02, 0.05, 0.05), 100, 1L);
+    }
+}
@@ -0,0 +1,180 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the Tournament and Standings classes.
+ */
+public class TournamentTest {
+
+    private static Tournament threeEntrants(int tableSize, long seed) {
+        Tournament tournament = new Tournament(tableSize, seed);
+        tournament.addEntrant("Framework first", PriorityPurchaseStrategy.FRAMEWORK_FIRST);
+        tournament.addEntrant("Big money", new PriorityPurchaseStrategy("Framework", "Dogecoin", "Ethereum"));
+        tournament.addEntrant("Coins only", new PriorityPurchaseStrategy("Dogecoin", "Ethereum", "Bitcoin"));
+        return tournament;
+    }
+
+    @Test
+    public void testGetTables_EveryPairing() {
+        int[][] tables = threeEntrants(2, 1L).getTables();
+
+        assertEquals(3, tables.length);
+        assertArrayEquals(new int[] {0, 1}, tables[0]);
+        assertArrayEquals(new int[] {0, 2}, tables[1]);
+        assertArrayEquals(new int[] {1, 2}, tables[2]);
+    }
+
+    @Test
+    public void testGetTables_ThreePlayerTables() {
+        Tournament tournament = threeEntrants(3, 1L);
+        tournament.addEntrant("Points only", new PriorityPurchaseStrategy("Framework", "Module", "Method"));
+
+        assertEquals(4, tournament.getTables().length); // 4 choose 3
+        assertEquals(1, threeEntrants(3, 1L).getTables().length);
+    }
+
+    @Test
+    public void testSeating_RotatesEveryEntrantThroughEverySeat() {
+        int[] table = {2, 5, 7};
+
+        assertArrayEquals(new int[] {2, 5, 7}, Tournament.seating(table, 0));
+        assertArrayEquals(new int[] {5, 7, 2}, Tournament.seating(table, 1));
+        assertArrayEquals(new int[] {7, 2, 5}, Tournament.seating(table, 2));
+        assertArrayEquals(new int[] {2, 5, 7}, Tournament.seating(table, 3));
+    }
+
+    @Test
+    public void testRun_PlaysEveryTable() {
+        Standings standings = threeEntrants(2, 42L).run(101);
+
+        // 101 rounds up to 102 games at each of 3 tables
+        assertEquals(306, standings.getGames());
+        for (int e = 0; e < 3; e++) {
+            assertEquals(204, standings.getGames(e));
+        }
+        assertEquals(102, standings.getMeetings(0, 1));
+        assertEquals(102, standings.getMeetings(1, 0));
+        assertEquals(102, standings.getHeadToHeadWins(0, 1) + standings.getHeadToHeadWins(1, 0));
+        assertEquals(306, standings.getWins(0) + standings.getWins(1) + standings.getWins(2));
+    }
+
+    @Test
+    public void testRun_SameSeedSameStandings() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Tournament first = threeEntrants(2, 7L);
+            Tournament second = new Tournament(2, 7L, pool);
+            second.addEntrant("Framework first", PriorityPurchaseStrategy.FRAMEWORK_FIRST);
+            second.addEntrant("Big money", new PriorityPurchaseStrategy("Framework", "Dogecoin", "Ethereum"));
+            second.addEntrant("Coins only", new PriorityPurchaseStrategy("Dogecoin", "Ethereum", "Bitcoin"));
+
+            Standings a = first.run(200);
+            Standings b = second.run(200);
+
+            for (int e = 0; e < 3; e++) {
+                assertEquals(a.getWins(e), b.getWins(e));
+                assertEquals(a.getTies(e), b.getTies(e));
+                assertEquals(a.getAverageScore(e), b.getAverageScore(e), 0.0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPlayGame_ReplaysTournamentGames() {
+        Tournament tournament = threeEntrants(2, 99L);
+        int[][] tables = tournament.getTables();
+        Standings replayed = new Standings(new String[] {"a", "b", "c"});
+
+        for (int t = 0; t < tables.length; t++) {
+            for (long g = 0; g < 70; g++) {
+                replayed.add(Tournament.seating(tables[t], g), tournament.playGame(tables[t], t, g));
+            }
+        }
+        Standings standings = tournament.run(70);
+
+        for (int e = 0; e < 3; e++) {
+            assertEquals(replayed.getWins(e), standings.getWins(e));
+            assertEquals(replayed.getAverageScore(e), standings.getAverageScore(e), 0.0);
+        }
+    }
+
+    @Test
+    public void testRun_ReportsProgress() {
+        List<Standings> reports = new ArrayList<>();
+        Standings standings = threeEntrants(2, 3L).run(400, Duration.ZERO, partial -> {
+            synchronized (reports) {
+                reports.add(partial);
+            }
+        });
+
+        assertFalse(reports.isEmpty());
+        Standings last = reports.get(reports.size() - 1);
+        assertEquals(standings.getGames(), last.getGames());
+        for (Standings partial : reports) {
+            assertTrue(partial.getGames() <= standings.getGames());
+            assertNotSame(standings, partial);
+        }
+    }
+
+    @Test
+    public void testGetRanking_HighestWinRateFirst() {
+        Standings standings = threeEntrants(2, 11L).run(400);
+
+        int[] ranking = standings.getRanking();
+        assertEquals(3, ranking.length);
+        for (int r = 1; r < ranking.length; r++) {
+            assertTrue(standings.getWinRate(ranking[r - 1]) >= standings.getWinRate(ranking[r]));
+        }
+        String table = standings.displayStandings();
+        assertTrue(table.indexOf(standings.getName(ranking[0])) < table.indexOf(standings.getName(ranking[2])));
+    }
+
+    @Test
+    public void testStandings_MergeAndTies() {
+        Standings a = new Standings(new String[] {"x", "y"});
+        Standings b = new Standings(new String[] {"x", "y"});
+        a.add(new int[] {0, 1}, new GameResult(new int[] {12, 12}, 30, false));
+        b.add(new int[] {1, 0}, new GameResult(new int[] {20, 15}, 28, true));
+
+        a.merge(b);
+
+        assertEquals(2, a.getGames());
+        assertEquals(2, a.getWins(1)); // The tie went to the last seat
+        assertEquals(1, a.getTies(0));
+        assertEquals(1, a.getTies(1));
+        assertEquals(2, a.getHeadToHeadWins(1, 0));
+        assertEquals(13.5, a.getAverageScore(0), 1e-9);
+        assertEquals(1, b.copy().getGames());
+    }
+
+    @Test
+    public void testStandings_ThreeSeatTie() {
+        Standings standings = new Standings(new String[] {"x", "y", "z"});
+        standings.add(new int[] {2, 0, 1}, new GameResult(new int[] {7, 7, 3}, 30, false));
+
+        assertEquals(1, standings.getWins(0)); // Last of the two top scores, not the last seat
+        assertEquals(0, standings.getWins(1));
+        assertEquals(1, standings.getTies(2));
+        assertEquals(1, standings.getTies(0));
+        assertEquals(0, standings.getTies(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRun_TooFewEntrants() {
+        threeEntrants(4, 1L).run(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_SoloTable() {
+        new Tournament(1);
+    }
+}
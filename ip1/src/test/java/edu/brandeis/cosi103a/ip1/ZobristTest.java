@@ -0,0 +1,60 @@
+package edu.brandeis.cosi103a.ip1;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Unit tests for the Zobrist class.
+ */
+public class ZobristTest {
+
+    @Test
+    public void testKey_Deterministic() {
+        assertEquals(Zobrist.key(Zobrist.HAND, 2, 3), Zobrist.key(Zobrist.HAND, 2, 3));
+    }
+
+    @Test
+    public void testKey_DistinctAcrossZonesCardsAndCounts() {
+        Set<Long> keys = new HashSet<>();
+        int cards = CardRegistry.getTemplateCount();
+        for (int zone = Zobrist.LIST; zone <= Zobrist.SEAT; zone++) {
+            for (int id = 0; id < cards; id++) {
+                for (int count = 0; count < 100; count++) {
+                    assertTrue(keys.add(Zobrist.key(zone, id, count)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testKey_BeyondTableMatchesFormula() {
+        long key = Zobrist.key(Zobrist.KINGDOM, 1, 200);
+        assertNotEquals(0L, key);
+        assertEquals(key, Zobrist.key(Zobrist.KINGDOM, 1, 200));
+    }
+
+    @Test
+    public void testCountKey_ZeroCountIsZero() {
+        assertEquals(0L, Zobrist.countKey(Zobrist.HAND, 0, 0));
+        assertEquals(Zobrist.key(Zobrist.HAND, 0, 4), Zobrist.countKey(Zobrist.HAND, 0, 4));
+    }
+
+    @Test
+    public void testStep_MatchesChange() {
+        for (int count = 0; count < 80; count++) {
+            assertEquals(Zobrist.change(Zobrist.DISCARD_PILE, 3, count, count + 1),
+                Zobrist.step(Zobrist.DISCARD_PILE, 3, count));
+        }
+    }
+
+    @Test
+    public void testChange_IsReversible() {
+        long hash = Zobrist.countKey(Zobrist.PLAYED, 1, 2);
+        hash ^= Zobrist.change(Zobrist.PLAYED, 1, 2, 5);
+        assertEquals(Zobrist.countKey(Zobrist.PLAYED, 1, 5), hash);
+        hash ^= Zobrist.change(Zobrist.PLAYED, 1, 5, 2);
+        assertEquals(Zobrist.countKey(Zobrist.PLAYED, 1, 2), hash);
+    }
+}
@@ -0,0 +1,58 @@
+package edu.brandeis.cosi103a.ip1;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BatchKernels} using the Vector API: each vector holds one row for
+ * {@code SPECIES.length()} consecutive games, so a batch is summed with one
+ * vector add (or multiply-add) per row instead of one scalar add per game.
+ * Only compiled by the {@code vector} profile; loaded through {@link BatchKernels#best()}.
+ */
+final class VectorBatchKernels implements BatchKernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void sumRows(int[] rows, int rowCount, int lanes, int[] out) {
+        int g = 0;
+        for (int bound = SPECIES.loopBound(lanes); g < bound; g += SPECIES.length()) {
+            IntVector sum = IntVector.zero(SPECIES);
+            for (int row = 0; row < rowCount; row++) {
+                sum = sum.add(IntVector.fromArray(SPECIES, rows, row * lanes + g));
+            }
+            sum.intoArray(out, g);
+        }
+        for (; g < lanes; g++) {
+            int sum = 0;
+            for (int row = 0; row < rowCount; row++) {
+                sum += rows[row * lanes + g];
+            }
+            out[g] = sum;
+        }
+    }
+
+    @Override
+    public void weightedSumRows(int[] rows, int[] weights, int lanes, int[] out) {
+        int g = 0;
+        for (int bound = SPECIES.loopBound(lanes); g < bound; g += SPECIES.length()) {
+            IntVector sum = IntVector.zero(SPECIES);
+            for (int row = 0; row < weights.length; row++) {
+                sum = sum.add(IntVector.fromArray(SPECIES, rows, row * lanes + g).mul(weights[row]));
+            }
+            sum.intoArray(out, g);
+        }
+        for (; g < lanes; g++) {
+            int sum = 0;
+            for (int row = 0; row < weights.length; row++) {
+                sum += rows[row * lanes + g] * weights[row];
+            }
+            out[g] = sum;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "vector (" + SPECIES + ")";
+    }
+}